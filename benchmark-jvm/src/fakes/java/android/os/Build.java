@@ -0,0 +1,55 @@
+package android.os;
+
+/**
+ *    author : Android 轮子哥
+ *    github : https://github.com/getActivity/XXPermissions
+ *    time   : 2026/10/18
+ *    desc   : Build 替身类（android.jar 中的实现在 JVM 上面无法运行）
+ */
+public class Build {
+
+    public static class VERSION {
+
+        /** 模拟的系统版本，可通过 -Dbenchmark.sdkInt=xx 修改 */
+        public static final int SDK_INT = Integer.getInteger("benchmark.sdkInt", VERSION_CODES.BAKLAVA);
+    }
+
+    public static class VERSION_CODES {
+        public static final int BASE = 1;
+        public static final int BASE_1_1 = 2;
+        public static final int CUPCAKE = 3;
+        public static final int DONUT = 4;
+        public static final int ECLAIR = 5;
+        public static final int ECLAIR_0_1 = 6;
+        public static final int ECLAIR_MR1 = 7;
+        public static final int FROYO = 8;
+        public static final int GINGERBREAD = 9;
+        public static final int GINGERBREAD_MR1 = 10;
+        public static final int HONEYCOMB = 11;
+        public static final int HONEYCOMB_MR1 = 12;
+        public static final int HONEYCOMB_MR2 = 13;
+        public static final int ICE_CREAM_SANDWICH = 14;
+        public static final int ICE_CREAM_SANDWICH_MR1 = 15;
+        public static final int JELLY_BEAN = 16;
+        public static final int JELLY_BEAN_MR1 = 17;
+        public static final int JELLY_BEAN_MR2 = 18;
+        public static final int KITKAT = 19;
+        public static final int KITKAT_WATCH = 20;
+        public static final int LOLLIPOP = 21;
+        public static final int LOLLIPOP_MR1 = 22;
+        public static final int M = 23;
+        public static final int N = 24;
+        public static final int N_MR1 = 25;
+        public static final int O = 26;
+        public static final int O_MR1 = 27;
+        public static final int P = 28;
+        public static final int Q = 29;
+        public static final int R = 30;
+        public static final int S = 31;
+        public static final int S_V2 = 32;
+        public static final int TIRAMISU = 33;
+        public static final int UPSIDE_DOWN_CAKE = 34;
+        public static final int VANILLA_ICE_CREAM = 35;
+        public static final int BAKLAVA = 36;
+    }
+}
\ No newline at end of file
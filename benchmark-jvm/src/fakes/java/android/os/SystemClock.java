@@ -0,0 +1,22 @@
+package android.os;
+
+/**
+ *    author : Android 轮子哥
+ *    github : https://github.com/getActivity/XXPermissions
+ *    time   : 2026/10/18
+ *    desc   : SystemClock 替身类
+ */
+public final class SystemClock {
+
+    private SystemClock() {
+        // default implementation ignored
+    }
+
+    public static long uptimeMillis() {
+        return System.nanoTime() / 1000000;
+    }
+
+    public static long elapsedRealtime() {
+        return System.nanoTime() / 1000000;
+    }
+}
\ No newline at end of file
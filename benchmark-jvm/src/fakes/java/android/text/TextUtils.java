@@ -0,0 +1,14 @@
+package android.text;
+
+/**
+ *    author : Android 轮子哥
+ *    github : https://github.com/getActivity/XXPermissions
+ *    time   : 2026/10/18
+ *    desc   : TextUtils 替身类
+ */
+public class TextUtils {
+
+    public static boolean isEmpty(CharSequence str) {
+        return str == null || str.length() == 0;
+    }
+}
\ No newline at end of file
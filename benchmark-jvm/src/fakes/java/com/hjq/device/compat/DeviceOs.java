@@ -0,0 +1,74 @@
+package com.hjq.device.compat;
+
+/**
+ *    author : Android 轮子哥
+ *    github : https://github.com/getActivity/XXPermissions
+ *    time   : 2026/10/18
+ *    desc   : DeviceOs 替身类（DeviceCompat 是 aar 包，无法在纯 JVM 模块中引用，这里统一模拟成原生系统）
+ */
+public final class DeviceOs {
+
+    private DeviceOs() {
+        // default implementation ignored
+    }
+
+    public static boolean isColorOs() {
+        return false;
+    }
+
+    public static boolean isEmui() {
+        return false;
+    }
+
+    public static boolean isFuntouchOs() {
+        return false;
+    }
+
+    public static boolean isHarmonyOs() {
+        return false;
+    }
+
+    public static boolean isHyperOs() {
+        return false;
+    }
+
+    public static boolean isHyperOsByChina() {
+        return false;
+    }
+
+    public static boolean isHyperOsOptimization() {
+        return false;
+    }
+
+    public static boolean isMagicOs() {
+        return false;
+    }
+
+    public static boolean isMiui() {
+        return false;
+    }
+
+    public static boolean isMiuiByChina() {
+        return false;
+    }
+
+    public static boolean isMiuiOptimization() {
+        return false;
+    }
+
+    public static boolean isOneUi() {
+        return false;
+    }
+
+    public static boolean isSmartisanOs() {
+        return false;
+    }
+
+    public static int getOsBigVersionCode() {
+        return 0;
+    }
+
+    public static String getOsVersionName() {
+        return "";
+    }
+}
\ No newline at end of file
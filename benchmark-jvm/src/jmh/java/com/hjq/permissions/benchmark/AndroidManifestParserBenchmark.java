@@ -0,0 +1,67 @@
+package com.hjq.permissions.benchmark;
+
+import com.hjq.permissions.manifest.AndroidManifestInfo;
+import com.hjq.permissions.manifest.AndroidManifestParser;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.xmlpull.v1.XmlPullParserException;
+
+/**
+ *    author : Android 轮子哥
+ *    github : https://github.com/getActivity/XXPermissions
+ *    time   : 2026/10/18
+ *    desc   : 清单文件解析的性能测试
+ *
+ *    需要注意的是：JVM 上面没有 AssetManager，读不了 apk 中的二进制清单文件，所以这里读取的是 Demo 的文本清单文件，
+ *               测出来的绝对耗时和真机上面不一样，但是可以用来对比解析逻辑本身（例如按需解析节点）的耗时变化
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AndroidManifestParserBenchmark {
+
+    /** 需要解析的节点类型 */
+    @Param({"BASE", "ALL"})
+    public String sections;
+
+    /** 清单文件的内容 */
+    private byte[] mManifestBytes;
+
+    /** 需要解析的节点类型 */
+    private int mSections;
+
+    @Setup
+    public void setup() throws IOException {
+        try (InputStream inputStream = AndroidManifestParserBenchmark.class.getResourceAsStream("/AndroidManifest.xml")) {
+            if (inputStream == null) {
+                throw new IllegalStateException("AndroidManifest.xml not found");
+            }
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int length;
+            while ((length = inputStream.read(buffer)) != -1) {
+                outputStream.write(buffer, 0, length);
+            }
+            mManifestBytes = outputStream.toByteArray();
+        }
+        mSections = "ALL".equals(sections) ? AndroidManifestParser.SECTION_ALL : AndroidManifestParser.SECTION_BASE;
+    }
+
+    @Benchmark
+    public AndroidManifestInfo parseAndroidManifest() throws IOException, XmlPullParserException {
+        try (FakeXmlResourceParser parser = new FakeXmlResourceParser(new ByteArrayInputStream(mManifestBytes))) {
+            return AndroidManifestParser.parseAndroidManifest(parser, mSections);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,121 @@
+package com.hjq.permissions.benchmark;
+
+import android.app.Activity;
+import android.content.Context;
+import android.content.Intent;
+import android.os.Parcel;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import com.hjq.permissions.permission.PermissionChannel;
+import com.hjq.permissions.permission.PermissionPageType;
+import com.hjq.permissions.permission.base.IPermission;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ *    author : Android 轮子哥
+ *    github : https://github.com/getActivity/XXPermissions
+ *    time   : 2026/10/18
+ *    desc   : 权限对象替身（所有状态都是事先设定好的，不依赖任何 Android 环境）
+ */
+public final class FakePermission implements IPermission {
+
+    @NonNull
+    private final String mPermissionName;
+    @Nullable
+    private final String mPermissionGroup;
+    private final int mFromAndroidVersion;
+    @NonNull
+    private final PermissionChannel mPermissionChannel;
+    private final boolean mBackgroundPermission;
+    private final boolean mGranted;
+    @Nullable
+    private List<IPermission> mOldPermissions;
+
+    public FakePermission(@NonNull String permissionName, @Nullable String permissionGroup, int fromAndroidVersion,
+                          @NonNull PermissionChannel permissionChannel, boolean backgroundPermission, boolean granted) {
+        mPermissionName = permissionName;
+        mPermissionGroup = permissionGroup;
+        mFromAndroidVersion = fromAndroidVersion;
+        mPermissionChannel = permissionChannel;
+        mBackgroundPermission = backgroundPermission;
+        mGranted = granted;
+    }
+
+    /**
+     * 设置当前权限对应的旧权限
+     */
+    public FakePermission setOldPermissions(@NonNull IPermission... oldPermissions) {
+        mOldPermissions = new ArrayList<>(oldPermissions.length);
+        for (IPermission oldPermission : oldPermissions) {
+            mOldPermissions.add(oldPermission);
+        }
+        return this;
+    }
+
+    @NonNull
+    @Override
+    public String getPermissionName() {
+        return mPermissionName;
+    }
+
+    @NonNull
+    @Override
+    public PermissionChannel getPermissionChannel(@NonNull Context context) {
+        return mPermissionChannel;
+    }
+
+    @NonNull
+    @Override
+    public PermissionPageType getPermissionPageType(@NonNull Context context) {
+        return PermissionPageType.TRANSPARENT_ACTIVITY;
+    }
+
+    @Nullable
+    @Override
+    public String getPermissionGroup(@NonNull Context context) {
+        return mPermissionGroup;
+    }
+
+    @Override
+    public int getFromAndroidVersion(@NonNull Context context) {
+        return mFromAndroidVersion;
+    }
+
+    @Nullable
+    @Override
+    public List<IPermission> getOldPermissions(Context context) {
+        return mOldPermissions;
+    }
+
+    @Override
+    public boolean isBackgroundPermission(@NonNull Context context) {
+        return mBackgroundPermission;
+    }
+
+    @Override
+    public boolean isGrantedPermission(@NonNull Context context, boolean skipRequest) {
+        return mGranted;
+    }
+
+    @Override
+    public boolean isDoNotAskAgainPermission(@NonNull Activity activity) {
+        return false;
+    }
+
+    @NonNull
+    @Override
+    public List<Intent> getPermissionSettingIntents(@NonNull Context context, boolean skipRequest) {
+        return new ArrayList<>();
+    }
+
+    @Override
+    public int describeContents() {
+        return 0;
+    }
+
+    @Override
+    public void writeToParcel(@NonNull Parcel dest, int flags) {
+        // default implementation ignored
+    }
+}
\ No newline at end of file
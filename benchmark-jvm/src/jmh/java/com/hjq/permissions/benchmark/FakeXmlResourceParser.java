@@ -0,0 +1,172 @@
+package com.hjq.permissions.benchmark;
+
+import android.content.res.XmlResourceParser;
+import java.io.InputStream;
+import org.kxml2.io.KXmlParser;
+import org.xmlpull.v1.XmlPullParser;
+import org.xmlpull.v1.XmlPullParserException;
+
+/**
+ *    author : Android 轮子哥
+ *    github : https://github.com/getActivity/XXPermissions
+ *    time   : 2026/10/18
+ *    desc   : XmlResourceParser 替身（读取文本格式的清单文件，属性值的转换规则尽量和系统的二进制清单文件保持一致）
+ */
+public final class FakeXmlResourceParser extends KXmlParser implements XmlResourceParser {
+
+    /** usesPermissionFlags 属性中 neverForLocation 对应的值 */
+    private static final int USES_PERMISSION_FLAG_NEVER_FOR_LOCATION = 0x00010000;
+
+    public FakeXmlResourceParser(InputStream inputStream) throws XmlPullParserException {
+        setFeature(XmlPullParser.FEATURE_PROCESS_NAMESPACES, true);
+        setInput(inputStream, "UTF-8");
+    }
+
+    @Override
+    public void close() {
+        // default implementation ignored
+    }
+
+    @Override
+    public int getAttributeNameResource(int index) {
+        return 0;
+    }
+
+    @Override
+    public int getAttributeListValue(String namespace, String attribute, String[] options, int defaultValue) {
+        return toListValue(getAttributeValue(namespace, attribute), options, defaultValue);
+    }
+
+    @Override
+    public boolean getAttributeBooleanValue(String namespace, String attribute, boolean defaultValue) {
+        return toBooleanValue(getAttributeValue(namespace, attribute), defaultValue);
+    }
+
+    @Override
+    public int getAttributeResourceValue(String namespace, String attribute, int defaultValue) {
+        return toResourceValue(getAttributeValue(namespace, attribute), defaultValue);
+    }
+
+    @Override
+    public int getAttributeIntValue(String namespace, String attribute, int defaultValue) {
+        return toIntValue(getAttributeValue(namespace, attribute), defaultValue);
+    }
+
+    @Override
+    public int getAttributeUnsignedIntValue(String namespace, String attribute, int defaultValue) {
+        return toIntValue(getAttributeValue(namespace, attribute), defaultValue);
+    }
+
+    @Override
+    public float getAttributeFloatValue(String namespace, String attribute, float defaultValue) {
+        return toFloatValue(getAttributeValue(namespace, attribute), defaultValue);
+    }
+
+    @Override
+    public int getAttributeListValue(int index, String[] options, int defaultValue) {
+        return toListValue(getAttributeValue(index), options, defaultValue);
+    }
+
+    @Override
+    public boolean getAttributeBooleanValue(int index, boolean defaultValue) {
+        return toBooleanValue(getAttributeValue(index), defaultValue);
+    }
+
+    @Override
+    public int getAttributeResourceValue(int index, int defaultValue) {
+        return toResourceValue(getAttributeValue(index), defaultValue);
+    }
+
+    @Override
+    public int getAttributeIntValue(int index, int defaultValue) {
+        return toIntValue(getAttributeValue(index), defaultValue);
+    }
+
+    @Override
+    public int getAttributeUnsignedIntValue(int index, int defaultValue) {
+        return toIntValue(getAttributeValue(index), defaultValue);
+    }
+
+    @Override
+    public float getAttributeFloatValue(int index, float defaultValue) {
+        return toFloatValue(getAttributeValue(index), defaultValue);
+    }
+
+    @Override
+    public String getIdAttribute() {
+        return getAttributeValue(null, "id");
+    }
+
+    @Override
+    public String getClassAttribute() {
+        return getAttributeValue(null, "class");
+    }
+
+    @Override
+    public int getIdAttributeResourceValue(int defaultValue) {
+        return toResourceValue(getIdAttribute(), defaultValue);
+    }
+
+    @Override
+    public int getStyleAttribute() {
+        return toResourceValue(getAttributeValue(null, "style"), 0);
+    }
+
+    private static int toListValue(String value, String[] options, int defaultValue) {
+        if (value == null || options == null) {
+            return defaultValue;
+        }
+        for (int i = 0; i < options.length; i++) {
+            if (value.equals(options[i])) {
+                return i;
+            }
+        }
+        return defaultValue;
+    }
+
+    private static boolean toBooleanValue(String value, boolean defaultValue) {
+        if (value == null) {
+            return defaultValue;
+        }
+        return "true".equals(value);
+    }
+
+    private static int toResourceValue(String value, int defaultValue) {
+        if (value == null || !value.startsWith("@")) {
+            return defaultValue;
+        }
+        // 文本格式的清单文件中没有资源 id，这里用引用字符串的哈希值来模拟一个非 0 的资源 id
+        return value.hashCode() | 0x7f000000;
+    }
+
+    private static int toIntValue(String value, int defaultValue) {
+        if (value == null) {
+            return defaultValue;
+        }
+        int result = 0;
+        for (String item : value.split("\\|")) {
+            item = item.trim();
+            if ("neverForLocation".equals(item)) {
+                result |= USES_PERMISSION_FLAG_NEVER_FOR_LOCATION;
+                continue;
+            }
+            try {
+                result |= Integer.decode(item);
+            } catch (NumberFormatException e) {
+                return defaultValue;
+            }
+        }
+        return result;
+    }
+
+    private static float toFloatValue(String value, float defaultValue) {
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Float.parseFloat(value);
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,75 @@
+package com.hjq.permissions.benchmark;
+
+import com.hjq.permissions.permission.PermissionChannel;
+import com.hjq.permissions.permission.PermissionGroups;
+import com.hjq.permissions.permission.PermissionNames;
+import com.hjq.permissions.permission.base.IPermission;
+import com.hjq.permissions.tools.PermissionApi;
+import com.hjq.permissions.tools.PermissionVersion;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ *    author : Android 轮子哥
+ *    github : https://github.com/getActivity/XXPermissions
+ *    time   : 2026/10/18
+ *    desc   : PermissionApi 的性能测试
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PermissionApiBenchmark {
+
+    /** 比当前模拟的系统版本还要高的版本（这样才会触发添加旧权限的逻辑） */
+    private static final int FUTURE_VERSION = PermissionVersion.getCurrentVersion() + 1;
+
+    /** 请求的权限列表模板 */
+    private final List<IPermission> mRequestList = new ArrayList<>();
+
+    @Setup
+    public void setup() {
+        IPermission readExternalStorage = new FakePermission(PermissionNames.READ_EXTERNAL_STORAGE,
+            PermissionGroups.STORAGE, PermissionVersion.ANDROID_6, PermissionChannel.REQUEST_PERMISSIONS, false, false);
+        IPermission accessFineLocation = new FakePermission(PermissionNames.ACCESS_FINE_LOCATION,
+            PermissionGroups.LOCATION, PermissionVersion.ANDROID_6, PermissionChannel.REQUEST_PERMISSIONS, false, false);
+        IPermission bodySensors = new FakePermission(PermissionNames.BODY_SENSORS,
+            PermissionGroups.SENSORS, PermissionVersion.ANDROID_6, PermissionChannel.REQUEST_PERMISSIONS, false, false);
+
+        mRequestList.add(new FakePermission(PermissionNames.CAMERA,
+            null, PermissionVersion.ANDROID_6, PermissionChannel.REQUEST_PERMISSIONS, false, false));
+        mRequestList.add(new FakePermission(PermissionNames.READ_MEDIA_IMAGES,
+            PermissionGroups.IMAGE_AND_VIDEO_MEDIA, FUTURE_VERSION, PermissionChannel.REQUEST_PERMISSIONS, false, false)
+            .setOldPermissions(readExternalStorage));
+        mRequestList.add(new FakePermission(PermissionNames.READ_MEDIA_VIDEO,
+            PermissionGroups.IMAGE_AND_VIDEO_MEDIA, FUTURE_VERSION, PermissionChannel.REQUEST_PERMISSIONS, false, false)
+            .setOldPermissions(readExternalStorage));
+        mRequestList.add(new FakePermission(PermissionNames.NEARBY_WIFI_DEVICES,
+            null, FUTURE_VERSION, PermissionChannel.REQUEST_PERMISSIONS, false, false)
+            .setOldPermissions(accessFineLocation));
+        mRequestList.add(new FakePermission(PermissionNames.BLUETOOTH_SCAN,
+            null, FUTURE_VERSION, PermissionChannel.REQUEST_PERMISSIONS, false, false)
+            .setOldPermissions(accessFineLocation));
+        mRequestList.add(new FakePermission(PermissionNames.READ_HEART_RATE,
+            PermissionGroups.HEALTH, FUTURE_VERSION, PermissionChannel.REQUEST_PERMISSIONS, false, false)
+            .setOldPermissions(bodySensors));
+        mRequestList.add(new FakePermission(PermissionNames.RECORD_AUDIO,
+            null, PermissionVersion.ANDROID_6, PermissionChannel.REQUEST_PERMISSIONS, false, false));
+    }
+
+    @SuppressWarnings("ConstantConditions")
+    @Benchmark
+    public List<IPermission> addOldPermissionsByNewPermissions() {
+        List<IPermission> requestList = new ArrayList<>(mRequestList);
+        // 替身权限对象不会用到上下文对象
+        PermissionApi.addOldPermissionsByNewPermissions(null, requestList);
+        return requestList;
+    }
+}
\ No newline at end of file
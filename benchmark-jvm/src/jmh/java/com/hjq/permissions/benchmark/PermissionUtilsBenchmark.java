@@ -0,0 +1,149 @@
+package com.hjq.permissions.benchmark;
+
+import com.hjq.permissions.permission.PermissionNames;
+import com.hjq.permissions.tools.PermissionNameIndex;
+import com.hjq.permissions.tools.PermissionSet;
+import com.hjq.permissions.tools.PermissionUtils;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ *    author : Android 轮子哥
+ *    github : https://github.com/getActivity/XXPermissions
+ *    time   : 2026/10/18
+ *    desc   : 权限名称比较的性能测试
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PermissionUtilsBenchmark {
+
+    /** 一次比较常见的权限请求列表 */
+    private static final String[] REQUEST_PERMISSION_NAMES = {
+        PermissionNames.CAMERA,
+        PermissionNames.RECORD_AUDIO,
+        PermissionNames.ACCESS_FINE_LOCATION,
+        PermissionNames.ACCESS_COARSE_LOCATION,
+        PermissionNames.ACCESS_BACKGROUND_LOCATION,
+        PermissionNames.READ_MEDIA_IMAGES,
+        PermissionNames.READ_MEDIA_VIDEO,
+        PermissionNames.READ_MEDIA_AUDIO,
+        PermissionNames.READ_MEDIA_VISUAL_USER_SELECTED,
+        PermissionNames.READ_EXTERNAL_STORAGE,
+        PermissionNames.WRITE_EXTERNAL_STORAGE,
+        PermissionNames.POST_NOTIFICATIONS,
+        PermissionNames.BLUETOOTH_SCAN,
+        PermissionNames.BLUETOOTH_CONNECT,
+        PermissionNames.READ_CONTACTS,
+        PermissionNames.WRITE_CONTACTS,
+        PermissionNames.READ_CALENDAR,
+        PermissionNames.WRITE_CALENDAR,
+        PermissionNames.READ_PHONE_STATE,
+        PermissionNames.SYSTEM_ALERT_WINDOW
+    };
+
+    /** 内容相同但不是同一个对象的权限名称列表（模拟从系统或者外部拿到的权限名称） */
+    private List<String> mCopiedNameList;
+
+    /** 规范化之后的权限名称列表 */
+    private List<String> mInternedNameList;
+
+    /** 权限集合 */
+    private PermissionSet mPermissionSet;
+
+    /** 要查找的权限名称（列表中的最后一个，也就是最坏的情况） */
+    private String mTargetName;
+
+    /** 列表中不存在的权限名称 */
+    private String mMissingName;
+
+    @Setup
+    public void setup() {
+        mCopiedNameList = new ArrayList<>(REQUEST_PERMISSION_NAMES.length);
+        mInternedNameList = new ArrayList<>(REQUEST_PERMISSION_NAMES.length);
+        mPermissionSet = new PermissionSet();
+        for (String permissionName : REQUEST_PERMISSION_NAMES) {
+            String copiedName = new String(permissionName.toCharArray());
+            mCopiedNameList.add(copiedName);
+            mInternedNameList.add(PermissionNameIndex.intern(copiedName));
+            mPermissionSet.add(copiedName);
+        }
+        mTargetName = new String(PermissionNames.SYSTEM_ALERT_WINDOW.toCharArray());
+        mMissingName = new String(PermissionNames.WRITE_SETTINGS.toCharArray());
+    }
+
+    @Benchmark
+    public boolean containsByStringEquals() {
+        return containsByStringEquals(mCopiedNameList, mTargetName) | containsByStringEquals(mCopiedNameList, mMissingName);
+    }
+
+    @Benchmark
+    public boolean containsByLegacyReverseEquals() {
+        return containsByLegacyReverseEquals(mCopiedNameList, mTargetName) | containsByLegacyReverseEquals(mCopiedNameList, mMissingName);
+    }
+
+    @Benchmark
+    public boolean containsByPermissionUtils() {
+        return PermissionUtils.containsPermission(mCopiedNameList, mTargetName) |
+            PermissionUtils.containsPermission(mCopiedNameList, mMissingName);
+    }
+
+    @Benchmark
+    public boolean containsByInternedName() {
+        return PermissionUtils.containsPermission(mInternedNameList, PermissionNameIndex.intern(mTargetName)) |
+            PermissionUtils.containsPermission(mInternedNameList, PermissionNameIndex.intern(mMissingName));
+    }
+
+    @Benchmark
+    public boolean containsByPermissionSet() {
+        return mPermissionSet.contains(mTargetName) | mPermissionSet.contains(mMissingName);
+    }
+
+    private static boolean containsByStringEquals(List<String> permissions, String permission) {
+        for (String item : permissions) {
+            if (item.equals(permission)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean containsByLegacyReverseEquals(List<String> permissions, String permission) {
+        for (String item : permissions) {
+            if (legacyReverseEqualsString(permission, item)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 修复之前的 PermissionUtils.reverseEqualsString 实现（哈希值一样就直接认为相等，哈希值不一样还会继续逐个字符比较），用于对比
+     */
+    private static boolean legacyReverseEqualsString(String s1, String s2) {
+        if (s1 == null || s2 == null) {
+            return false;
+        }
+        if (s1.hashCode() == s2.hashCode()) {
+            return true;
+        }
+        int length = s1.length();
+        if (length != s2.length()) {
+            return false;
+        }
+        for (int i = length - 1; i >= 0; i--) {
+            if (s1.charAt(i) != s2.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
\ No newline at end of file
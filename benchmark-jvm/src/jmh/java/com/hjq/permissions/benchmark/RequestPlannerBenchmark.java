@@ -0,0 +1,73 @@
+package com.hjq.permissions.benchmark;
+
+import com.hjq.permissions.core.RequestPlanner;
+import com.hjq.permissions.permission.PermissionGroups;
+import com.hjq.permissions.permission.PermissionNames;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ *    author : Android 轮子哥
+ *    github : https://github.com/getActivity/XXPermissions
+ *    time   : 2026/10/18
+ *    desc   : 权限请求规划器的性能测试
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RequestPlannerBenchmark {
+
+    /** 权限的状态快照 */
+    private final List<RequestPlanner.PermissionSnapshot> mSnapshots = new ArrayList<>();
+
+    @Setup
+    public void setup() {
+        mSnapshots.add(new RequestPlanner.PermissionSnapshot(PermissionNames.CAMERA,
+            null, false, false, false, true));
+        mSnapshots.add(new RequestPlanner.PermissionSnapshot(PermissionNames.ACCESS_FINE_LOCATION,
+            PermissionGroups.LOCATION, false, false, false, true));
+        mSnapshots.add(new RequestPlanner.PermissionSnapshot(PermissionNames.ACCESS_COARSE_LOCATION,
+            PermissionGroups.LOCATION, false, false, false, true));
+        mSnapshots.add(new RequestPlanner.PermissionSnapshot(PermissionNames.ACCESS_BACKGROUND_LOCATION,
+            PermissionGroups.LOCATION, false, true, false, true));
+        mSnapshots.add(new RequestPlanner.PermissionSnapshot(PermissionNames.READ_MEDIA_IMAGES,
+            PermissionGroups.IMAGE_AND_VIDEO_MEDIA, false, false, false, true));
+        mSnapshots.add(new RequestPlanner.PermissionSnapshot(PermissionNames.READ_MEDIA_VIDEO,
+            PermissionGroups.IMAGE_AND_VIDEO_MEDIA, false, false, true, true));
+        mSnapshots.add(new RequestPlanner.PermissionSnapshot(PermissionNames.READ_CONTACTS,
+            PermissionGroups.CONTACTS, false, false, false, true));
+        mSnapshots.add(new RequestPlanner.PermissionSnapshot(PermissionNames.WRITE_CONTACTS,
+            PermissionGroups.CONTACTS, false, false, false, true));
+        mSnapshots.add(new RequestPlanner.PermissionSnapshot(PermissionNames.SYSTEM_ALERT_WINDOW,
+            null, true, false, false, true));
+        mSnapshots.add(new RequestPlanner.PermissionSnapshot(PermissionNames.MANAGE_EXTERNAL_STORAGE,
+            null, true, false, false, true));
+        mSnapshots.add(new RequestPlanner.PermissionSnapshot(PermissionNames.READ_MEDIA_VISUAL_USER_SELECTED,
+            PermissionGroups.IMAGE_AND_VIDEO_MEDIA, false, false, false, false));
+    }
+
+    /**
+     * 每次都重新规划（相当于没有缓存的耗时）
+     */
+    @Benchmark
+    public List<List<Integer>> planWithoutCache() {
+        RequestPlanner.clearCache();
+        return RequestPlanner.plan(mSnapshots);
+    }
+
+    /**
+     * 命中缓存的规划
+     */
+    @Benchmark
+    public List<List<Integer>> planWithCache() {
+        return RequestPlanner.plan(mSnapshots);
+    }
+}
\ No newline at end of file
@@ -10,4 +10,9 @@
     <methods>;
 }
 
-# 已删除 Support Fragment 相关混淆规则，因为不再使用 Support 库
\ No newline at end of file
+# 已删除 Support Fragment 相关混淆规则，因为不再使用 Support 库
+
+# 禁止混淆编译期生成的清单文件信息类，这是因为框架是通过类名反射创建这个类的对象
+-keep class com.hjq.permissions.manifest.AndroidManifestInfoGenerated {
+    <init>();
+}
\ No newline at end of file
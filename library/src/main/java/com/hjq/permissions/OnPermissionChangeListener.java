@@ -0,0 +1,21 @@
+package com.hjq.permissions;
+
+import androidx.annotation.NonNull;
+import com.hjq.permissions.permission.base.IPermission;
+
+/**
+ *    author : Android 轮子哥
+ *    github : https://github.com/getActivity/XXPermissions
+ *    time   : 2026/10/18
+ *    desc   : 权限授予状态变化监听接口
+ */
+public interface OnPermissionChangeListener {
+
+    /**
+     * 权限授予状态发生了变化（在主线程中回调）
+     *
+     * @param permission                授予状态发生变化的权限
+     * @param granted                   变化之后的授予状态
+     */
+    void onPermissionChanged(@NonNull IPermission permission, boolean granted);
+}
\ No newline at end of file
@@ -0,0 +1,29 @@
+package com.hjq.permissions;
+
+import androidx.annotation.NonNull;
+
+/**
+ *    author : Android 轮子哥
+ *    github : https://github.com/getActivity/XXPermissions
+ *    time   : 2026/10/18
+ *    desc   : 权限状态异步查询结果回调接口
+ */
+public interface OnPermissionQueryCallback<T> {
+
+    /**
+     * 权限状态查询结果回调（在主线程中回调）
+     *
+     * @param result                查询的结果
+     */
+    void onResult(@NonNull T result);
+
+    /**
+     * 权限状态查询出现异常回调（在主线程中回调）
+     *
+     * @param throwable             查询过程中出现的异常
+     */
+    default void onError(@NonNull Throwable throwable) {
+        // 默认只打印异常，不让应用崩溃，如果需要处理异常，请重写这个方法
+        throwable.printStackTrace();
+    }
+}
\ No newline at end of file
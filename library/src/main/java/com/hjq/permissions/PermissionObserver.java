@@ -0,0 +1,378 @@
+package com.hjq.permissions;
+
+import android.app.Activity;
+import android.app.AppOpsManager;
+import android.app.Application;
+import android.content.Context;
+import android.database.ContentObserver;
+import android.net.Uri;
+import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.RequiresApi;
+import com.hjq.permissions.permission.base.IPermission;
+import com.hjq.permissions.tools.PermissionStateCache;
+import com.hjq.permissions.tools.PermissionTaskHandler;
+import com.hjq.permissions.tools.PermissionUtils;
+import com.hjq.permissions.tools.PermissionVersion;
+import com.hjq.permissions.tools.RequestedPermissionsSnapshot;
+import com.hjq.permissions.tools.SecureSettingComponentIndex;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ *    author : Android 轮子哥
+ *    github : https://github.com/getActivity/XXPermissions
+ *    time   : 2026/10/18
+ *    desc   : 权限授予状态观察者
+ */
+public final class PermissionObserver {
+
+    /*
+     * 这里解释一下为什么要这样设计，权限的授予状态只有在用户操作之后才会发生变化，如果在每个页面的 onResume 中都判断一遍权限，
+     * 那么绝大多数的判断都是多余的，所以这里根据权限的类型选择不同的监听方式，只有在授予状态真正发生变化的时候才会回调：
+     * 1. 基于 AppOps 的特殊权限（例如悬浮窗权限、查看应用使用情况权限、修改系统设置权限），通过 AppOpsManager.startWatchingMode 监听
+     * 2. 基于系统设置项的特殊权限（例如无障碍服务权限、通知栏监听权限），通过 ContentObserver 监听 Settings.Secure 中对应的设置项
+     * 3. 其他的权限（例如危险权限），系统没有提供监听的方式，只能在 Activity 回到前台的时候对比一下授予状态有没有发生变化
+     */
+
+    /** 应用上下文 */
+    @NonNull
+    private final Context mContext;
+
+    /** Application 对象（为空表示获取不到，这种情况下没有办法监听 Activity 回到前台） */
+    @Nullable
+    private final Application mApplication;
+
+    /** 观察的权限列表 */
+    @NonNull
+    private final List<IPermission> mPermissions;
+
+    /** 权限状态变化监听器 */
+    @NonNull
+    private final OnPermissionChangeListener mListener;
+
+    /** 权限上一次的授予状态 */
+    @NonNull
+    private final boolean[] mGrantedStates;
+
+    /** 权限对应的 AppOps 操作名称（为空表示不能通过 AppOps 监听） */
+    @NonNull
+    private final String[] mAppOpNames;
+
+    /** 权限对应的系统设置项 Uri（为空表示不能通过系统设置项监听） */
+    @NonNull
+    private final Uri[] mSettingUris;
+
+    /** AppOps 操作变化监听器 */
+    @Nullable
+    private AppOpsManager.OnOpChangedListener mOpChangedListener;
+
+    /** 系统设置项变化监听器 */
+    @Nullable
+    private ContentObserver mSettingObserver;
+
+    /** Activity 生命周期监听器 */
+    @Nullable
+    private Application.ActivityLifecycleCallbacks mActivityLifecycleCallbacks;
+
+    /** 是否已经取消观察 */
+    private volatile boolean mUnregistered;
+
+    /**
+     * 开始观察权限的授予状态
+     * 注意：危险权限这类没有系统监听方式的权限，需要通过 Application 监听 Activity 回到前台，如果传入的上下文获取不到 Application 对象会抛出异常
+     *
+     * @param permissions           需要观察的权限
+     * @param listener              权限状态变化监听器
+     * @return                      观察者对象，不需要再观察的时候需要调用 {@link #unregister()}
+     */
+    @NonNull
+    public static PermissionObserver register(@NonNull Context context, @NonNull List<IPermission> permissions,
+                                              @NonNull OnPermissionChangeListener listener) {
+        PermissionObserver observer = new PermissionObserver(context, permissions, listener);
+        observer.register();
+        return observer;
+    }
+
+    private PermissionObserver(@NonNull Context context, @NonNull List<IPermission> permissions,
+                               @NonNull OnPermissionChangeListener listener) {
+        // 避免观察者持有 Activity 对象
+        mContext = context.getApplicationContext() != null ? context.getApplicationContext() : context;
+        mApplication = findApplication(context);
+        mPermissions = new ArrayList<>(permissions);
+        mListener = listener;
+        int size = mPermissions.size();
+        mGrantedStates = new boolean[size];
+        mAppOpNames = new String[size];
+        mSettingUris = new Uri[size];
+        for (int i = 0; i < size; i++) {
+            IPermission permission = mPermissions.get(i);
+            mAppOpNames[i] = permission.getObserveAppOpName(mContext);
+            mSettingUris[i] = mAppOpNames[i] == null ? permission.getObserveSettingUri(mContext) : null;
+        }
+    }
+
+    /**
+     * 从上下文中获取 Application 对象
+     */
+    @Nullable
+    private static Application findApplication(@NonNull Context context) {
+        if (context instanceof Application) {
+            return (Application) context;
+        }
+        Context applicationContext = context.getApplicationContext();
+        if (applicationContext instanceof Application) {
+            return (Application) applicationContext;
+        }
+        Activity activity = PermissionUtils.findActivity(context);
+        if (activity != null) {
+            return activity.getApplication();
+        }
+        return null;
+    }
+
+    /**
+     * 注册监听
+     */
+    private void register() {
+        // 记录一下初始的授予状态
+        boolean beginSnapshot = PermissionVersion.isAndroid6() && RequestedPermissionsSnapshot.begin(mContext);
+        try {
+            for (int i = 0; i < mPermissions.size(); i++) {
+                mGrantedStates[i] = mPermissions.get(i).isGrantedPermission(mContext);
+            }
+        } finally {
+            if (beginSnapshot) {
+                RequestedPermissionsSnapshot.end();
+            }
+        }
+
+        boolean registerAppOps = false;
+        boolean registerResume = false;
+        List<Uri> settingUris = new ArrayList<>();
+        for (int i = 0; i < mPermissions.size(); i++) {
+            switch (getPermissionSource(i)) {
+                case APP_OPS:
+                    registerAppOps = true;
+                    break;
+                case SETTING:
+                    if (!settingUris.contains(mSettingUris[i])) {
+                        settingUris.add(mSettingUris[i]);
+                    }
+                    break;
+                default:
+                    registerResume = true;
+                    break;
+            }
+        }
+
+        if (registerResume && mApplication == null) {
+            // 这些权限只能在 Activity 回到前台的时候对比授予状态，获取不到 Application 对象就没有办法监听，
+            // 这里直接抛出异常，避免外层以为注册成功了，但是实际上永远都不会收到回调
+            throw new IllegalArgumentException("Unable to obtain the Application object from this context, " +
+                "please pass in an Activity or Application object");
+        }
+
+        if (registerAppOps && PermissionVersion.isAndroid4_4()) {
+            registerAppOpsListener();
+        }
+
+        if (!settingUris.isEmpty()) {
+            mSettingObserver = new ContentObserver(new Handler(Looper.getMainLooper())) {
+
+                @Override
+                public void onChange(boolean selfChange) {
+                    // 系统设置项的索引也是通过 ContentObserver 失效的，但是不能保证它比这里先回调，所以这里需要主动让它失效
+                    SecureSettingComponentIndex.invalidateAll();
+                    checkPermissions(PermissionSource.SETTING);
+                }
+            };
+            for (Uri uri : settingUris) {
+                mContext.getContentResolver().registerContentObserver(uri, false, mSettingObserver);
+            }
+        }
+
+        if (registerResume) {
+            mActivityLifecycleCallbacks = new ActivityLifecycleCallback();
+            mApplication.registerActivityLifecycleCallbacks(mActivityLifecycleCallbacks);
+        }
+    }
+
+    /**
+     * 注册 AppOps 操作变化监听
+     */
+    @RequiresApi(PermissionVersion.ANDROID_4_4)
+    private void registerAppOpsListener() {
+        AppOpsManager appOpsManager = (AppOpsManager) mContext.getSystemService(Context.APP_OPS_SERVICE);
+        // 虽然这个 SystemService 永远不为空，但是不怕一万，就怕万一，开展防御性编程
+        if (appOpsManager == null) {
+            return;
+        }
+        String packageName = mContext.getPackageName();
+        mOpChangedListener = (op, changedPackageName) -> {
+            if (!PermissionUtils.equalsString(packageName, changedPackageName)) {
+                return;
+            }
+            // 这个回调是在 Binder 线程中回调的，需要切换到主线程中处理
+            PermissionTaskHandler.sendTask(() -> checkPermissions(PermissionSource.APP_OPS), this, 0);
+        };
+        List<String> appOpNames = new ArrayList<>();
+        for (String appOpName : mAppOpNames) {
+            if (appOpName == null || appOpNames.contains(appOpName)) {
+                continue;
+            }
+            appOpNames.add(appOpName);
+            appOpsManager.startWatchingMode(appOpName, packageName, mOpChangedListener);
+        }
+    }
+
+    /**
+     * 取消观察（取消之后不会再回调权限状态的变化）
+     */
+    public void unregister() {
+        if (mUnregistered) {
+            return;
+        }
+        mUnregistered = true;
+        PermissionTaskHandler.cancelTask(this);
+
+        if (mOpChangedListener != null && PermissionVersion.isAndroid4_4()) {
+            AppOpsManager appOpsManager = (AppOpsManager) mContext.getSystemService(Context.APP_OPS_SERVICE);
+            if (appOpsManager != null) {
+                appOpsManager.stopWatchingMode(mOpChangedListener);
+            }
+            mOpChangedListener = null;
+        }
+
+        if (mSettingObserver != null) {
+            mContext.getContentResolver().unregisterContentObserver(mSettingObserver);
+            mSettingObserver = null;
+        }
+
+        if (mActivityLifecycleCallbacks != null) {
+            if (mApplication != null) {
+                mApplication.unregisterActivityLifecycleCallbacks(mActivityLifecycleCallbacks);
+            }
+            mActivityLifecycleCallbacks = null;
+        }
+    }
+
+    /**
+     * 对比某一类权限的授予状态，如果发生了变化就进行回调
+     */
+    private void checkPermissions(@NonNull PermissionSource source) {
+        if (mUnregistered) {
+            return;
+        }
+        List<Integer> changedIndexes = null;
+        boolean beginSnapshot = source == PermissionSource.RESUME &&
+            PermissionVersion.isAndroid6() && RequestedPermissionsSnapshot.begin(mContext);
+        try {
+            for (int i = 0; i < mPermissions.size(); i++) {
+                if (getPermissionSource(i) != source) {
+                    continue;
+                }
+                IPermission permission = mPermissions.get(i);
+                long generation = PermissionStateCache.getGeneration();
+                boolean granted = permission.isGrantedPermission(mContext);
+                if (granted == mGrantedStates[i]) {
+                    continue;
+                }
+                mGrantedStates[i] = granted;
+                // 顺便更新一下授予状态的缓存，避免其他地方拿到过期的授予状态
+                PermissionStateCache.putGrantedState(permission, granted, generation);
+                if (changedIndexes == null) {
+                    changedIndexes = new ArrayList<>();
+                }
+                changedIndexes.add(i);
+            }
+        } finally {
+            if (beginSnapshot) {
+                RequestedPermissionsSnapshot.end();
+            }
+        }
+
+        if (changedIndexes == null) {
+            return;
+        }
+        for (int index : changedIndexes) {
+            if (mUnregistered) {
+                return;
+            }
+            mListener.onPermissionChanged(mPermissions.get(index), mGrantedStates[index]);
+        }
+    }
+
+    /**
+     * 获取某个位置上的权限的状态来源
+     */
+    @NonNull
+    private PermissionSource getPermissionSource(int index) {
+        if (mAppOpNames[index] != null && PermissionVersion.isAndroid4_4()) {
+            return PermissionSource.APP_OPS;
+        }
+        if (mSettingUris[index] != null) {
+            return PermissionSource.SETTING;
+        }
+        return PermissionSource.RESUME;
+    }
+
+    /**
+     * 权限状态的来源
+     */
+    private enum PermissionSource {
+
+        /** 通过 AppOps 操作变化得知 */
+        APP_OPS,
+
+        /** 通过系统设置项变化得知 */
+        SETTING,
+
+        /** 通过 Activity 回到前台的时候对比得知 */
+        RESUME
+    }
+
+    /**
+     * Activity 生命周期监听
+     */
+    private final class ActivityLifecycleCallback implements Application.ActivityLifecycleCallbacks {
+
+        @Override
+        public void onActivityCreated(@NonNull Activity activity, @Nullable Bundle savedInstanceState) {
+            // default implementation ignored
+        }
+
+        @Override
+        public void onActivityStarted(@NonNull Activity activity) {
+            // default implementation ignored
+        }
+
+        @Override
+        public void onActivityResumed(@NonNull Activity activity) {
+            checkPermissions(PermissionSource.RESUME);
+        }
+
+        @Override
+        public void onActivityPaused(@NonNull Activity activity) {
+            // default implementation ignored
+        }
+
+        @Override
+        public void onActivityStopped(@NonNull Activity activity) {
+            // default implementation ignored
+        }
+
+        @Override
+        public void onActivitySaveInstanceState(@NonNull Activity activity, @NonNull Bundle outState) {
+            // default implementation ignored
+        }
+
+        @Override
+        public void onActivityDestroyed(@NonNull Activity activity) {
+            // default implementation ignored
+        }
+    }
+}
\ No newline at end of file
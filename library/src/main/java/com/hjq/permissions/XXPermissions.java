@@ -10,16 +10,23 @@ import androidx.annotation.Nullable;
 import com.hjq.permissions.fragment.factory.PermissionFragmentFactory;
 import com.hjq.permissions.fragment.factory.PermissionFragmentFactoryByApp;
 
+import com.hjq.permissions.manifest.AndroidManifestInfo;
 import com.hjq.permissions.manifest.AndroidManifestParser;
 import com.hjq.permissions.permission.PermissionChannel;
 import com.hjq.permissions.permission.base.IPermission;
 import com.hjq.permissions.start.StartActivityAgent;
 import com.hjq.permissions.tools.PermissionApi;
 import com.hjq.permissions.tools.PermissionChecker;
+import com.hjq.permissions.tools.PermissionGrantStates;
+import com.hjq.permissions.tools.PermissionPrewarmer;
+import com.hjq.permissions.tools.PermissionQueryTask;
 import com.hjq.permissions.tools.PermissionSettingPage;
+import com.hjq.permissions.tools.PermissionStateCache;
 import com.hjq.permissions.tools.PermissionUtils;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
 
 /**
  *    author : Android 轮子哥
@@ -64,6 +71,53 @@ public final class XXPermissions {
         sCheckMode = checkMode;
     }
 
+    /**
+     * 设置权限授予状态的缓存时长（全局设置），单位为毫秒，传入 0 表示不缓存权限的授予状态
+     */
+    public static void setPermissionStateCacheTime(long cacheTime) {
+        PermissionStateCache.setCacheTime(cacheTime);
+    }
+
+    /**
+     * 在子线程中提前完成权限申请需要的初始化工作（建议在 Application.onCreate 中调用）
+     *
+     * @param executor          执行预热任务的线程池
+     */
+    public static void prewarm(@NonNull Context context, @NonNull Executor executor) {
+        prewarm(context, executor, null);
+    }
+
+    /**
+     * 在子线程中提前完成权限申请需要的初始化工作（建议在 Application.onCreate 中调用）
+     *
+     * @param executor          执行预热任务的线程池
+     * @param permissions       后面需要申请的权限，传入之后会提前完成这些权限在判断授予状态时所依赖的初始化工作
+     *                          （注意：权限的授予状态本身不会被预热，因为授予状态缓存在 Activity 回到前台的时候就会失效）
+     */
+    public static void prewarm(@NonNull Context context, @NonNull Executor executor, @Nullable List<IPermission> permissions) {
+        Boolean checkMode = sCheckMode;
+        // 只有在检查模式下才会用到清单文件，所以非检查模式下不需要解析清单文件
+        boolean parseManifest = checkMode != null ? checkMode : PermissionUtils.isDebugMode(context);
+        List<IPermission> prewarmPermissions = permissions != null ? new ArrayList<>(permissions) : null;
+        // 避免子线程持有 Activity 对象
+        Context applicationContext = context.getApplicationContext() != null ? context.getApplicationContext() : context;
+        executor.execute(() -> PermissionPrewarmer.prewarm(applicationContext, prewarmPermissions, parseManifest));
+    }
+
+    /**
+     * 在子线程中提前准备好权限设置页的意图（适用于已知的拒绝流程，例如权限被拒绝之后需要引导用户跳转到权限设置页）
+     *
+     * @param executor          执行预热任务的线程池
+     * @param permissions       被拒绝之后需要跳转权限设置页的权限组合
+     */
+    public static void prewarmPermissionSettingIntents(@NonNull Context context, @NonNull Executor executor,
+                                                       @NonNull List<IPermission> permissions) {
+        List<IPermission> prewarmPermissions = new ArrayList<>(permissions);
+        // 避免子线程持有 Activity 对象
+        Context applicationContext = context.getApplicationContext() != null ? context.getApplicationContext() : context;
+        executor.execute(() -> PermissionPrewarmer.prewarmPermissionSettingIntents(applicationContext, prewarmPermissions));
+    }
+
     /**
      * 设置权限申请拦截器（全局设置）
      */
@@ -239,7 +293,10 @@ public final class XXPermissions {
                 PermissionChecker.checkAppFragmentStatus(appFragment);
             }
             // 检查传入的权限是否正常
-            PermissionChecker.checkPermissionList(activity, requestList, AndroidManifestParser.getAndroidManifestInfo(context));
+            // 只解析这些权限需要用到的清单文件节点，避免完整遍历一遍清单文件
+            AndroidManifestInfo manifestInfo = AndroidManifestParser.getAndroidManifestInfo(context,
+                PermissionApi.getRequiredManifestSections(requestList));
+            PermissionChecker.checkPermissionList(activity, requestList, manifestInfo);
         }
 
         // 检查 Activity 是不是不可用
@@ -288,7 +345,7 @@ public final class XXPermissions {
      * 判断一个或多个权限是否全部授予了
      */
     public static boolean isGrantedPermission(@NonNull Context context, @NonNull IPermission permission) {
-        return permission.isGrantedPermission(context);
+        return PermissionApi.isGrantedPermission(context, permission);
     }
 
     public static boolean isGrantedPermissions(@NonNull Context context, @NonNull IPermission[] permissions) {
@@ -321,6 +378,100 @@ public final class XXPermissions {
         return PermissionApi.getDeniedPermissions(context, permissions);
     }
 
+    /**
+     * 批量查询权限的状态（授予状态、不再询问状态、是否支持请求）
+     *
+     * 适用于需要一次性展示很多个权限状态的场景（例如权限设置页），比逐个调用 {@link #isGrantedPermission(Context, IPermission)} 更加高效，
+     * 另外如果需要拿到不再询问的状态，则传入的上下文需要是 Activity 对象，否则不再询问的状态都会返回 false
+     */
+    @NonNull
+    public static PermissionGrantStates queryGrantStates(@NonNull Context context, @NonNull IPermission[] permissions) {
+        return queryGrantStates(context, PermissionUtils.asArrayList(permissions));
+    }
+
+    @NonNull
+    public static PermissionGrantStates queryGrantStates(@NonNull Context context, @NonNull List<IPermission> permissions) {
+        return PermissionApi.queryGrantStates(context, permissions);
+    }
+
+    /**
+     * 在子线程中判断一个或多个权限是否全部授予了，并在主线程中回调结果
+     *
+     * @param executor          执行查询任务的线程池
+     * @return                  可以通过返回的 Future 对象取消查询，取消之后不会再回调结果
+     */
+    @NonNull
+    public static Future<Boolean> isGrantedPermissionsAsync(@NonNull Context context, @NonNull List<IPermission> permissions,
+                                                            @NonNull Executor executor,
+                                                            @Nullable OnPermissionQueryCallback<Boolean> callback) {
+        List<IPermission> queryPermissions = new ArrayList<>(permissions);
+        // 避免子线程持有 Activity 对象
+        Context applicationContext = context.getApplicationContext() != null ? context.getApplicationContext() : context;
+        return PermissionQueryTask.execute(executor,
+            () -> PermissionApi.isGrantedPermissions(applicationContext, queryPermissions), callback);
+    }
+
+    /**
+     * 在子线程中从权限列表中获取已授予的权限，并在主线程中回调结果
+     *
+     * @param executor          执行查询任务的线程池
+     * @return                  可以通过返回的 Future 对象取消查询，取消之后不会再回调结果
+     */
+    @NonNull
+    public static Future<List<IPermission>> getGrantedPermissionsAsync(@NonNull Context context, @NonNull List<IPermission> permissions,
+                                                                       @NonNull Executor executor,
+                                                                       @Nullable OnPermissionQueryCallback<List<IPermission>> callback) {
+        List<IPermission> queryPermissions = new ArrayList<>(permissions);
+        Context applicationContext = context.getApplicationContext() != null ? context.getApplicationContext() : context;
+        return PermissionQueryTask.execute(executor,
+            () -> PermissionApi.getGrantedPermissions(applicationContext, queryPermissions), callback);
+    }
+
+    /**
+     * 在子线程中从权限列表中获取没有授予的权限，并在主线程中回调结果
+     *
+     * @param executor          执行查询任务的线程池
+     * @return                  可以通过返回的 Future 对象取消查询，取消之后不会再回调结果
+     */
+    @NonNull
+    public static Future<List<IPermission>> getDeniedPermissionsAsync(@NonNull Context context, @NonNull List<IPermission> permissions,
+                                                                      @NonNull Executor executor,
+                                                                      @Nullable OnPermissionQueryCallback<List<IPermission>> callback) {
+        List<IPermission> queryPermissions = new ArrayList<>(permissions);
+        Context applicationContext = context.getApplicationContext() != null ? context.getApplicationContext() : context;
+        return PermissionQueryTask.execute(executor,
+            () -> PermissionApi.getDeniedPermissions(applicationContext, queryPermissions), callback);
+    }
+
+    /**
+     * 在子线程中批量查询权限的状态，并在主线程中回调结果
+     *
+     * @param executor          执行查询任务的线程池
+     * @return                  可以通过返回的 Future 对象取消查询，取消之后不会再回调结果
+     */
+    @NonNull
+    public static Future<PermissionGrantStates> queryGrantStatesAsync(@NonNull Context context, @NonNull List<IPermission> permissions,
+                                                                      @NonNull Executor executor,
+                                                                      @Nullable OnPermissionQueryCallback<PermissionGrantStates> callback) {
+        List<IPermission> queryPermissions = new ArrayList<>(permissions);
+        // 这里不能换成 Application 对象，因为查询不再询问的状态需要用到 Activity 对象
+        return PermissionQueryTask.execute(executor,
+            () -> PermissionApi.queryGrantStates(context, queryPermissions), callback);
+    }
+
+    /**
+     * 观察一个或多个权限的授予状态，只有在授予状态发生变化的时候才会回调（用于替代在 onResume 中轮询权限状态的做法）
+     * 注意：危险权限这类没有系统监听方式的权限，需要通过 Application 监听 Activity 回到前台，如果传入的上下文获取不到 Application 对象会抛出异常
+     *
+     * @param listener          权限状态变化监听器（在主线程中回调）
+     * @return                  观察者对象，不需要再观察的时候需要调用 {@link PermissionObserver#unregister()}
+     */
+    @NonNull
+    public static PermissionObserver observePermissions(@NonNull Context context, @NonNull List<IPermission> permissions,
+                                                        @NonNull OnPermissionChangeListener listener) {
+        return PermissionObserver.register(context, permissions, listener);
+    }
+
     /**
      * 判断两个权限是否相等
      */
@@ -373,6 +524,21 @@ public final class XXPermissions {
         return PermissionApi.isDoNotAskAgainPermissions(activity, permissions);
     }
 
+    /**
+     * 在子线程中判断一个或多个权限是否被勾选了不再询问的选项，并在主线程中回调结果
+     *
+     * @param executor          执行查询任务的线程池
+     * @return                  可以通过返回的 Future 对象取消查询，取消之后不会再回调结果
+     */
+    @NonNull
+    public static Future<Boolean> isDoNotAskAgainPermissionsAsync(@NonNull Activity activity, @NonNull List<IPermission> permissions,
+                                                                  @NonNull Executor executor,
+                                                                  @Nullable OnPermissionQueryCallback<Boolean> callback) {
+        List<IPermission> queryPermissions = new ArrayList<>(permissions);
+        return PermissionQueryTask.execute(executor,
+            () -> PermissionApi.isDoNotAskAgainPermissions(activity, queryPermissions), callback);
+    }
+
     /* android.content.Context */
 
     public static void startPermissionActivity(@NonNull Context context) {
@@ -1,5 +1,7 @@
 package com.hjq.permissions.core;
 
+import androidx.annotation.NonNull;
+
 /**
  *    author : Android 轮子哥
  *    github : https://github.com/getActivity/XXPermissions
@@ -15,6 +17,16 @@ public interface OnPermissionFragmentCallback {
         // default implementation ignored
     }
 
+    /**
+     * 权限请求结果回调（只有通过 requestPermissions 申请的权限才会回调，并且会在 {@link #onRequestPermissionFinish()} 之前回调）
+     *
+     * @param permissions           系统返回的权限名称数组
+     * @param grantResults          系统返回的授权结果数组
+     */
+    default void onRequestPermissionResult(@NonNull String[] permissions, @NonNull int[] grantResults) {
+        // default implementation ignored
+    }
+
     /**
      * 权限请求完成回调
      */
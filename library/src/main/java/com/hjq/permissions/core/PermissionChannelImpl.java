@@ -8,6 +8,7 @@ import androidx.annotation.Nullable;
 import com.hjq.permissions.fragment.IFragmentCallback;
 import com.hjq.permissions.fragment.IFragmentMethod;
 import com.hjq.permissions.manager.ActivityOrientationManager;
+import com.hjq.permissions.manager.PermissionRequestListManager;
 import com.hjq.permissions.permission.base.IPermission;
 import com.hjq.permissions.start.IStartActivityDelegate;
 import com.hjq.permissions.tools.PermissionVersion;
@@ -43,6 +44,13 @@ public abstract class PermissionChannelImpl implements IFragmentCallback {
     /** 当前 Fragment 是否为手动解绑 */
     private boolean mManualDetach;
 
+    /** 当前 Fragment 是否可复用（可复用的 Fragment 会承载多批次的权限请求，直到整个权限请求流程结束才会解绑） */
+    private boolean mReusableFragment;
+
+    /** 本批次的权限请求参数（只有可复用的 Fragment 才会用到） */
+    @Nullable
+    private Bundle mPermissionArguments;
+
     /** Fragment 方法对象 */
     @NonNull
     private final IFragmentMethod<?, ?> mFragmentMethod;
@@ -51,6 +59,14 @@ public abstract class PermissionChannelImpl implements IFragmentCallback {
     @Nullable
     private OnPermissionFragmentCallback mPermissionFragmentCallback;
 
+    /** 系统返回的权限名称数组 */
+    @Nullable
+    private String[] mResultPermissions;
+
+    /** 系统返回的授权结果数组 */
+    @Nullable
+    private int[] mResultGrantResults;
+
     protected PermissionChannelImpl(@NonNull IFragmentMethod<?, ?> fragmentMethod) {
         mFragmentMethod = fragmentMethod;
     }
@@ -63,6 +79,25 @@ public abstract class PermissionChannelImpl implements IFragmentCallback {
         mPermissionFragmentCallback = callback;
     }
 
+    public void setReusableFragment(boolean reusableFragment) {
+        mReusableFragment = reusableFragment;
+    }
+
+    public void setPermissionArguments(@Nullable Bundle arguments) {
+        // 这里解释一下为什么不直接调用 Fragment.setArguments 来更新参数，这是因为 Fragment 一旦被添加到 Activity 上面，
+        // 再调用 setArguments 在部分系统版本上面会抛出 IllegalStateException: Fragment already active 异常，
+        // 所以可复用的 Fragment 每一批权限请求的参数只能由这里来承载
+        mPermissionArguments = arguments;
+    }
+
+    @Nullable
+    private Bundle getPermissionArguments() {
+        if (mReusableFragment) {
+            return mPermissionArguments;
+        }
+        return mFragmentMethod.getArguments();
+    }
+
     @Nullable
     private OnPermissionFragmentCallback getPermissionFragmentCallback() {
         return mPermissionFragmentCallback;
@@ -133,10 +168,15 @@ public abstract class PermissionChannelImpl implements IFragmentCallback {
     @SuppressWarnings("deprecation")
     @Nullable
     protected List<IPermission> getPermissionRequestList() {
-        Bundle arguments = mFragmentMethod.getArguments();
+        Bundle arguments = getPermissionArguments();
         if (arguments == null) {
             return null;
         }
+        // 优先从内存中获取权限请求列表，只有在进程被系统重建之后才会获取不到，这个时候才从参数集中获取
+        List<IPermission> permissions = PermissionRequestListManager.getRequestList(arguments.getInt(REQUEST_CODE));
+        if (permissions != null) {
+            return permissions;
+        }
         if (PermissionVersion.isAndroid13()) {
             return arguments.getParcelableArrayList(REQUEST_PERMISSIONS, IPermission.class);
         } else {
@@ -145,13 +185,21 @@ public abstract class PermissionChannelImpl implements IFragmentCallback {
     }
 
     protected int getPermissionRequestCode() {
-        Bundle arguments = mFragmentMethod.getArguments();
+        Bundle arguments = getPermissionArguments();
         if (arguments == null) {
             return 0;
         }
         return arguments.getInt(REQUEST_CODE);
     }
 
+    /**
+     * 记录系统返回的授权结果
+     */
+    protected void setPermissionResults(@Nullable String[] permissions, @Nullable int[] grantResults) {
+        mResultPermissions = permissions;
+        mResultGrantResults = grantResults;
+    }
+
     protected void sendTask(@NonNull Runnable runnable, long delayMillis) {
         PermissionTaskHandler.sendTask(runnable, mTaskToken, delayMillis);
     }
@@ -185,6 +233,11 @@ public abstract class PermissionChannelImpl implements IFragmentCallback {
             return;
         }
 
+        // 可复用的 Fragment 在两批权限请求的间隙也会收到 onResume 回调，这个时候还没有下一批的请求参数，不能消耗掉请求标记
+        if (mReusableFragment && mPermissionArguments == null) {
+            return;
+        }
+
         mAlreadyRequest = true;
         Activity activity = getActivity();
         // 检查 Activity 是不是不可用
@@ -211,6 +264,8 @@ public abstract class PermissionChannelImpl implements IFragmentCallback {
     public void onFragmentDestroy() {
         // 取消执行任务
         cancelTask();
+        // 释放内存中的权限请求列表
+        PermissionRequestListManager.removeRequestList(getPermissionRequestCode());
         OnPermissionFragmentCallback callback = getPermissionFragmentCallback();
         // 如果回调还没有置空，则证明前面没有回调权限回调完成
         if (callback != null) {
@@ -240,8 +295,42 @@ public abstract class PermissionChannelImpl implements IFragmentCallback {
         if (PermissionUtils.isActivityUnavailable(activity)) {
             return;
         }
-        // 延迟处理权限请求的结果
-        sendTask(this::handlerPermissionCallback, PermissionApi.getMaxWaitTimeByPermissions(activity, getPermissionRequestList()));
+        List<IPermission> permissions = getPermissionRequestList();
+        // 这里解释一下为什么不直接延迟固定的时长再处理权限请求的结果，因为等待时长是针对个别机型上面权限状态更新不及时而设置的，
+        // 在绝大多数的机型上面，回到页面的时候权限的授予状态就已经是最新的了，所以这里先轮询权限是否已经授予，
+        // 一旦检测到权限已经全部授予就立即处理权限请求的结果，只有在权限一直没有授予的情况下才会等到最长的等待时间
+        PermissionTaskHandler.sendPollingTask(() -> isGrantedPermissions(activity, permissions),
+            this::handlerPermissionCallback, mTaskToken, PermissionApi.getMaxWaitTimeByPermissions(activity, permissions));
+    }
+
+    /**
+     * 通知权限回调出现异常（例如权限请求没有办法正常发起，后续也不会再有系统的结果回调）
+     */
+    protected void notificationPermissionAnomaly() {
+        // 释放内存中的权限请求列表
+        PermissionRequestListManager.removeRequestList(getPermissionRequestCode());
+        OnPermissionFragmentCallback callback = getPermissionFragmentCallback();
+        if (callback == null) {
+            return;
+        }
+        // 释放回调对象，避免在 Fragment 销毁的时候重复通知
+        setPermissionFragmentCallback(null);
+        callback.onRequestPermissionAnomaly();
+    }
+
+    /**
+     * 判断权限是否全部授予（这里不能走缓存，需要拿到最新的授予状态）
+     */
+    private static boolean isGrantedPermissions(@NonNull Activity activity, @Nullable List<IPermission> permissions) {
+        if (permissions == null || permissions.isEmpty()) {
+            return true;
+        }
+        for (IPermission permission : permissions) {
+            if (!permission.isGrantedPermission(activity)) {
+                return false;
+            }
+        }
+        return true;
     }
 
     /**
@@ -260,12 +349,59 @@ public abstract class PermissionChannelImpl implements IFragmentCallback {
         OnPermissionFragmentCallback callback = getPermissionFragmentCallback();
         // 释放监听对象的引用
         setPermissionFragmentCallback(null);
+        // 本批次的权限请求已经完成，释放内存中的权限请求列表
+        PermissionRequestListManager.removeRequestList(getPermissionRequestCode());
+
+        if (mReusableFragment) {
+            // 可复用的 Fragment 还要继续承载下一批权限请求，所以这里要重置本批次的请求状态，
+            // 注意这里一定要在回调外层之前重置，因为外层可能会在回调中同步发起下一批权限请求
+            mAlreadyRequest = false;
+            setPermissionArguments(null);
+        }
+
+        String[] resultPermissions = mResultPermissions;
+        int[] resultGrantResults = mResultGrantResults;
+        // 释放授权结果的引用
+        setPermissionResults(null, null);
 
         if (callback != null) {
+            // 将系统返回的授权结果交给外层，这样外层就不需要再逐个查询权限的授予状态
+            if (resultPermissions != null && resultGrantResults != null &&
+                resultPermissions.length == resultGrantResults.length) {
+                callback.onRequestPermissionResult(resultPermissions, resultGrantResults);
+            }
             callback.onRequestPermissionFinish();
         }
 
+        if (mReusableFragment) {
+            // 可复用的 Fragment 会等到整个权限请求流程结束之后再移除
+            return;
+        }
+
         // 将 Fragment 移除
         commitFragmentDetach();
     }
+
+    /**
+     * 开始本批次的权限请求（只有可复用的 Fragment 才会用到）
+     */
+    public void startReusablePermissionRequest(@NonNull Bundle arguments, @Nullable OnPermissionFragmentCallback callback,
+                                               boolean fragmentResumed) {
+        setPermissionArguments(arguments);
+        setPermissionFragmentCallback(callback);
+        if (!fragmentResumed) {
+            // 如果 Fragment 还没有处于可见状态，就等到 onResume 的时候再发起权限请求
+            return;
+        }
+        // Fragment 已经处于可见状态，不会再收到 onResume 回调，所以这里直接发起权限请求
+        onFragmentResume();
+    }
+
+    /**
+     * 释放可复用的 Fragment（整个权限请求流程结束之后调用）
+     */
+    public void releaseReusableFragment() {
+        setPermissionArguments(null);
+        commitFragmentDetach();
+    }
 }
\ No newline at end of file
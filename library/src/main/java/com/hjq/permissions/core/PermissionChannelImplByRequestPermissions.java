@@ -8,6 +8,7 @@ import com.hjq.permissions.fragment.IFragmentMethod;
 import com.hjq.permissions.manager.AlreadyRequestPermissionsManager;
 import com.hjq.permissions.manager.PermissionRequestCodeManager;
 import com.hjq.permissions.permission.base.IPermission;
+import com.hjq.permissions.tools.PermissionStateCache;
 import com.hjq.permissions.tools.PermissionVersion;
 import com.hjq.permissions.tools.PermissionUtils;
 import java.util.List;
@@ -48,6 +49,10 @@ public final class PermissionChannelImplByRequestPermissions extends PermissionC
         }
         // 释放对这个请求码的占用
         PermissionRequestCodeManager.releaseRequestCode(requestCode);
+        // 权限的授予状态已经发生变化，让之前缓存的授予状态失效
+        PermissionStateCache.clear();
+        // 记录系统返回的授权结果，等到通知权限回调的时候一并交给外层
+        setPermissionResults(permissions, grantResults);
         // 通知权限请求回调
         notificationPermissionCallback();
     }
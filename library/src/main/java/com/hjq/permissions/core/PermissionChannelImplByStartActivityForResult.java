@@ -9,6 +9,7 @@ import com.hjq.permissions.fragment.IFragmentMethod;
 import com.hjq.permissions.manager.PermissionRequestCodeManager;
 import com.hjq.permissions.permission.base.IPermission;
 import com.hjq.permissions.tools.PermissionApi;
+import com.hjq.permissions.tools.PermissionStateCache;
 import com.hjq.permissions.start.StartActivityAgent;
 import java.util.List;
 
@@ -31,9 +32,18 @@ public final class PermissionChannelImplByStartActivityForResult extends Permiss
     protected void startPermissionRequest(@NonNull Activity activity,
                                           @NonNull List<IPermission> permissions,
                                           @IntRange(from = 1, to = 65535) int requestCode) {
-        StartActivityAgent.startActivityForResult(activity, getStartActivityDelegate(),
+        StartActivityAgent.startActivityForResultAsync(activity, getStartActivityDelegate(),
                                 PermissionApi.getBestPermissionSettingIntent(activity, permissions, false),
-                                requestCode, () -> mIgnoreActivityResultCount++);
+                                requestCode, () -> mIgnoreActivityResultCount++, () -> onStartActivityCanceled(requestCode));
+    }
+
+    /**
+     * 跳转被取消（意图还没有解析完 Activity 就已经销毁了）
+     */
+    private void onStartActivityCanceled(@IntRange(from = 1, to = 65535) int requestCode) {
+        // 跳转不了也就不会有 onActivityResult 回调，所以这里要主动释放请求码并通知外层，否则外层会一直等待权限请求的结果
+        PermissionRequestCodeManager.releaseRequestCode(requestCode);
+        notificationPermissionAnomaly();
     }
 
     @Override
@@ -55,6 +65,8 @@ public final class PermissionChannelImplByStartActivityForResult extends Permiss
         }
         // 释放对这个请求码的占用
         PermissionRequestCodeManager.releaseRequestCode(requestCode);
+        // 用户从权限设置页返回，权限的授予状态可能已经发生变化，让之前缓存的授予状态失效
+        PermissionStateCache.clear();
         // 通知权限请求回调
         notificationPermissionCallback();
     }
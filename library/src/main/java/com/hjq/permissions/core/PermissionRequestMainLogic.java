@@ -1,9 +1,9 @@
 package com.hjq.permissions.core;
 
 import android.app.Activity;
+import android.content.pm.PackageManager;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
-import android.text.TextUtils;
 import com.hjq.permissions.OnPermissionCallback;
 import com.hjq.permissions.OnPermissionDescription;
 import com.hjq.permissions.OnPermissionInterceptor;
@@ -12,6 +12,8 @@ import com.hjq.permissions.manager.ActivityOrientationManager;
 import com.hjq.permissions.permission.PermissionChannel;
 import com.hjq.permissions.permission.base.IPermission;
 import com.hjq.permissions.tools.PermissionApi;
+import com.hjq.permissions.tools.PermissionSet;
+import com.hjq.permissions.tools.PermissionStateCache;
 import com.hjq.permissions.tools.PermissionTaskHandler;
 import com.hjq.permissions.tools.PermissionUtils;
 import com.hjq.permissions.tools.PermissionVersion;
@@ -45,6 +47,14 @@ public final class PermissionRequestMainLogic {
     @Nullable
     private final OnPermissionCallback mCallBack;
 
+    /** 任务令牌 */
+    @NonNull
+    private final Object mTaskToken = new Object();
+
+    /** 系统返回的授权结果集合 */
+    @NonNull
+    private final GrantResultSet mGrantResultSet = new GrantResultSet();
+
     public PermissionRequestMainLogic(@NonNull Activity activity,
                                            @NonNull List<IPermission> requestList,
                                            @NonNull PermissionFragmentFactory<?, ?> fragmentFactory,
@@ -88,12 +98,16 @@ public final class PermissionRequestMainLogic {
         final Activity activity = mActivity;
         final PermissionFragmentFactory<?, ?> fragmentFactory = mFragmentFactory;
         final OnPermissionDescription permissionDescription = mPermissionDescription;
+        final GrantResultSet grantResultSet = mGrantResultSet;
 
         // 锁定 Activity 屏幕方向
         ActivityOrientationManager.lockActivityOrientation(activity);
 
+        // 复用同一个 Fragment 来承载本次所有批次的权限请求，避免每一批权限请求都要添加和移除一次 Fragment
+        fragmentFactory.setReuseFragment(true);
+
         // 发起授权
-        requestPermissionsByFragment(activity, firstPermissions, fragmentFactory, permissionDescription, new Runnable() {
+        requestPermissionsByFragment(activity, firstPermissions, fragmentFactory, permissionDescription, grantResultSet, new Runnable() {
 
             @Override
             public void run() {
@@ -134,7 +148,9 @@ public final class PermissionRequestMainLogic {
                 }
 
                 if (nextPermissions == null || nextPermissions.isEmpty()) {
-                    // 证明请求已经全部完成，延迟发送权限处理结果
+                    // 证明请求已经全部完成，将复用的 Fragment 移除
+                    fragmentFactory.releaseFragment();
+                    // 延迟发送权限处理结果
                     postDelayedHandlerRequestPermissionsResult();
                     return;
                 }
@@ -149,7 +165,7 @@ public final class PermissionRequestMainLogic {
                     // 如果这种情况下还硬要去申请，等下还可能会触发权限说明弹窗，但是没有实际去申请权限的情况
                     if (foregroundPermissions != null && !foregroundPermissions.isEmpty()) {
                         for (IPermission foregroundPermission : foregroundPermissions) {
-                            if (!foregroundPermission.isGrantedPermission(activity)) {
+                            if (!PermissionApi.isGrantedPermission(activity, foregroundPermission)) {
                                 continue;
                             }
                             // 所有的前台权限中，只要有任一一个授权了，就算它是前台权限是申请通过的
@@ -170,10 +186,22 @@ public final class PermissionRequestMainLogic {
                 final List<IPermission> finalPermissions = nextPermissions;
                 int maxWaitTime = PermissionApi.getMaxIntervalTimeByPermissions(activity, nextPermissions);
                 if (maxWaitTime == 0) {
-                    requestPermissionsByFragment(activity, finalPermissions, fragmentFactory, permissionDescription, this);
+                    requestPermissionsByFragment(activity, finalPermissions, fragmentFactory, permissionDescription, grantResultSet, this);
                 } else {
-                    PermissionTaskHandler.sendTask(() ->
-                        requestPermissionsByFragment(activity, finalPermissions, fragmentFactory, permissionDescription, this), maxWaitTime);
+                    // 请求间隔时间是为了避免上一次的授权框还没有完全关闭就发起下一次的权限请求，所以这里不再固定延迟，
+                    // 而是轮询判断是否已经可以发起下一次的权限请求，间隔时间作为兜底的超时时间
+                    // 如果在等待的过程中 Activity 被销毁了，就没有必要再等到超时了，所以这里把 Activity 不可用也当作是轮询结束的条件
+                    final Runnable finishRunnable = this;
+                    PermissionTaskHandler.sendPollingTask(() -> PermissionUtils.isActivityUnavailable(activity) ||
+                            isReadyToRequestPermissions(activity, finalPermissions),
+                        () -> {
+                            if (PermissionUtils.isActivityUnavailable(activity)) {
+                                // Activity 已经不可用了，不能再发起下一批的权限请求，直接结束本次权限请求
+                                releasePermissionRequest(fragmentFactory);
+                                return;
+                            }
+                            requestPermissionsByFragment(activity, finalPermissions, fragmentFactory, permissionDescription, grantResultSet, finishRunnable);
+                        }, mTaskToken, maxWaitTime);
                 }
             }
         });
@@ -184,125 +212,62 @@ public final class PermissionRequestMainLogic {
      */
     @NonNull
     private static List<List<IPermission>> getUnauthorizedList(@NonNull Activity activity, @NonNull List<IPermission> requestList) {
-        // 需要请求的权限列表
-        List<List<IPermission>> unauthorizedList = new ArrayList<>(requestList.size());
-        // 已处理的权限列表
-        List<IPermission> alreadyDoneList = new ArrayList<>(requestList.size());
-
-        // 遍历需要请求的权限列表
-        for (int i = 0; i < requestList.size(); i++) {
-            IPermission permission = requestList.get(i);
-
-            // 如果这个权限在前面已经处理过了，就不再处理
-            if (PermissionUtils.containsPermission(alreadyDoneList, permission)) {
-                continue;
-            }
-            alreadyDoneList.add(permission);
-
-            // 如果这个权限不支持申请，就不纳入申请的范围内
-            if (!permission.isSupportRequestPermission(activity)) {
-                continue;
-            }
-
-            // 如果这个权限已授权，就不纳入申请的范围内
-            if (permission.isGrantedPermission(activity)) {
-                continue;
-            }
-
-            // ------------ 下面是需要 startActivityForResult 才能授权的权限（一般为特殊权限）逻辑 ------------------ //
-
-            if (permission.getPermissionChannel(activity) == PermissionChannel.START_ACTIVITY_FOR_RESULT) {
-                // 如果这是一个需要跳转页面才能授权的权限，那么就作为单独的一次权限进行处理
-                unauthorizedList.add(PermissionUtils.asArrayList(permission));
-                continue;
-            }
-
-            // ------------ 下面是需要 requestPermissions 才能授权的权限（一般为危险权限）逻辑 ------------------ //
-
-            // 查询危险权限所在的权限组类型
-            String permissionGroup = permission.getPermissionGroup(activity);
-            if (TextUtils.isEmpty(permissionGroup)) {
-                // 如果权限组为空，则证明这个权限被没有被定义权限组，就直接单独做为一次权限申请
-                unauthorizedList.add(PermissionUtils.asArrayList(permission));
-                continue;
-            }
-
-            List<IPermission> todoPermissions = null;
-            for (int j = i; j < requestList.size(); j++) {
-                IPermission todoPermission = requestList.get(j);
-                // 如果遍历到的权限对象不是同一个组别的，就继续找
-                if (!PermissionUtils.equalsString(todoPermission.getPermissionGroup(activity), permissionGroup)) {
-                    continue;
-                }
-
-                // 判断当前权限是否支持申请
-                if (!todoPermission.isSupportRequestPermission(activity)) {
-                    // 如果这个权限不支持申请，就不往下执行
-                    continue;
-                }
-
-                // 判断要申请的权限是否授予了
-                if (todoPermission.isGrantedPermission(activity)) {
-                    // 如果这个权限已经授予，就不往下执行
-                    // Github issue 地址：https://github.com/getActivity/XXPermissions/issues/369
-                    continue;
-                }
-
-                // 如果待处理的权限列表还没有初始化，就先进行初始化操作
-                if (todoPermissions == null) {
-                    todoPermissions = new ArrayList<>();
-                }
-                // 添加到待处理的权限列表中
-                todoPermissions.add(todoPermission);
+        // 先收集每个权限的状态快照，然后再交给规划器去规划需要分几批请求
+        List<RequestPlanner.PermissionSnapshot> snapshots = new ArrayList<>(requestList.size());
+        for (IPermission permission : requestList) {
+            snapshots.add(new RequestPlanner.PermissionSnapshot(permission.getPermissionName(),
+                permission.getPermissionGroup(activity),
+                permission.getPermissionChannel(activity) == PermissionChannel.START_ACTIVITY_FOR_RESULT,
+                permission.isBackgroundPermission(activity),
+                PermissionApi.isGrantedPermission(activity, permission),
+                permission.isSupportRequestPermission(activity)));
+        }
 
-                // 如果这个危险权限在前面已经处理过了，就不再添加
-                if (PermissionUtils.containsPermission(alreadyDoneList, todoPermission)) {
-                    continue;
-                }
-                // 添加到已处理的权限列表中
-                alreadyDoneList.add(todoPermission);
+        List<List<Integer>> plan = RequestPlanner.plan(snapshots);
+        // 需要请求的权限列表
+        List<List<IPermission>> unauthorizedList = new ArrayList<>(plan.size());
+        for (List<Integer> batch : plan) {
+            List<IPermission> permissions = new ArrayList<>(batch.size());
+            for (Integer index : batch) {
+                permissions.add(requestList.get(index));
             }
+            unauthorizedList.add(permissions);
+        }
+        return unauthorizedList;
+    }
 
-            // 如果这个待处理的权限列表为空，证明剩余的权限是在高版本系统才会出现，这里无需再次发起申请
-            if (todoPermissions == null || todoPermissions.isEmpty()) {
+    /**
+     * 判断当前是否已经可以发起下一次的权限请求
+     */
+    private static boolean isReadyToRequestPermissions(@NonNull Activity activity, @NonNull List<IPermission> permissions) {
+        if (PermissionUtils.isActivityUnavailable(activity)) {
+            return false;
+        }
+        // 如果 Activity 还没有重新获取到焦点，证明上一次的授权框还没有完全关闭
+        if (!activity.hasWindowFocus()) {
+            return false;
+        }
+        for (IPermission permission : permissions) {
+            if (!permission.isBackgroundPermission(activity)) {
                 continue;
             }
-
-            // 如果这个待处理的权限列表已经全部授权，就不纳入申请的范围内
-            if (PermissionApi.isGrantedPermissions(activity, todoPermissions)) {
+            List<IPermission> foregroundPermissions = permission.getForegroundPermissions(activity);
+            if (foregroundPermissions == null || foregroundPermissions.isEmpty()) {
                 continue;
             }
-
-            // 判断申请的权限组是否包含后台权限（例如后台定位权限，后台传感器权限），如果有的话，不能在一起申请，需要进行拆分申请
-            List<IPermission> backgroundPermissions = null;
-            Iterator<IPermission> iterator = todoPermissions.iterator();
-            while (iterator.hasNext()) {
-                IPermission todoPermission = iterator.next();
-                // 先判断这个权限是不是后台权限，如果不是就继续找
-                if (!todoPermission.isBackgroundPermission(activity)) {
-                    continue;
+            boolean grantedForegroundPermission = false;
+            for (IPermission foregroundPermission : foregroundPermissions) {
+                // 这里不能走缓存，需要确认前台权限的授予状态在系统层面已经生效
+                if (foregroundPermission.isGrantedPermission(activity)) {
+                    grantedForegroundPermission = true;
+                    break;
                 }
-                // 将后台权限拎出来放到另外一个集合中，然后作为单独的一次权限请求
-                iterator.remove();
-                backgroundPermissions = new ArrayList<>();
-                backgroundPermissions.add(todoPermission);
-                // 任务完成，跳过循环
-                break;
             }
-
-            List<IPermission> foregroundPermissions = todoPermissions;
-
-            // 添加前台权限（前提得是没有授权）
-            if (!foregroundPermissions.isEmpty()) {
-                unauthorizedList.add(foregroundPermissions);
-            }
-            // 添加后台权限（前提得是没有授权）
-            if (backgroundPermissions != null && !backgroundPermissions.isEmpty()) {
-                unauthorizedList.add(backgroundPermissions);
+            if (!grantedForegroundPermission) {
+                return false;
             }
         }
-
-        return unauthorizedList;
+        return true;
     }
 
     /**
@@ -312,6 +277,7 @@ public final class PermissionRequestMainLogic {
                                                      @NonNull List<IPermission> permissions,
                                                      @NonNull PermissionFragmentFactory<?, ?> fragmentFactory,
                                                      @NonNull OnPermissionDescription permissionDescription,
+                                                     @NonNull GrantResultSet grantResultSet,
                                                      @NonNull Runnable finishRunnable) {
         if (permissions.isEmpty()) {
             finishRunnable.run();
@@ -342,8 +308,30 @@ public final class PermissionRequestMainLogic {
                 permissionDescription.onRequestPermissionStart(activity, permissions);
             }
 
+            @Override
+            public void onRequestPermissionResult(@NonNull String[] resultPermissions, @NonNull int[] grantResults) {
+                for (int i = 0; i < resultPermissions.length; i++) {
+                    grantResultSet.put(resultPermissions[i], grantResults[i] == PackageManager.PERMISSION_GRANTED);
+                }
+                // 顺便将系统返回的授权结果同步到缓存中，这样下一轮判断前台权限是否授予的时候就不需要再查询一遍
+                for (IPermission permission : permissions) {
+                    if (!permission.isGrantResultReliable(activity)) {
+                        continue;
+                    }
+                    Boolean granted = grantResultSet.get(permission.getRequestPermissionName(activity));
+                    if (granted == null) {
+                        continue;
+                    }
+                    PermissionStateCache.putGrantedState(permission, granted);
+                }
+            }
+
             @Override
             public void onRequestPermissionFinish() {
+                if (finalPermissionChannel == PermissionChannel.START_ACTIVITY_FOR_RESULT) {
+                    // 用户跳转到了设置页，在这段时间里面可能修改了其他权限的授予状态，之前记录的授权结果已经不可信了
+                    grantResultSet.clear();
+                }
                 permissionDescription.onRequestPermissionEnd(activity, permissions);
                 finishRunnable.run();
             }
@@ -357,6 +345,14 @@ public final class PermissionRequestMainLogic {
         permissionDescription.askWhetherRequestPermission(activity, permissions, continueRequestRunnable, finishRunnable);
     }
 
+    /**
+     * 结束本次权限请求（取消还在等待执行的任务，并且移除复用的 Fragment）
+     */
+    private void releasePermissionRequest(@NonNull PermissionFragmentFactory<?, ?> fragmentFactory) {
+        PermissionTaskHandler.cancelTask(mTaskToken);
+        fragmentFactory.releaseFragment();
+    }
+
     /**
      * 延迟处理权限请求结果
      */
@@ -376,6 +372,9 @@ public final class PermissionRequestMainLogic {
      * 处理权限请求结果
      */
     private void handlePermissionRequestResult() {
+        // 权限请求已经走到最后一步了，取消掉还在等待执行的任务
+        PermissionTaskHandler.cancelTask(mTaskToken);
+
         final Activity activity = mActivity;
 
         final List<IPermission> requestList = mRequestList;
@@ -389,7 +388,7 @@ public final class PermissionRequestMainLogic {
         List<IPermission> deniedList = new ArrayList<>(requestList.size());
         // 遍历请求的权限，并且根据权限的授权状态进行分类
         for (IPermission permission : requestList) {
-            if (permission.isGrantedPermission(activity, false)) {
+            if (isGrantedPermissionByResult(activity, permission)) {
                 grantedList.add(permission);
             } else {
                 deniedList.add(permission);
@@ -402,4 +401,65 @@ public final class PermissionRequestMainLogic {
         // 延迟解锁 Activity 屏幕方向
         postDelayedUnlockActivityOrientation(activity);
     }
+
+    /**
+     * 判断权限在请求结束后是否授予（优先使用系统返回的授权结果）
+     */
+    private boolean isGrantedPermissionByResult(@NonNull Activity activity, @NonNull IPermission permission) {
+        // 这里解释一下为什么优先使用系统返回的授权结果，因为 onRequestPermissionsResult 中的 grantResults 就是系统最新的授权结果，
+        // 如果还要逐个调用 checkSelfPermission 重新查询一遍，每个权限都是一次 Binder 调用，权限一多就会有明显的耗时，
+        // 但是有一些权限的授予状态并不是由它自身决定的（例如后台定位权限还要看前台定位权限有没有授予），这类权限仍然需要重新查询
+        if (permission.isGrantResultReliable(activity)) {
+            Boolean granted = mGrantResultSet.get(permission.getRequestPermissionName(activity));
+            if (granted != null) {
+                return granted;
+            }
+        }
+        return permission.isGrantedPermission(activity, false);
+    }
+
+    /**
+     * 系统返回的授权结果集合
+     */
+    private static final class GrantResultSet {
+
+        /** 有授权结果的权限集合 */
+        @NonNull
+        private final PermissionSet mResultSet = new PermissionSet();
+
+        /** 授权结果为已授予的权限集合 */
+        @NonNull
+        private final PermissionSet mGrantedSet = new PermissionSet();
+
+        /**
+         * 记录权限的授权结果
+         */
+        private void put(@NonNull String permissionName, boolean granted) {
+            mResultSet.add(permissionName);
+            if (granted) {
+                mGrantedSet.add(permissionName);
+            } else {
+                mGrantedSet.remove(permissionName);
+            }
+        }
+
+        /**
+         * 获取权限的授权结果（如果没有记录则返回空）
+         */
+        @Nullable
+        private Boolean get(@NonNull String permissionName) {
+            if (!mResultSet.contains(permissionName)) {
+                return null;
+            }
+            return mGrantedSet.contains(permissionName);
+        }
+
+        /**
+         * 清空所有的授权结果
+         */
+        private void clear() {
+            mResultSet.clear();
+            mGrantedSet.clear();
+        }
+    }
 }
\ No newline at end of file
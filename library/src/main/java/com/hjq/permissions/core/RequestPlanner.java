@@ -0,0 +1,252 @@
+package com.hjq.permissions.core;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import com.hjq.permissions.tools.PermissionSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ *    author : Android 轮子哥
+ *    github : https://github.com/getActivity/XXPermissions
+ *    time   : 2026/10/18
+ *    desc   : 权限请求规划器（根据权限的状态快照，规划出需要分几批请求，每批请求哪些权限）
+ */
+public final class RequestPlanner {
+
+    /*
+     * 这里解释一下为什么要把规划的逻辑单独抽出来，规划本身只和权限的几个状态有关（请求通道、组别、是否为后台权限、是否授予、是否支持申请），
+     * 和 Activity 没有任何关系，抽出来之后，规划的逻辑就可以脱离 Android 环境进行测试，并且相同的状态快照得出的规划结果一定是一样的，
+     * 所以可以把规划结果缓存起来，业务方反复请求同一批权限的时候，就不需要每次都重新规划一遍
+     */
+
+    /** 规划结果的最大缓存数量 */
+    private static final int MAX_PLAN_CACHE_SIZE = 16;
+
+    /** 规划结果缓存集合（按照访问顺序排列，超出数量的时候淘汰最久没有用到的） */
+    private static final Map<PlanKey, List<List<Integer>>> PLAN_CACHE_MAP =
+        new LinkedHashMap<PlanKey, List<List<Integer>>>(MAX_PLAN_CACHE_SIZE, 0.75f, true) {
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<PlanKey, List<List<Integer>>> eldest) {
+            return size() > MAX_PLAN_CACHE_SIZE;
+        }
+    };
+
+    /** 私有化构造函数 */
+    private RequestPlanner() {
+        // default implementation ignored
+    }
+
+    /**
+     * 规划权限请求
+     *
+     * @param snapshots          权限的状态快照（顺序和请求的权限列表保持一致）
+     * @return                   需要请求的批次，每个批次中存放的是权限在快照列表中的下标
+     */
+    @NonNull
+    public static List<List<Integer>> plan(@NonNull List<PermissionSnapshot> snapshots) {
+        PlanKey planKey = new PlanKey(snapshots.toArray(new PermissionSnapshot[0]));
+        synchronized (PLAN_CACHE_MAP) {
+            List<List<Integer>> plan = PLAN_CACHE_MAP.get(planKey);
+            if (plan != null) {
+                return plan;
+            }
+        }
+        List<List<Integer>> plan = createPlan(planKey.snapshots);
+        synchronized (PLAN_CACHE_MAP) {
+            PLAN_CACHE_MAP.put(planKey, plan);
+        }
+        return plan;
+    }
+
+    /**
+     * 清空规划结果的缓存
+     */
+    public static void clearCache() {
+        synchronized (PLAN_CACHE_MAP) {
+            PLAN_CACHE_MAP.clear();
+        }
+    }
+
+    @NonNull
+    private static List<List<Integer>> createPlan(@NonNull PermissionSnapshot[] snapshots) {
+        // 需要请求的批次
+        List<List<Integer>> batches = new ArrayList<>(snapshots.length);
+        // 已处理的权限集合
+        PermissionSet alreadyDoneSet = new PermissionSet();
+
+        for (int i = 0; i < snapshots.length; i++) {
+            PermissionSnapshot snapshot = snapshots[i];
+
+            // 如果这个权限在前面已经处理过了，就不再处理
+            if (!alreadyDoneSet.add(snapshot.permissionName)) {
+                continue;
+            }
+
+            // 如果这个权限不支持申请，或者已经授予了，就不纳入申请的范围内
+            if (!snapshot.supported || snapshot.granted) {
+                continue;
+            }
+
+            // 如果这是一个需要跳转页面才能授权的权限，那么就作为单独的一次权限进行处理
+            if (snapshot.startActivityForResult) {
+                batches.add(Collections.singletonList(i));
+                continue;
+            }
+
+            // 如果权限组为空，则证明这个权限被没有被定义权限组，就直接单独做为一次权限申请
+            String permissionGroup = snapshot.permissionGroup;
+            if (permissionGroup == null || permissionGroup.isEmpty()) {
+                batches.add(Collections.singletonList(i));
+                continue;
+            }
+
+            List<Integer> todoIndexes = new ArrayList<>();
+            for (int j = i; j < snapshots.length; j++) {
+                PermissionSnapshot todoSnapshot = snapshots[j];
+                // 如果遍历到的权限对象不是同一个组别的，就继续找
+                if (!permissionGroup.equals(todoSnapshot.permissionGroup)) {
+                    continue;
+                }
+                // 如果这个权限不支持申请，或者已经授予了，就不往下执行
+                // Github issue 地址：https://github.com/getActivity/XXPermissions/issues/369
+                if (!todoSnapshot.supported || todoSnapshot.granted) {
+                    continue;
+                }
+                todoIndexes.add(j);
+                // 添加到已处理的权限集合中（如果这个危险权限在前面已经处理过了，就不会再重复添加）
+                alreadyDoneSet.add(todoSnapshot.permissionName);
+            }
+
+            // 如果这个待处理的权限列表为空，证明剩余的权限是在高版本系统才会出现，这里无需再次发起申请
+            if (todoIndexes.isEmpty()) {
+                continue;
+            }
+
+            // 判断申请的权限组是否包含后台权限（例如后台定位权限，后台传感器权限），如果有的话，不能在一起申请，需要进行拆分申请
+            Integer backgroundIndex = null;
+            for (int j = 0; j < todoIndexes.size(); j++) {
+                if (!snapshots[todoIndexes.get(j)].background) {
+                    continue;
+                }
+                // 将后台权限拎出来作为单独的一次权限请求
+                backgroundIndex = todoIndexes.remove(j);
+                break;
+            }
+
+            // 添加前台权限
+            if (!todoIndexes.isEmpty()) {
+                batches.add(Collections.unmodifiableList(todoIndexes));
+            }
+            // 添加后台权限
+            if (backgroundIndex != null) {
+                batches.add(Collections.singletonList(backgroundIndex));
+            }
+        }
+
+        return Collections.unmodifiableList(batches);
+    }
+
+    /**
+     * 权限的状态快照
+     */
+    public static final class PermissionSnapshot {
+
+        /** 权限名称 */
+        @NonNull
+        private final String permissionName;
+
+        /** 权限组别 */
+        @Nullable
+        private final String permissionGroup;
+
+        /** 是否需要通过 startActivityForResult 授权 */
+        private final boolean startActivityForResult;
+
+        /** 是否为后台权限 */
+        private final boolean background;
+
+        /** 是否已经授予 */
+        private final boolean granted;
+
+        /** 是否支持申请 */
+        private final boolean supported;
+
+        public PermissionSnapshot(@NonNull String permissionName, @Nullable String permissionGroup,
+                                  boolean startActivityForResult, boolean background,
+                                  boolean granted, boolean supported) {
+            this.permissionName = permissionName;
+            this.permissionGroup = permissionGroup;
+            this.startActivityForResult = startActivityForResult;
+            this.background = background;
+            this.granted = granted;
+            this.supported = supported;
+        }
+
+        @Override
+        public boolean equals(@Nullable Object obj) {
+            if (obj == this) {
+                return true;
+            }
+            if (!(obj instanceof PermissionSnapshot)) {
+                return false;
+            }
+            PermissionSnapshot snapshot = (PermissionSnapshot) obj;
+            return startActivityForResult == snapshot.startActivityForResult &&
+                background == snapshot.background &&
+                granted == snapshot.granted &&
+                supported == snapshot.supported &&
+                permissionName.equals(snapshot.permissionName) &&
+                (permissionGroup == null ? snapshot.permissionGroup == null : permissionGroup.equals(snapshot.permissionGroup));
+        }
+
+        @Override
+        public int hashCode() {
+            int result = permissionName.hashCode();
+            result = 31 * result + (permissionGroup != null ? permissionGroup.hashCode() : 0);
+            result = 31 * result + (startActivityForResult ? 1 : 0);
+            result = 31 * result + (background ? 1 : 0);
+            result = 31 * result + (granted ? 1 : 0);
+            result = 31 * result + (supported ? 1 : 0);
+            return result;
+        }
+    }
+
+    /**
+     * 规划结果缓存的 key
+     */
+    private static final class PlanKey {
+
+        @NonNull
+        private final PermissionSnapshot[] snapshots;
+
+        private final int hashCode;
+
+        private PlanKey(@NonNull PermissionSnapshot[] snapshots) {
+            this.snapshots = snapshots;
+            this.hashCode = Arrays.hashCode(snapshots);
+        }
+
+        @Override
+        public boolean equals(@Nullable Object obj) {
+            if (obj == this) {
+                return true;
+            }
+            if (!(obj instanceof PlanKey)) {
+                return false;
+            }
+            PlanKey planKey = (PlanKey) obj;
+            return hashCode == planKey.hashCode && Arrays.equals(snapshots, planKey.snapshots);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
\ No newline at end of file
@@ -7,6 +7,7 @@ import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import com.hjq.permissions.core.OnPermissionFragmentCallback;
 import com.hjq.permissions.core.PermissionChannelImpl;
+import com.hjq.permissions.manager.PermissionRequestListManager;
 import com.hjq.permissions.permission.PermissionChannel;
 import com.hjq.permissions.permission.base.IPermission;
 import java.util.ArrayList;
@@ -51,6 +52,9 @@ public abstract class PermissionFragmentFactory<A extends Activity, M> {
     @NonNull
     private final M mFragmentManager;
 
+    /** 是否复用同一个 Fragment 来承载多批次的权限请求 */
+    private boolean mReuseFragment;
+
     protected PermissionFragmentFactory(@NonNull A activity, @NonNull M fragmentManager) {
         mActivity = activity;
         mFragmentManager = fragmentManager;
@@ -72,6 +76,20 @@ public abstract class PermissionFragmentFactory<A extends Activity, M> {
         return mFragmentManager;
     }
 
+    /**
+     * 设置是否复用同一个 Fragment 来承载多批次的权限请求（开启后需要在权限请求流程结束之后调用 {@link #releaseFragment()}）
+     */
+    public void setReuseFragment(boolean reuseFragment) {
+        mReuseFragment = reuseFragment;
+    }
+
+    /**
+     * 是否复用同一个 Fragment 来承载多批次的权限请求
+     */
+    protected boolean isReuseFragment() {
+        return mReuseFragment;
+    }
+
     /**
      * 创建并提交 Fragment
      */
@@ -79,13 +97,23 @@ public abstract class PermissionFragmentFactory<A extends Activity, M> {
                                                  @NonNull PermissionChannel permissionChannel,
                                                  @Nullable OnPermissionFragmentCallback callback);
 
+    /**
+     * 释放可复用的 Fragment
+     */
+    public void releaseFragment() {
+        // default implementation ignored
+    }
+
     /**
      * 生成权限请求的参数
      */
     @NonNull
     protected Bundle generatePermissionArguments(@NonNull List<IPermission> permissions, @IntRange(from = 1, to = 65535) int requestCode) {
+        // 在内存中保存权限请求列表，正常情况下都是从内存中读取，避免每次都从参数集中读取
+        PermissionRequestListManager.addRequestList(requestCode, permissions);
         Bundle bundle = new Bundle();
         bundle.putInt(PermissionChannelImpl.REQUEST_CODE, requestCode);
+        // 参数集中的权限请求列表只作为兜底，在进程被系统重建（内存中的权限请求列表已经丢失）的时候才会用到
         if (permissions instanceof ArrayList) {
             bundle.putParcelableArrayList(PermissionChannelImpl.REQUEST_PERMISSIONS, (ArrayList<IPermission>) permissions);
         } else {
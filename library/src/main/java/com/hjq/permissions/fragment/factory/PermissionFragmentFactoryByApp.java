@@ -2,15 +2,18 @@ package com.hjq.permissions.fragment.factory;
 
 import android.app.Activity;
 import android.app.FragmentManager;
+import android.os.Bundle;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import com.hjq.permissions.fragment.IFragmentMethod;
 import com.hjq.permissions.core.OnPermissionFragmentCallback;
 import com.hjq.permissions.fragment.impl.app.PermissionAppFragmentByRequestPermissions;
+import com.hjq.permissions.fragment.impl.app.PermissionAppFragmentByReusable;
 import com.hjq.permissions.fragment.impl.app.PermissionAppFragmentByStartActivityForResult;
 import com.hjq.permissions.manager.PermissionRequestCodeManager;
 import com.hjq.permissions.permission.PermissionChannel;
 import com.hjq.permissions.permission.base.IPermission;
+import com.hjq.permissions.tools.PermissionUtils;
 import java.util.List;
 
 /**
@@ -22,6 +25,10 @@ import java.util.List;
 @SuppressWarnings("deprecation")
 public final class PermissionFragmentFactoryByApp extends PermissionFragmentFactory<Activity, FragmentManager> {
 
+    /** 可复用的 Fragment 对象 */
+    @Nullable
+    private PermissionAppFragmentByReusable mReusableFragment;
+
     public PermissionFragmentFactoryByApp(@NonNull Activity activity, @NonNull FragmentManager fragmentManager) {
         super(activity, fragmentManager);
     }
@@ -30,6 +37,10 @@ public final class PermissionFragmentFactoryByApp extends PermissionFragmentFact
     public void createAndCommitFragment(@NonNull List<IPermission> permissions,
                                         @NonNull PermissionChannel permissionChannel,
                                         @Nullable OnPermissionFragmentCallback callback) {
+        if (isReuseFragment()) {
+            createOrReuseFragment(permissions, permissionChannel, callback);
+            return;
+        }
         IFragmentMethod<Activity, FragmentManager> fragment;
         if (permissionChannel == PermissionChannel.REQUEST_PERMISSIONS) {
             fragment = new PermissionAppFragmentByRequestPermissions();
@@ -44,4 +55,36 @@ public final class PermissionFragmentFactoryByApp extends PermissionFragmentFact
         fragment.setPermissionFragmentCallback(callback);
         fragment.commitFragmentAttach(getFragmentManager());
     }
+
+    @Override
+    public void releaseFragment() {
+        PermissionAppFragmentByReusable fragment = mReusableFragment;
+        mReusableFragment = null;
+        if (fragment == null) {
+            return;
+        }
+        fragment.release();
+    }
+
+    /**
+     * 创建或者复用 Fragment 来发起本批次的权限请求
+     */
+    private void createOrReuseFragment(@NonNull List<IPermission> permissions,
+                                       @NonNull PermissionChannel permissionChannel,
+                                       @Nullable OnPermissionFragmentCallback callback) {
+        int maxRequestCode = PermissionRequestCodeManager.REQUEST_CODE_LIMIT_HIGH_VALUE;
+        int requestCode = PermissionRequestCodeManager.generateRandomRequestCode(maxRequestCode);
+        Bundle arguments = generatePermissionArguments(permissions, requestCode);
+
+        PermissionAppFragmentByReusable fragment = mReusableFragment;
+        // 如果之前的 Fragment 已经被系统移除了（例如 Activity 被回收），那么就不能再复用它了，需要重新创建一个
+        if (fragment == null || PermissionUtils.isFragmentUnavailable(fragment)) {
+            fragment = new PermissionAppFragmentByReusable();
+            fragment.setRetainInstance(true);
+            fragment.setNonSystemRestartMark(true);
+            fragment.commitFragmentAttach(getFragmentManager());
+            mReusableFragment = fragment;
+        }
+        fragment.startPermissionRequest(permissionChannel, arguments, callback);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,76 @@
+package com.hjq.permissions.fragment.impl.app;
+
+import android.os.Bundle;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import com.hjq.permissions.core.OnPermissionFragmentCallback;
+import com.hjq.permissions.core.PermissionChannelImpl;
+import com.hjq.permissions.core.PermissionChannelImplByRequestPermissions;
+import com.hjq.permissions.core.PermissionChannelImplByStartActivityForResult;
+import com.hjq.permissions.permission.PermissionChannel;
+
+/**
+ *    author : Android 轮子哥
+ *    github : https://github.com/getActivity/XXPermissions
+ *    time   : 2026/10/18
+ *    desc   : 可复用的权限 Fragment 类（ {@link android.app.Fragment} ），在一次权限请求流程中承载所有批次的权限请求
+ */
+@SuppressWarnings("deprecation")
+public final class PermissionAppFragmentByReusable extends PermissionAppFragment {
+
+    /*
+     * 这里解释一下为什么要有一个可复用的 Fragment，之前每一批权限请求都会创建一个新的 Fragment，
+     * 添加的时候要提交一次事务，然后等待 onResume 回调才能发起权限请求，请求完成之后又要提交一次事务来移除它，
+     * 假设一次权限请求流程被拆分成了 4 批，就要提交 8 次 Fragment 事务，并且还要在主线程中来回等待好几轮消息循环，
+     * 这样会导致两个授权框之间的间隔时间变长，所以这里用同一个 Fragment 来承载一次权限请求流程中的所有批次，
+     * 它只会在第一批权限请求的时候添加，在整个权限请求流程结束之后才会移除，中间的批次直接在当前 Fragment 上面发起请求，
+     * 另外由于每一批权限请求的通道可能会不一样，所以这里同时持有两种通道的实现，在每一批权限请求开始之前切换到对应的通道
+     */
+
+    @NonNull
+    private final PermissionChannelImpl mRequestPermissionsChannelImpl = new PermissionChannelImplByRequestPermissions(this);
+
+    @NonNull
+    private final PermissionChannelImpl mStartActivityForResultChannelImpl = new PermissionChannelImplByStartActivityForResult(this);
+
+    /** 当前批次使用的权限请求通道实现 */
+    @NonNull
+    private PermissionChannelImpl mPermissionChannelImpl = mRequestPermissionsChannelImpl;
+
+    public PermissionAppFragmentByReusable() {
+        mRequestPermissionsChannelImpl.setReusableFragment(true);
+        mStartActivityForResultChannelImpl.setReusableFragment(true);
+    }
+
+    @NonNull
+    @Override
+    public PermissionChannelImpl getPermissionChannelImpl() {
+        return mPermissionChannelImpl;
+    }
+
+    @Override
+    public void setNonSystemRestartMark(boolean nonSystemRestartMark) {
+        mRequestPermissionsChannelImpl.setNonSystemRestartMark(nonSystemRestartMark);
+        mStartActivityForResultChannelImpl.setNonSystemRestartMark(nonSystemRestartMark);
+    }
+
+    /**
+     * 开始本批次的权限请求
+     */
+    public void startPermissionRequest(@NonNull PermissionChannel permissionChannel, @NonNull Bundle arguments,
+                                       @Nullable OnPermissionFragmentCallback callback) {
+        if (permissionChannel == PermissionChannel.REQUEST_PERMISSIONS) {
+            mPermissionChannelImpl = mRequestPermissionsChannelImpl;
+        } else {
+            mPermissionChannelImpl = mStartActivityForResultChannelImpl;
+        }
+        mPermissionChannelImpl.startReusablePermissionRequest(arguments, callback, isResumed());
+    }
+
+    /**
+     * 释放当前 Fragment（整个权限请求流程结束之后调用）
+     */
+    public void release() {
+        mPermissionChannelImpl.releaseReusableFragment();
+    }
+}
\ No newline at end of file
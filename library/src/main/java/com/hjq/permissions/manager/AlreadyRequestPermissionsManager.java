@@ -2,8 +2,7 @@ package com.hjq.permissions.manager;
 
 import androidx.annotation.Nullable;
 import com.hjq.permissions.permission.base.IPermission;
-import com.hjq.permissions.tools.PermissionUtils;
-import java.util.ArrayList;
+import com.hjq.permissions.tools.PermissionSet;
 import java.util.List;
 
 /**
@@ -14,8 +13,8 @@ import java.util.List;
  */
 public final class AlreadyRequestPermissionsManager {
 
-    /** 已请求过的权限集 */
-    private static final List<String> ALREADY_REQUEST_PERMISSIONS_LIST = new ArrayList<>();
+    /** 已请求过的权限集（权限状态可以在子线程中查询，所以读写都需要加锁） */
+    private static final PermissionSet ALREADY_REQUEST_PERMISSIONS_SET = new PermissionSet();
 
     /** 私有化构造函数 */
     private AlreadyRequestPermissionsManager() {
@@ -25,26 +24,20 @@ public final class AlreadyRequestPermissionsManager {
     /**
      * 添加已申请过的权限
      */
-    public static void addAlreadyRequestPermissions(@Nullable List<IPermission> permissions) {
+    public static synchronized void addAlreadyRequestPermissions(@Nullable List<IPermission> permissions) {
         if (permissions == null || permissions.isEmpty()) {
             return;
         }
-        for (IPermission permission : permissions) {
-            String permissionName = permission.getPermissionName();
-            if (PermissionUtils.containsPermission(ALREADY_REQUEST_PERMISSIONS_LIST, permissionName)) {
-                continue;
-            }
-            ALREADY_REQUEST_PERMISSIONS_LIST.add(permissionName);
-        }
+        ALREADY_REQUEST_PERMISSIONS_SET.addAll(permissions);
     }
 
     /**
      * 判断某些权限是否申请过
      */
-    public static boolean isAlreadyRequestPermissions(@Nullable IPermission permission) {
+    public static synchronized boolean isAlreadyRequestPermissions(@Nullable IPermission permission) {
         if (permission == null) {
             return false;
         }
-        return PermissionUtils.containsPermission(ALREADY_REQUEST_PERMISSIONS_LIST, permission.getPermissionName());
+        return ALREADY_REQUEST_PERMISSIONS_SET.contains(permission);
     }
 }
\ No newline at end of file
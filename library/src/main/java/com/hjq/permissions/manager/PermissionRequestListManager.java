@@ -0,0 +1,54 @@
+package com.hjq.permissions.manager;
+
+import android.util.SparseArray;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import com.hjq.permissions.permission.base.IPermission;
+import java.util.List;
+
+/**
+ *    author : Android 轮子哥
+ *    github : https://github.com/getActivity/XXPermissions
+ *    time   : 2026/10/18
+ *    desc   : 权限请求列表的管理类
+ */
+public final class PermissionRequestListManager {
+
+    /*
+     * 这里解释一下为什么要在内存中保存权限请求列表，而不是直接从 Fragment 的参数集中读取，
+     * 这是因为从参数集中读取权限请求列表，每次都要经过 Bundle 的查找和类型转换，如果参数集已经被序列化过，还要重新反序列化一遍，
+     * 而在一次权限请求中，权限请求列表至少会被读取两次（发起请求的时候和计算等待时长的时候），
+     * 所以这里用请求码作为 key，直接保存外层传入的权限请求列表对象，这样读取的时候就不需要再经过 Bundle，
+     * 只有在进程被系统回收并重建的情况下（内存中的数据已经丢失），才会从 Fragment 的参数集中读取权限请求列表
+     */
+
+    /** 权限请求列表存放集合（key 为请求码） */
+    private static final SparseArray<List<IPermission>> REQUEST_LIST_ARRAY = new SparseArray<>();
+
+    /** 私有化构造函数 */
+    private PermissionRequestListManager() {
+        // default implementation ignored
+    }
+
+    /**
+     * 保存某个请求码对应的权限请求列表
+     */
+    public static synchronized void addRequestList(int requestCode, @NonNull List<IPermission> permissions) {
+        REQUEST_LIST_ARRAY.put(requestCode, permissions);
+    }
+
+    /**
+     * 获取某个请求码对应的权限请求列表
+     */
+    @Nullable
+    public static synchronized List<IPermission> getRequestList(int requestCode) {
+        return REQUEST_LIST_ARRAY.get(requestCode);
+    }
+
+    /**
+     * 移除某个请求码对应的权限请求列表
+     */
+    public static synchronized void removeRequestList(int requestCode) {
+        REQUEST_LIST_ARRAY.remove(requestCode);
+    }
+}
\ No newline at end of file
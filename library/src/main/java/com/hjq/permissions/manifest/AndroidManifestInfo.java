@@ -9,7 +9,9 @@ import com.hjq.permissions.manifest.node.PermissionManifestInfo;
 import com.hjq.permissions.manifest.node.ServiceManifestInfo;
 import com.hjq.permissions.manifest.node.UsesSdkManifestInfo;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  *    author : Android 轮子哥
@@ -50,4 +52,127 @@ public final class AndroidManifestInfo {
     /** BroadcastReceiver 节点信息 */
     @NonNull
     public final List<BroadcastReceiverManifestInfo> receiverInfoList = new ArrayList<>();
+
+    /** 已经解析的节点类型（对应 AndroidManifestParser.SECTION_XXX 常量的组合） */
+    public int parsedSections;
+
+    /*
+     * 这里解释一下为什么要给节点建立索引，在检查权限是否合规的时候，每个权限都要在清单文件中查找自己的注册信息，
+     * 有一些权限还会额外查找好几个其他权限的注册信息，如果每次都是遍历列表来查找，清单文件中注册的节点一多就会有明显的耗时，
+     * 所以这里在第一次查找的时候建立索引，后面的查找就不需要再遍历了，另外由于列表是公开的，外部可能会修改列表的内容，
+     * 所以在列表的长度发生变化的时候，需要重新建立索引
+     */
+
+    /** 权限节点索引（key 为权限名称） */
+    @Nullable
+    private ManifestIndex<PermissionManifestInfo> mPermissionInfoIndex;
+
+    /** Activity 节点索引（key 为 Activity 类名） */
+    @Nullable
+    private ManifestIndex<ActivityManifestInfo> mActivityInfoIndex;
+
+    /** Service 节点索引（key 为 Service 类名） */
+    @Nullable
+    private ManifestIndex<ServiceManifestInfo> mServiceInfoIndex;
+
+    /** BroadcastReceiver 节点索引（key 为 BroadcastReceiver 类名） */
+    @Nullable
+    private ManifestIndex<BroadcastReceiverManifestInfo> mReceiverInfoIndex;
+
+    /**
+     * 根据权限名称获取权限节点信息
+     */
+    @Nullable
+    public synchronized PermissionManifestInfo findPermissionInfo(@NonNull String permissionName) {
+        if (mPermissionInfoIndex == null || mPermissionInfoIndex.isOutdated(permissionInfoList)) {
+            mPermissionInfoIndex = new ManifestIndex<>(permissionInfoList, info -> info.name);
+        }
+        return mPermissionInfoIndex.get(permissionName);
+    }
+
+    /**
+     * 根据类名获取 Activity 节点信息
+     */
+    @Nullable
+    public synchronized ActivityManifestInfo findActivityInfo(@NonNull String activityName) {
+        if (mActivityInfoIndex == null || mActivityInfoIndex.isOutdated(activityInfoList)) {
+            mActivityInfoIndex = new ManifestIndex<>(activityInfoList, info -> info.name);
+        }
+        return mActivityInfoIndex.get(activityName);
+    }
+
+    /**
+     * 根据类名获取 Service 节点信息
+     */
+    @Nullable
+    public synchronized ServiceManifestInfo findServiceInfo(@NonNull String serviceName) {
+        if (mServiceInfoIndex == null || mServiceInfoIndex.isOutdated(serviceInfoList)) {
+            mServiceInfoIndex = new ManifestIndex<>(serviceInfoList, info -> info.name);
+        }
+        return mServiceInfoIndex.get(serviceName);
+    }
+
+    /**
+     * 根据类名获取 BroadcastReceiver 节点信息
+     */
+    @Nullable
+    public synchronized BroadcastReceiverManifestInfo findReceiverInfo(@NonNull String receiverName) {
+        if (mReceiverInfoIndex == null || mReceiverInfoIndex.isOutdated(receiverInfoList)) {
+            mReceiverInfoIndex = new ManifestIndex<>(receiverInfoList, info -> info.name);
+        }
+        return mReceiverInfoIndex.get(receiverName);
+    }
+
+    /**
+     * 节点名称获取接口
+     */
+    private interface NodeNameGetter<T> {
+
+        /**
+         * 获取节点的名称
+         */
+        @Nullable
+        String getName(@NonNull T node);
+    }
+
+    /**
+     * 清单文件节点索引
+     */
+    private static final class ManifestIndex<T> {
+
+        /** 索引集合 */
+        @NonNull
+        private final Map<String, T> mIndexMap;
+
+        /** 建立索引时列表的长度 */
+        private final int mListSize;
+
+        private ManifestIndex(@NonNull List<T> nodeList, @NonNull NodeNameGetter<T> nameGetter) {
+            mIndexMap = new HashMap<>(nodeList.size() * 2);
+            mListSize = nodeList.size();
+            for (T node : nodeList) {
+                if (node == null) {
+                    continue;
+                }
+                String name = nameGetter.getName(node);
+                // 如果有重复注册的节点，以第一个为准，这样才能和遍历列表查找的结果保持一致
+                if (name == null || mIndexMap.containsKey(name)) {
+                    continue;
+                }
+                mIndexMap.put(name, node);
+            }
+        }
+
+        /**
+         * 判断索引是否已经过期
+         */
+        private boolean isOutdated(@NonNull List<T> nodeList) {
+            return mListSize != nodeList.size();
+        }
+
+        @Nullable
+        private T get(@NonNull String name) {
+            return mIndexMap.get(name);
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,367 @@
+package com.hjq.permissions.manifest;
+
+import android.content.Context;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import com.hjq.permissions.manifest.node.ActivityManifestInfo;
+import com.hjq.permissions.manifest.node.ApplicationManifestInfo;
+import com.hjq.permissions.manifest.node.BroadcastReceiverManifestInfo;
+import com.hjq.permissions.manifest.node.IntentFilterManifestInfo;
+import com.hjq.permissions.manifest.node.MetaDataManifestInfo;
+import com.hjq.permissions.manifest.node.PermissionManifestInfo;
+import com.hjq.permissions.manifest.node.ServiceManifestInfo;
+import com.hjq.permissions.manifest.node.UsesSdkManifestInfo;
+import com.hjq.permissions.tools.PermissionNameIndex;
+import com.hjq.permissions.tools.PermissionVersion;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ *    author : Android 轮子哥
+ *    github : https://github.com/getActivity/XXPermissions
+ *    time   : 2026/10/18
+ *    desc   : 清单文件信息磁盘缓存
+ */
+final class AndroidManifestInfoDiskCache {
+
+    /*
+     * 这里解释一下为什么要将清单文件信息缓存到磁盘上，内存中的缓存只能保证在同一个进程中只解析一次清单文件，
+     * 但是每次冷启动之后的第一次权限申请还是要完整遍历一遍清单文件，而清单文件只有在应用更新之后才会发生变化，
+     * 所以这里将解析的结果以二进制的形式保存下来，文件头中记录了应用的版本号和更新时间，只要这两个值没有变化，
+     * 就可以直接读取缓存文件，不需要再去解析清单文件了，如果发生了变化，就证明缓存文件已经过期，需要重新解析并写入
+     */
+
+    /** 缓存文件的名称 */
+    private static final String CACHE_FILE_NAME = "xxpermissions_manifest_info.bin";
+
+    /** 缓存文件的魔数 */
+    private static final int CACHE_FILE_MAGIC = 0x58585045;
+
+    /** 缓存文件的格式版本（如果修改了序列化的格式，需要同步修改这个值，让之前的缓存文件失效） */
+    private static final int CACHE_FILE_FORMAT_VERSION = 1;
+
+    /** 私有化构造函数 */
+    private AndroidManifestInfoDiskCache() {
+        // default implementation ignored
+    }
+
+    /**
+     * 读取缓存的清单文件信息，如果缓存文件不存在或者已经过期，则返回空
+     */
+    @Nullable
+    static AndroidManifestInfo read(@NonNull Context context, long versionCode, long lastUpdateTime) {
+        File cacheFile = getCacheFile(context);
+        if (!cacheFile.isFile()) {
+            return null;
+        }
+        long fileLength = cacheFile.length();
+        if (fileLength <= 0 || fileLength > Integer.MAX_VALUE) {
+            return null;
+        }
+
+        // 一次性将文件的内容全部读取到内存中，然后再进行反序列化，避免频繁的磁盘读取
+        byte[] bytes = new byte[(int) fileLength];
+        try (FileInputStream inputStream = new FileInputStream(cacheFile)) {
+            int offset = 0;
+            while (offset < bytes.length) {
+                int count = inputStream.read(bytes, offset, bytes.length - offset);
+                if (count < 0) {
+                    return null;
+                }
+                offset += count;
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+            return null;
+        }
+
+        try (DataInputStream input = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            if (input.readInt() != CACHE_FILE_MAGIC ||
+                input.readInt() != CACHE_FILE_FORMAT_VERSION ||
+                input.readLong() != versionCode ||
+                input.readLong() != lastUpdateTime) {
+                return null;
+            }
+            AndroidManifestInfo manifestInfo = readManifestInfo(input);
+            // 如果读取到的包名和当前应用的包名不是同一个的话，证明这个缓存文件的内容不是当前应用的
+            if (!context.getPackageName().equals(manifestInfo.packageName)) {
+                return null;
+            }
+            return manifestInfo;
+        } catch (IOException e) {
+            // 缓存文件已经损坏，直接当做没有缓存处理
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    /**
+     * 将清单文件信息写入到缓存文件中
+     */
+    static void write(@NonNull Context context, @NonNull AndroidManifestInfo manifestInfo,
+                      long versionCode, long lastUpdateTime) {
+        File cacheFile = getCacheFile(context);
+        // 先写入到临时文件中，写入成功之后再重命名，避免写到一半的时候进程被杀死导致缓存文件损坏
+        File tempFile = new File(cacheFile.getParentFile(), CACHE_FILE_NAME + ".tmp");
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)))) {
+            output.writeInt(CACHE_FILE_MAGIC);
+            output.writeInt(CACHE_FILE_FORMAT_VERSION);
+            output.writeLong(versionCode);
+            output.writeLong(lastUpdateTime);
+            writeManifestInfo(output, manifestInfo);
+        } catch (IOException e) {
+            e.printStackTrace();
+            // noinspection ResultOfMethodCallIgnored
+            tempFile.delete();
+            return;
+        }
+        if (!tempFile.renameTo(cacheFile)) {
+            // noinspection ResultOfMethodCallIgnored
+            tempFile.delete();
+        }
+    }
+
+    /**
+     * 获取缓存文件（放到不会被备份的目录下，避免缓存文件被恢复到其他版本的应用上面）
+     */
+    @NonNull
+    private static File getCacheFile(@NonNull Context context) {
+        File directory;
+        if (PermissionVersion.isAndroid5()) {
+            directory = context.getNoBackupFilesDir();
+        } else {
+            directory = context.getFilesDir();
+        }
+        return new File(directory, CACHE_FILE_NAME);
+    }
+
+    /* ----------------------------------------- 序列化 ----------------------------------------- */
+
+    private static void writeManifestInfo(@NonNull DataOutputStream output, @NonNull AndroidManifestInfo manifestInfo) throws IOException {
+        writeString(output, manifestInfo.packageName);
+
+        UsesSdkManifestInfo usesSdkInfo = manifestInfo.usesSdkInfo;
+        output.writeBoolean(usesSdkInfo != null);
+        if (usesSdkInfo != null) {
+            output.writeInt(usesSdkInfo.minSdkVersion);
+        }
+
+        output.writeInt(manifestInfo.permissionInfoList.size());
+        for (PermissionManifestInfo permissionInfo : manifestInfo.permissionInfoList) {
+            writeString(output, permissionInfo.name);
+            output.writeInt(permissionInfo.maxSdkVersion);
+            output.writeInt(permissionInfo.usesPermissionFlags);
+        }
+
+        writeStringList(output, manifestInfo.queriesPackageList);
+
+        ApplicationManifestInfo applicationInfo = manifestInfo.applicationInfo;
+        output.writeBoolean(applicationInfo != null);
+        if (applicationInfo != null) {
+            writeString(output, applicationInfo.name);
+            output.writeBoolean(applicationInfo.requestLegacyExternalStorage);
+            writeMetaDataList(output, applicationInfo.metaDataInfoList);
+        }
+
+        output.writeInt(manifestInfo.activityInfoList.size());
+        for (ActivityManifestInfo activityInfo : manifestInfo.activityInfoList) {
+            writeString(output, activityInfo.name);
+            output.writeBoolean(activityInfo.supportsPictureInPicture);
+            writeIntentFilterList(output, activityInfo.intentFilterInfoList);
+            writeMetaDataList(output, activityInfo.metaDataInfoList);
+        }
+
+        output.writeInt(manifestInfo.serviceInfoList.size());
+        for (ServiceManifestInfo serviceInfo : manifestInfo.serviceInfoList) {
+            writeString(output, serviceInfo.name);
+            writeString(output, serviceInfo.permission);
+            writeIntentFilterList(output, serviceInfo.intentFilterInfoList);
+            writeMetaDataList(output, serviceInfo.metaDataInfoList);
+        }
+
+        output.writeInt(manifestInfo.receiverInfoList.size());
+        for (BroadcastReceiverManifestInfo receiverInfo : manifestInfo.receiverInfoList) {
+            writeString(output, receiverInfo.name);
+            writeString(output, receiverInfo.permission);
+            writeIntentFilterList(output, receiverInfo.intentFilterInfoList);
+            writeMetaDataList(output, receiverInfo.metaDataInfoList);
+        }
+    }
+
+    private static void writeIntentFilterList(@NonNull DataOutputStream output,
+                                              @Nullable List<IntentFilterManifestInfo> intentFilterInfoList) throws IOException {
+        if (intentFilterInfoList == null) {
+            output.writeInt(-1);
+            return;
+        }
+        output.writeInt(intentFilterInfoList.size());
+        for (IntentFilterManifestInfo intentFilterInfo : intentFilterInfoList) {
+            writeStringList(output, intentFilterInfo.actionList);
+            writeStringList(output, intentFilterInfo.categoryList);
+        }
+    }
+
+    private static void writeMetaDataList(@NonNull DataOutputStream output,
+                                          @Nullable List<MetaDataManifestInfo> metaDataInfoList) throws IOException {
+        if (metaDataInfoList == null) {
+            output.writeInt(-1);
+            return;
+        }
+        output.writeInt(metaDataInfoList.size());
+        for (MetaDataManifestInfo metaDataInfo : metaDataInfoList) {
+            writeString(output, metaDataInfo.name);
+            writeString(output, metaDataInfo.value);
+            output.writeInt(metaDataInfo.resource);
+        }
+    }
+
+    private static void writeStringList(@NonNull DataOutputStream output, @NonNull List<String> list) throws IOException {
+        output.writeInt(list.size());
+        for (String item : list) {
+            writeString(output, item);
+        }
+    }
+
+    private static void writeString(@NonNull DataOutputStream output, @Nullable String text) throws IOException {
+        output.writeBoolean(text != null);
+        if (text != null) {
+            output.writeUTF(text);
+        }
+    }
+
+    /* ----------------------------------------- 反序列化 ----------------------------------------- */
+
+    @NonNull
+    private static AndroidManifestInfo readManifestInfo(@NonNull DataInputStream input) throws IOException {
+        AndroidManifestInfo manifestInfo = new AndroidManifestInfo();
+        // 磁盘缓存中保存的都是完整的清单文件信息
+        manifestInfo.parsedSections = AndroidManifestParser.SECTION_ALL;
+        String packageName = readString(input);
+        manifestInfo.packageName = packageName != null ? packageName : "";
+
+        if (input.readBoolean()) {
+            UsesSdkManifestInfo usesSdkInfo = new UsesSdkManifestInfo();
+            usesSdkInfo.minSdkVersion = input.readInt();
+            manifestInfo.usesSdkInfo = usesSdkInfo;
+        }
+
+        int permissionCount = readCount(input);
+        for (int i = 0; i < permissionCount; i++) {
+            PermissionManifestInfo permissionInfo = new PermissionManifestInfo();
+            permissionInfo.name = PermissionNameIndex.intern(readString(input));
+            permissionInfo.maxSdkVersion = input.readInt();
+            permissionInfo.usesPermissionFlags = input.readInt();
+            manifestInfo.permissionInfoList.add(permissionInfo);
+        }
+
+        readStringList(input, manifestInfo.queriesPackageList);
+
+        if (input.readBoolean()) {
+            ApplicationManifestInfo applicationInfo = new ApplicationManifestInfo();
+            String applicationName = readString(input);
+            applicationInfo.name = applicationName != null ? applicationName : "";
+            applicationInfo.requestLegacyExternalStorage = input.readBoolean();
+            applicationInfo.metaDataInfoList = readMetaDataList(input);
+            manifestInfo.applicationInfo = applicationInfo;
+        }
+
+        int activityCount = readCount(input);
+        for (int i = 0; i < activityCount; i++) {
+            ActivityManifestInfo activityInfo = new ActivityManifestInfo();
+            String activityName = readString(input);
+            activityInfo.name = activityName != null ? activityName : "";
+            activityInfo.supportsPictureInPicture = input.readBoolean();
+            activityInfo.intentFilterInfoList = readIntentFilterList(input);
+            activityInfo.metaDataInfoList = readMetaDataList(input);
+            manifestInfo.activityInfoList.add(activityInfo);
+        }
+
+        int serviceCount = readCount(input);
+        for (int i = 0; i < serviceCount; i++) {
+            ServiceManifestInfo serviceInfo = new ServiceManifestInfo();
+            String serviceName = readString(input);
+            serviceInfo.name = serviceName != null ? serviceName : "";
+            serviceInfo.permission = readString(input);
+            serviceInfo.intentFilterInfoList = readIntentFilterList(input);
+            serviceInfo.metaDataInfoList = readMetaDataList(input);
+            manifestInfo.serviceInfoList.add(serviceInfo);
+        }
+
+        int receiverCount = readCount(input);
+        for (int i = 0; i < receiverCount; i++) {
+            BroadcastReceiverManifestInfo receiverInfo = new BroadcastReceiverManifestInfo();
+            String receiverName = readString(input);
+            receiverInfo.name = receiverName != null ? receiverName : "";
+            receiverInfo.permission = readString(input);
+            receiverInfo.intentFilterInfoList = readIntentFilterList(input);
+            receiverInfo.metaDataInfoList = readMetaDataList(input);
+            manifestInfo.receiverInfoList.add(receiverInfo);
+        }
+
+        return manifestInfo;
+    }
+
+    @Nullable
+    private static List<IntentFilterManifestInfo> readIntentFilterList(@NonNull DataInputStream input) throws IOException {
+        int count = input.readInt();
+        if (count < 0) {
+            return null;
+        }
+        List<IntentFilterManifestInfo> intentFilterInfoList = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            IntentFilterManifestInfo intentFilterInfo = new IntentFilterManifestInfo();
+            readStringList(input, intentFilterInfo.actionList);
+            readStringList(input, intentFilterInfo.categoryList);
+            intentFilterInfoList.add(intentFilterInfo);
+        }
+        return intentFilterInfoList;
+    }
+
+    @Nullable
+    private static List<MetaDataManifestInfo> readMetaDataList(@NonNull DataInputStream input) throws IOException {
+        int count = input.readInt();
+        if (count < 0) {
+            return null;
+        }
+        List<MetaDataManifestInfo> metaDataInfoList = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            MetaDataManifestInfo metaDataInfo = new MetaDataManifestInfo();
+            metaDataInfo.name = readString(input);
+            metaDataInfo.value = readString(input);
+            metaDataInfo.resource = input.readInt();
+            metaDataInfoList.add(metaDataInfo);
+        }
+        return metaDataInfoList;
+    }
+
+    private static void readStringList(@NonNull DataInputStream input, @NonNull List<String> list) throws IOException {
+        int count = readCount(input);
+        for (int i = 0; i < count; i++) {
+            list.add(readString(input));
+        }
+    }
+
+    @Nullable
+    private static String readString(@NonNull DataInputStream input) throws IOException {
+        if (!input.readBoolean()) {
+            return null;
+        }
+        return input.readUTF();
+    }
+
+    private static int readCount(@NonNull DataInputStream input) throws IOException {
+        int count = input.readInt();
+        if (count < 0) {
+            throw new IOException("Invalid count: " + count);
+        }
+        return count;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,19 @@
+package com.hjq.permissions.manifest;
+
+import android.content.Context;
+import androidx.annotation.NonNull;
+
+/**
+ *    author : Android 轮子哥
+ *    github : https://github.com/getActivity/XXPermissions
+ *    time   : 2026/10/18
+ *    desc   : 清单文件信息提供者（由 manifest-plugin 插件在编译期生成实现类）
+ */
+public interface AndroidManifestInfoProvider {
+
+    /**
+     * 获取清单文件信息
+     */
+    @NonNull
+    AndroidManifestInfo getAndroidManifestInfo(@NonNull Context context);
+}
\ No newline at end of file
@@ -2,6 +2,7 @@ package com.hjq.permissions.manifest;
 
 import android.annotation.SuppressLint;
 import android.content.Context;
+import android.content.pm.PackageInfo;
 import android.content.res.AssetManager;
 import android.content.res.XmlResourceParser;
 import androidx.annotation.NonNull;
@@ -14,6 +15,7 @@ import com.hjq.permissions.manifest.node.MetaDataManifestInfo;
 import com.hjq.permissions.manifest.node.PermissionManifestInfo;
 import com.hjq.permissions.manifest.node.ServiceManifestInfo;
 import com.hjq.permissions.manifest.node.UsesSdkManifestInfo;
+import com.hjq.permissions.tools.PermissionNameIndex;
 import com.hjq.permissions.tools.PermissionUtils;
 import com.hjq.permissions.tools.PermissionVersion;
 import java.io.IOException;
@@ -68,17 +70,158 @@ public final class AndroidManifestParser {
     private static final String ATTR_SUPPORTS_PICTURE_IN_PICTURE = "supportsPictureInPicture";
     private static final String ATTR_PERMISSION = "permission";
 
+    /** 节点类型：uses-sdk */
+    public static final int SECTION_USES_SDK = 1;
+    /** 节点类型：uses-permission */
+    public static final int SECTION_USES_PERMISSION = 1 << 1;
+    /** 节点类型：queries */
+    public static final int SECTION_QUERIES = 1 << 2;
+    /** 节点类型：application（只包含 application 节点自身的属性） */
+    public static final int SECTION_APPLICATION = 1 << 3;
+    /** 节点类型：application 下面的 meta-data */
+    public static final int SECTION_APPLICATION_META_DATA = 1 << 4;
+    /** 节点类型：activity 和 activity-alias */
+    public static final int SECTION_ACTIVITY = 1 << 5;
+    /** 节点类型：service */
+    public static final int SECTION_SERVICE = 1 << 6;
+    /** 节点类型：receiver */
+    public static final int SECTION_RECEIVER = 1 << 7;
+
+    /** 基础的节点类型（这些节点都在 application 节点之前或者就是 application 节点，解析的成本很低） */
+    public static final int SECTION_BASE = SECTION_USES_SDK | SECTION_USES_PERMISSION | SECTION_QUERIES | SECTION_APPLICATION;
+
+    /** 所有的节点类型 */
+    public static final int SECTION_ALL = SECTION_BASE | SECTION_APPLICATION_META_DATA |
+                                            SECTION_ACTIVITY | SECTION_SERVICE | SECTION_RECEIVER;
+
+    /** application 节点里面的子节点类型 */
+    private static final int SECTION_APPLICATION_CHILDREN = SECTION_APPLICATION_META_DATA |
+                                                            SECTION_ACTIVITY | SECTION_SERVICE | SECTION_RECEIVER;
+
+    /** 编译期生成的清单文件信息类的类名（由 manifest-plugin 插件生成） */
+    private static final String GENERATED_MANIFEST_INFO_CLASS_NAME = "com.hjq.permissions.manifest.AndroidManifestInfoGenerated";
+
+    /** 清单文件解析的锁对象 */
+    private static final Object PARSE_LOCK = new Object();
+
+    /** 清单文件信息缓存 */
+    @Nullable
+    private static volatile AndroidManifestInfoCache sManifestInfoCache;
+
     /** 私有化构造函数 */
     private AndroidManifestParser() {
         // default implementation ignored
     }
 
     /**
-     * 获取当前应用的清单文件信息
+     * 获取当前应用的清单文件信息（解析所有的节点）
      */
     @Nullable
     public static AndroidManifestInfo getAndroidManifestInfo(Context context) {
-        int apkPathCookie = AndroidManifestParser.findApkPathCookie(context, context.getApplicationInfo().sourceDir);
+        return getAndroidManifestInfo(context, SECTION_ALL);
+    }
+
+    /**
+     * 获取当前应用的清单文件信息
+     *
+     * @param sections          需要解析的节点类型（可以通过 | 运算符组合多个节点类型）
+     */
+    @Nullable
+    public static AndroidManifestInfo getAndroidManifestInfo(@NonNull Context context, int sections) {
+        // 这里解释一下为什么要缓存清单文件信息，每次解析清单文件都需要经过反射获取 cookie，然后再完整遍历一遍清单文件，
+        // 清单文件越大耗时就越明显，但是清单文件在应用运行的过程中是不会发生变化的，因为应用被覆盖安装的时候，进程会被系统杀死，
+        // 所以这里只需要解析一次，后面直接复用解析的结果就可以了，这里用 apk 的路径作为缓存的 key，路径变了就重新解析一遍
+        String sourceDir = context.getApplicationInfo().sourceDir;
+        AndroidManifestInfoCache manifestInfoCache = sManifestInfoCache;
+        if (manifestInfoCache != null && manifestInfoCache.isMatch(sourceDir, sections)) {
+            return manifestInfoCache.manifestInfo;
+        }
+
+        // 加锁是为了保证多个线程同时获取的时候，只会解析一次清单文件，其他线程会等待解析完成之后直接复用解析的结果
+        synchronized (PARSE_LOCK) {
+            manifestInfoCache = sManifestInfoCache;
+            if (manifestInfoCache != null && manifestInfoCache.isMatch(sourceDir, sections)) {
+                return manifestInfoCache.manifestInfo;
+            }
+
+            if (manifestInfoCache != null && manifestInfoCache.sourceDir.equals(sourceDir) && manifestInfoCache.manifestInfo != null) {
+                // 之前只解析了部分的节点，这次需要的节点之前没有解析过，所以需要再解析一遍（连同之前解析过的节点一起）
+                int requiredSections = sections | manifestInfoCache.manifestInfo.parsedSections;
+                AndroidManifestInfo manifestInfo = parseAndroidManifestInfo(context, manifestInfoCache.apkPathCookie, requiredSections);
+                sManifestInfoCache = new AndroidManifestInfoCache(sourceDir, manifestInfoCache.apkPathCookie, manifestInfo);
+                return manifestInfo;
+            }
+
+            // 优先使用编译期生成的清单文件信息，这样就不需要通过反射获取 cookie，也不需要在运行时解析清单文件
+            AndroidManifestInfo generatedManifestInfo = getGeneratedAndroidManifestInfo(context);
+            if (generatedManifestInfo != null) {
+                sManifestInfoCache = new AndroidManifestInfoCache(sourceDir, 0, generatedManifestInfo);
+                return generatedManifestInfo;
+            }
+
+            PackageInfo packageInfo = getPackageInfo(context);
+            long versionCode = 0;
+            long lastUpdateTime = 0;
+            if (packageInfo != null) {
+                versionCode = getVersionCode(packageInfo);
+                lastUpdateTime = packageInfo.lastUpdateTime;
+                // 优先从磁盘缓存中读取，这样冷启动之后就不需要再解析一遍清单文件（磁盘缓存中保存的都是完整的清单文件信息）
+                AndroidManifestInfo manifestInfo = AndroidManifestInfoDiskCache.read(context, versionCode, lastUpdateTime);
+                if (manifestInfo != null) {
+                    sManifestInfoCache = new AndroidManifestInfoCache(sourceDir, 0, manifestInfo);
+                    return manifestInfo;
+                }
+            }
+
+            int apkPathCookie = AndroidManifestParser.findApkPathCookie(context, sourceDir);
+            // 解析失败的结果也需要缓存下来，因为就算重新解析一遍，结果也还是一样的
+            AndroidManifestInfo manifestInfo = parseAndroidManifestInfo(context, apkPathCookie, sections);
+            sManifestInfoCache = new AndroidManifestInfoCache(sourceDir, apkPathCookie, manifestInfo);
+            if (manifestInfo != null && packageInfo != null) {
+                // 磁盘缓存不存在或者已经过期，在子线程中重新生成，避免阻塞当前线程
+                rebuildDiskCacheAsync(context, apkPathCookie, manifestInfo, versionCode, lastUpdateTime);
+            }
+            return manifestInfo;
+        }
+    }
+
+    /**
+     * 获取编译期生成的清单文件信息，如果没有接入 manifest-plugin 插件，则返回空
+     */
+    @Nullable
+    private static AndroidManifestInfo getGeneratedAndroidManifestInfo(@NonNull Context context) {
+        Class<?> clazz;
+        try {
+            clazz = Class.forName(GENERATED_MANIFEST_INFO_CLASS_NAME);
+        } catch (ClassNotFoundException e) {
+            // 没有接入插件，属于正常的情况
+            return null;
+        }
+
+        try {
+            Object provider = clazz.newInstance();
+            if (!(provider instanceof AndroidManifestInfoProvider)) {
+                return null;
+            }
+            AndroidManifestInfo manifestInfo = ((AndroidManifestInfoProvider) provider).getAndroidManifestInfo(context);
+            // 如果生成的包名和当前应用的包名不是同一个的话，证明这个清单文件信息不是当前应用的
+            if (!context.getPackageName().equals(manifestInfo.packageName)) {
+                return null;
+            }
+            // 编译期生成的都是完整的清单文件信息
+            manifestInfo.parsedSections = SECTION_ALL;
+            return manifestInfo;
+        } catch (Exception e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    /**
+     * 解析当前应用的清单文件信息
+     */
+    @Nullable
+    private static AndroidManifestInfo parseAndroidManifestInfo(@NonNull Context context, int apkPathCookie, int sections) {
         // 如果 cookie 为 0，证明获取失败
         if (apkPathCookie == 0) {
             return null;
@@ -86,7 +229,7 @@ public final class AndroidManifestParser {
 
         AndroidManifestInfo manifestInfo = null;
         try {
-            manifestInfo = AndroidManifestParser.parseAndroidManifest(context, apkPathCookie);
+            manifestInfo = AndroidManifestParser.parseAndroidManifest(context, apkPathCookie, sections);
             // 如果读取到的包名和当前应用的包名不是同一个的话，证明这个清单文件的内容不是当前应用的
             // 具体案例：https://github.com/getActivity/XXPermissions/issues/102
             if (!PermissionUtils.reverseEqualsString(context.getPackageName(), manifestInfo.packageName)) {
@@ -99,6 +242,51 @@ public final class AndroidManifestParser {
         return manifestInfo;
     }
 
+    /**
+     * 在子线程中重新生成清单文件信息的磁盘缓存
+     */
+    private static void rebuildDiskCacheAsync(@NonNull Context context, int apkPathCookie, @NonNull AndroidManifestInfo manifestInfo,
+                                              long versionCode, long lastUpdateTime) {
+        final Context applicationContext = context.getApplicationContext() != null ? context.getApplicationContext() : context;
+        Thread thread = new Thread(() -> {
+            AndroidManifestInfo fullManifestInfo = manifestInfo;
+            // 磁盘缓存中需要保存完整的清单文件信息，如果当前只解析了部分的节点，那么需要在子线程中完整解析一遍
+            if (fullManifestInfo.parsedSections != SECTION_ALL) {
+                fullManifestInfo = parseAndroidManifestInfo(applicationContext, apkPathCookie, SECTION_ALL);
+            }
+            if (fullManifestInfo == null) {
+                return;
+            }
+            AndroidManifestInfoDiskCache.write(applicationContext, fullManifestInfo, versionCode, lastUpdateTime);
+        }, "XXPermissions-ManifestCache");
+        thread.setPriority(Thread.MIN_PRIORITY);
+        thread.start();
+    }
+
+    /**
+     * 获取当前应用的包信息
+     */
+    @Nullable
+    private static PackageInfo getPackageInfo(@NonNull Context context) {
+        try {
+            return context.getPackageManager().getPackageInfo(context.getPackageName(), 0);
+        } catch (Exception e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    /**
+     * 获取当前应用的版本号
+     */
+    @SuppressWarnings("deprecation")
+    private static long getVersionCode(@NonNull PackageInfo packageInfo) {
+        if (PermissionVersion.isAndroid9()) {
+            return packageInfo.getLongVersionCode();
+        }
+        return packageInfo.versionCode;
+    }
+
     /**
      * 获取当前应用 Apk 在 AssetManager 中的 Cookie，如果获取失败，则为 0
      */
@@ -159,67 +347,126 @@ public final class AndroidManifestParser {
      */
     @NonNull
     public static AndroidManifestInfo parseAndroidManifest(@NonNull Context context, int apkCookie) throws IOException, XmlPullParserException {
-        AndroidManifestInfo manifestInfo = new AndroidManifestInfo();
+        return parseAndroidManifest(context, apkCookie, SECTION_ALL);
+    }
 
+    /**
+     * 解析 apk 包中的清单文件
+     *
+     * @param context          上下文
+     * @param apkCookie        要解析 apk 的 cookie
+     * @param sections         需要解析的节点类型，没有指定的节点会被跳过，如果 application 里面的节点都不需要，则读取到 application 节点就会结束解析
+     */
+    @NonNull
+    public static AndroidManifestInfo parseAndroidManifest(@NonNull Context context, int apkCookie, int sections) throws IOException, XmlPullParserException {
         try (XmlResourceParser parser = context.getAssets().
             openXmlResourceParser(apkCookie, ANDROID_MANIFEST_FILE_NAME)) {
+            return parseAndroidManifest(parser, sections);
+        }
+    }
 
-            do {
-                // 当前节点必须为标签头部
-                if (parser.getEventType() != XmlResourceParser.START_TAG) {
-                    continue;
-                }
+    /**
+     * 解析清单文件
+     *
+     * @param parser           清单文件的解析器（调用方负责关闭）
+     * @param sections         需要解析的节点类型，没有指定的节点会被跳过，如果 application 里面的节点都不需要，则读取到 application 节点就会结束解析
+     */
+    @NonNull
+    public static AndroidManifestInfo parseAndroidManifest(@NonNull XmlResourceParser parser, int sections) throws IOException, XmlPullParserException {
+        AndroidManifestInfo manifestInfo = new AndroidManifestInfo();
+        // 基础的节点类型是一定会解析的
+        sections |= SECTION_BASE;
+        manifestInfo.parsedSections = sections;
 
-                String tagName = parser.getName();
+        do {
+            // 当前节点必须为标签头部
+            if (parser.getEventType() != XmlResourceParser.START_TAG) {
+                continue;
+            }
 
-                if (PermissionUtils.equalsString(TAG_MANIFEST, tagName)) {
-                    manifestInfo.packageName = parsePackageFromXml(parser);
-                }
+            String tagName = parser.getName();
 
-                if (PermissionUtils.equalsString(TAG_USES_SDK, tagName)) {
-                    manifestInfo.usesSdkInfo = parseUsesSdkFromXml(parser);
-                }
+            if (PermissionUtils.equalsString(TAG_MANIFEST, tagName)) {
+                manifestInfo.packageName = parsePackageFromXml(parser);
+            }
 
-                if (PermissionUtils.equalsString(TAG_USES_PERMISSION, tagName) ||
-                    PermissionUtils.equalsString(TAG_USES_PERMISSION_SDK_23, tagName) ||
-                    PermissionUtils.equalsString(TAG_USES_PERMISSION_SDK_M, tagName)) {
-                    manifestInfo.permissionInfoList.add(parsePermissionFromXml(parser));
-                }
+            if (PermissionUtils.equalsString(TAG_USES_SDK, tagName)) {
+                manifestInfo.usesSdkInfo = parseUsesSdkFromXml(parser);
+            }
 
-                if (PermissionUtils.equalsString(TAG_QUERIES, tagName)) {
-                    manifestInfo.queriesPackageList.add(parsePackageFromXml(parser));
-                }
+            if (PermissionUtils.equalsString(TAG_USES_PERMISSION, tagName) ||
+                PermissionUtils.equalsString(TAG_USES_PERMISSION_SDK_23, tagName) ||
+                PermissionUtils.equalsString(TAG_USES_PERMISSION_SDK_M, tagName)) {
+                manifestInfo.permissionInfoList.add(parsePermissionFromXml(parser));
+            }
 
-                if (PermissionUtils.equalsString(TAG_APPLICATION, tagName)) {
-                    manifestInfo.applicationInfo = parseApplicationFromXml(parser);
+            if (PermissionUtils.equalsString(TAG_QUERIES, tagName)) {
+                manifestInfo.queriesPackageList.add(parsePackageFromXml(parser));
+            }
+
+            if (PermissionUtils.equalsString(TAG_APPLICATION, tagName)) {
+                manifestInfo.applicationInfo = parseApplicationFromXml(parser);
+                if ((sections & SECTION_APPLICATION_CHILDREN) == 0) {
+                    // application 里面的节点都不需要解析，剩下的内容也就没有必要再读取了
+                    break;
                 }
+            }
 
-                if (PermissionUtils.equalsString(TAG_ACTIVITY, tagName) ||
-                    PermissionUtils.equalsString(TAG_ACTIVITY_ALIAS, tagName)) {
-                    manifestInfo.activityInfoList.add(parseActivityFromXml(parser));
+            if (PermissionUtils.equalsString(TAG_ACTIVITY, tagName) ||
+                PermissionUtils.equalsString(TAG_ACTIVITY_ALIAS, tagName)) {
+                if ((sections & SECTION_ACTIVITY) == 0) {
+                    skipCurrentTag(parser);
+                    continue;
                 }
+                manifestInfo.activityInfoList.add(parseActivityFromXml(parser));
+            }
 
-                if (PermissionUtils.equalsString(TAG_SERVICE, tagName)) {
-                    manifestInfo.serviceInfoList.add(parseServerFromXml(parser));
+            if (PermissionUtils.equalsString(TAG_SERVICE, tagName)) {
+                if ((sections & SECTION_SERVICE) == 0) {
+                    skipCurrentTag(parser);
+                    continue;
                 }
+                manifestInfo.serviceInfoList.add(parseServerFromXml(parser));
+            }
 
-                if (PermissionUtils.equalsString(TAG_RECEIVER, tagName)) {
-                    manifestInfo.receiverInfoList.add(parseBroadcastReceiverFromXml(parser));
+            if (PermissionUtils.equalsString(TAG_RECEIVER, tagName)) {
+                if ((sections & SECTION_RECEIVER) == 0) {
+                    skipCurrentTag(parser);
+                    continue;
                 }
+                manifestInfo.receiverInfoList.add(parseBroadcastReceiverFromXml(parser));
+            }
 
-                if (PermissionUtils.equalsString(TAG_META_DATA, tagName) && manifestInfo.applicationInfo != null) {
-                    if (manifestInfo.applicationInfo.metaDataInfoList == null) {
-                        manifestInfo.applicationInfo.metaDataInfoList = new ArrayList<>();
-                    }
-                    manifestInfo.applicationInfo.metaDataInfoList.add(parseMetaDataFromXml(parser));
+            if (PermissionUtils.equalsString(TAG_META_DATA, tagName) && manifestInfo.applicationInfo != null &&
+                (sections & SECTION_APPLICATION_META_DATA) != 0) {
+                if (manifestInfo.applicationInfo.metaDataInfoList == null) {
+                    manifestInfo.applicationInfo.metaDataInfoList = new ArrayList<>();
                 }
+                manifestInfo.applicationInfo.metaDataInfoList.add(parseMetaDataFromXml(parser));
+            }
 
-            } while (parser.next() != XmlResourceParser.END_DOCUMENT);
-        }
+        } while (parser.next() != XmlResourceParser.END_DOCUMENT);
 
         return manifestInfo;
     }
 
+    /**
+     * 跳过当前标签（包括标签里面所有的子节点）
+     */
+    private static void skipCurrentTag(@NonNull XmlResourceParser parser) throws IOException, XmlPullParserException {
+        int depth = 1;
+        while (depth > 0) {
+            int nextTagType = parser.next();
+            if (nextTagType == XmlResourceParser.START_TAG) {
+                depth++;
+            } else if (nextTagType == XmlResourceParser.END_TAG) {
+                depth--;
+            } else if (nextTagType == XmlResourceParser.END_DOCUMENT) {
+                return;
+            }
+        }
+    }
+
     @NonNull
     private static String parsePackageFromXml(@NonNull XmlResourceParser parser) {
         String packageName = parser.getAttributeValue(null, ATTR_PACKAGE);
@@ -237,7 +484,8 @@ public final class AndroidManifestParser {
     @NonNull
     private static PermissionManifestInfo parsePermissionFromXml(@NonNull XmlResourceParser parser) {
         PermissionManifestInfo permissionInfo = new PermissionManifestInfo();
-        permissionInfo.name = parser.getAttributeValue(ANDROID_NAMESPACE_URI, ATTR_NAME);
+        // 转换成规范的字符串对象，这样后续比较权限名称的时候，直接比较内存地址就能得出结果
+        permissionInfo.name = PermissionNameIndex.intern(parser.getAttributeValue(ANDROID_NAMESPACE_URI, ATTR_NAME));
         permissionInfo.maxSdkVersion = parser.getAttributeIntValue(ANDROID_NAMESPACE_URI,
             ATTR_MAX_SDK_VERSION, PermissionManifestInfo.DEFAULT_MAX_SDK_VERSION);
         permissionInfo.usesPermissionFlags = parser.getAttributeIntValue(ANDROID_NAMESPACE_URI,
@@ -379,4 +627,37 @@ public final class AndroidManifestParser {
         metaDataInfo.resource = parser.getAttributeResourceValue(ANDROID_NAMESPACE_URI, ATTR_RESOURCE, 0);
         return metaDataInfo;
     }
+
+    /**
+     * 清单文件信息缓存
+     */
+    private static final class AndroidManifestInfoCache {
+
+        /** apk 的路径 */
+        @NonNull
+        private final String sourceDir;
+
+        /** apk 在 AssetManager 中的 cookie（为 0 则表示没有获取过） */
+        private final int apkPathCookie;
+
+        /** 清单文件信息 */
+        @Nullable
+        private final AndroidManifestInfo manifestInfo;
+
+        private AndroidManifestInfoCache(@NonNull String sourceDir, int apkPathCookie, @Nullable AndroidManifestInfo manifestInfo) {
+            this.sourceDir = sourceDir;
+            this.apkPathCookie = apkPathCookie;
+            this.manifestInfo = manifestInfo;
+        }
+
+        /**
+         * 判断缓存是否能满足本次的需要
+         */
+        private boolean isMatch(@NonNull String sourceDir, int sections) {
+            if (!this.sourceDir.equals(sourceDir)) {
+                return false;
+            }
+            return manifestInfo == null || (manifestInfo.parsedSections & sections) == sections;
+        }
+    }
 }
\ No newline at end of file
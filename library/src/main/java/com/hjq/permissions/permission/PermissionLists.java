@@ -6,7 +6,6 @@ import android.app.admin.DeviceAdminReceiver;
 import android.service.notification.NotificationListenerService;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
-import androidx.collection.LruCache;
 import com.hjq.permissions.permission.base.IPermission;
 import com.hjq.permissions.permission.dangerous.StandardDangerousPermission;
 import com.hjq.permissions.permission.dangerous.AccessBackgroundLocationPermission;
@@ -46,7 +45,9 @@ import com.hjq.permissions.permission.special.ScheduleExactAlarmPermission;
 import com.hjq.permissions.permission.special.SystemAlertWindowPermission;
 import com.hjq.permissions.permission.special.UseFullScreenIntentPermission;
 import com.hjq.permissions.permission.special.WriteSettingsPermission;
+import com.hjq.permissions.tools.PermissionNameIndex;
 import com.hjq.permissions.tools.PermissionVersion;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 /**
  *    author : Android 轮子哥
@@ -65,11 +66,8 @@ public final class PermissionLists {
         // default implementation ignored
     }
 
-    /** 权限数量 */
-    private static final int PERMISSION_COUNT = 151;
-
     /**
-     * 权限对象缓存集合
+     * 权限对象缓存集合（数组下标为权限名称在 PermissionNameIndex 中的序号）
      *
      * 这里解释一下为什么将 IPermission 对象缓存到集合中？而不是定义成静态变量或者常量？有几个原因：
      *
@@ -79,8 +77,12 @@ public final class PermissionLists {
      * 2. 如果直接定义成常量或静态变量，还有另外一个问题，就是一旦有谁第一次访问到本类，就会初始化很多对象，
      *    不管这个权限有没有用到，都会在第一次访问的时候初始化完，这样对性能其实不太好的，虽然这点性能微不足道，
      *    但是本着能省一点是一点的原则，所以搞了一个静态集合来存放这些权限对象，调用的时候发现没有再去创建。
+     *
+     * 另外这里之所以不用 LruCache，是因为这些权限对象一旦创建就不需要被淘汰，而 LruCache 每次读取都要加锁并且调整链表顺序，
+     * 权限对象的数量又是固定的，所以直接通过权限名称的序号（完美哈希，详见 PermissionNameIndex 类）定位到数组中的位置，读写都不需要加锁
      */
-    private static final LruCache<String, IPermission> PERMISSION_CACHE_MAP = new LruCache<>(PERMISSION_COUNT);
+    private static final AtomicReferenceArray<IPermission> PERMISSION_CACHE_ARRAY =
+        new AtomicReferenceArray<>(PermissionNameIndex.PERMISSION_COUNT);
 
     /**
      * 获取缓存的权限对象
@@ -89,7 +91,11 @@ public final class PermissionLists {
      */
     @Nullable
     private static IPermission getCachePermission(@NonNull String permissionName) {
-        return PERMISSION_CACHE_MAP.get(permissionName);
+        int index = PermissionNameIndex.indexOf(permissionName);
+        if (index < 0) {
+            return null;
+        }
+        return PERMISSION_CACHE_ARRAY.get(index);
     }
 
     /**
@@ -98,8 +104,40 @@ public final class PermissionLists {
      * @param permission                权限对象
      */
     private static IPermission putCachePermission(@NonNull IPermission permission) {
-        PERMISSION_CACHE_MAP.put(permission.getPermissionName(), permission);
-        return permission;
+        int index = PermissionNameIndex.indexOf(permission.getPermissionName());
+        if (index < 0) {
+            return permission;
+        }
+        // 如果多个线程同时创建了同一个权限对象，以第一个放进去的为准，这样才能保证拿到的都是同一个对象
+        if (PERMISSION_CACHE_ARRAY.compareAndSet(index, null, permission)) {
+            return permission;
+        }
+        return PERMISSION_CACHE_ARRAY.get(index);
+    }
+
+    /**
+     * 通过权限名称获取权限对象（例如权限配置是由服务器下发的场景）
+     *
+     * 需要注意的是：需要携带参数才能创建的权限（例如无障碍服务权限、通知监听权限、设备管理器权限）会返回空，
+     * 这类权限请调用 PermissionLists 中对应的带参方法来获取
+     *
+     * @param permissionName            权限名称
+     */
+    @Nullable
+    public static IPermission fromName(@Nullable String permissionName) {
+        int index = PermissionNameIndex.indexOf(permissionName);
+        if (index < 0) {
+            return null;
+        }
+        IPermission permission = PERMISSION_CACHE_ARRAY.get(index);
+        if (permission != null) {
+            return permission;
+        }
+        PermissionCreator permissionCreator = PermissionCreatorTable.PERMISSION_CREATOR_ARRAY[index];
+        if (permissionCreator == null) {
+            return null;
+        }
+        return permissionCreator.createPermission();
     }
 
     /**
@@ -2192,4 +2230,180 @@ public final class PermissionLists {
         }
         return putCachePermission(new StandardHealthRecordsPermission(permissionName, PermissionVersion.ANDROID_16));
     }
+
+    /**
+     * 权限对象创建器
+     */
+    private interface PermissionCreator {
+
+        /**
+         * 创建权限对象
+         */
+        @NonNull
+        IPermission createPermission();
+    }
+
+    /**
+     * 权限对象创建器表（只有调用 fromName 的时候才会初始化）
+     */
+    private static final class PermissionCreatorTable {
+
+        /** 权限对象创建器集合（数组下标为权限名称在 PermissionNameIndex 中的序号） */
+        private static final PermissionCreator[] PERMISSION_CREATOR_ARRAY = new PermissionCreator[PermissionNameIndex.PERMISSION_COUNT];
+
+        static {
+            register(PermissionNames.GET_INSTALLED_APPS, PermissionLists::getGetInstalledAppsPermission);
+            register(PermissionNames.USE_FULL_SCREEN_INTENT, PermissionLists::getUseFullScreenIntentPermission);
+            register(PermissionNames.SCHEDULE_EXACT_ALARM, PermissionLists::getScheduleExactAlarmPermission);
+            register(PermissionNames.MANAGE_EXTERNAL_STORAGE, PermissionLists::getManageExternalStoragePermission);
+            register(PermissionNames.REQUEST_INSTALL_PACKAGES, PermissionLists::getRequestInstallPackagesPermission);
+            register(PermissionNames.PICTURE_IN_PICTURE, PermissionLists::getPictureInPicturePermission);
+            register(PermissionNames.SYSTEM_ALERT_WINDOW, PermissionLists::getSystemAlertWindowPermission);
+            register(PermissionNames.WRITE_SETTINGS, PermissionLists::getWriteSettingsPermission);
+            register(PermissionNames.REQUEST_IGNORE_BATTERY_OPTIMIZATIONS, PermissionLists::getRequestIgnoreBatteryOptimizationsPermission);
+            register(PermissionNames.ACCESS_NOTIFICATION_POLICY, PermissionLists::getAccessNotificationPolicyPermission);
+            register(PermissionNames.PACKAGE_USAGE_STATS, PermissionLists::getPackageUsageStatsPermission);
+            register(PermissionNames.BIND_VPN_SERVICE, PermissionLists::getBindVpnServicePermission);
+            register(PermissionNames.NOTIFICATION_SERVICE, PermissionLists::getNotificationServicePermission);
+            register(PermissionNames.READ_MEDIA_VISUAL_USER_SELECTED, PermissionLists::getReadMediaVisualUserSelectedPermission);
+            register(PermissionNames.POST_NOTIFICATIONS, PermissionLists::getPostNotificationsPermission);
+            register(PermissionNames.NEARBY_WIFI_DEVICES, PermissionLists::getNearbyWifiDevicesPermission);
+            register(PermissionNames.BODY_SENSORS_BACKGROUND, PermissionLists::getBodySensorsBackgroundPermission);
+            register(PermissionNames.READ_MEDIA_IMAGES, PermissionLists::getReadMediaImagesPermission);
+            register(PermissionNames.READ_MEDIA_VIDEO, PermissionLists::getReadMediaVideoPermission);
+            register(PermissionNames.READ_MEDIA_AUDIO, PermissionLists::getReadMediaAudioPermission);
+            register(PermissionNames.BLUETOOTH_SCAN, PermissionLists::getBluetoothScanPermission);
+            register(PermissionNames.BLUETOOTH_CONNECT, PermissionLists::getBluetoothConnectPermission);
+            register(PermissionNames.BLUETOOTH_ADVERTISE, PermissionLists::getBluetoothAdvertisePermission);
+            register(PermissionNames.ACCESS_BACKGROUND_LOCATION, PermissionLists::getAccessBackgroundLocationPermission);
+            register(PermissionNames.ACTIVITY_RECOGNITION, PermissionLists::getActivityRecognitionPermission);
+            register(PermissionNames.ACCESS_MEDIA_LOCATION, PermissionLists::getAccessMediaLocationPermission);
+            register(PermissionNames.ACCEPT_HANDOVER, PermissionLists::getAcceptHandoverPermission);
+            register(PermissionNames.READ_PHONE_NUMBERS, PermissionLists::getReadPhoneNumbersPermission);
+            register(PermissionNames.ANSWER_PHONE_CALLS, PermissionLists::getAnswerPhoneCallsPermission);
+            register(PermissionNames.READ_EXTERNAL_STORAGE, PermissionLists::getReadExternalStoragePermission);
+            register(PermissionNames.WRITE_EXTERNAL_STORAGE, PermissionLists::getWriteExternalStoragePermission);
+            register(PermissionNames.CAMERA, PermissionLists::getCameraPermission);
+            register(PermissionNames.RECORD_AUDIO, PermissionLists::getRecordAudioPermission);
+            register(PermissionNames.ACCESS_FINE_LOCATION, PermissionLists::getAccessFineLocationPermission);
+            register(PermissionNames.ACCESS_COARSE_LOCATION, PermissionLists::getAccessCoarseLocationPermission);
+            register(PermissionNames.READ_CONTACTS, PermissionLists::getReadContactsPermission);
+            register(PermissionNames.WRITE_CONTACTS, PermissionLists::getWriteContactsPermission);
+            register(PermissionNames.GET_ACCOUNTS, PermissionLists::getGetAccountsPermission);
+            register(PermissionNames.READ_CALENDAR, PermissionLists::getReadCalendarPermission);
+            register(PermissionNames.WRITE_CALENDAR, PermissionLists::getWriteCalendarPermission);
+            register(PermissionNames.READ_PHONE_STATE, PermissionLists::getReadPhoneStatePermission);
+            register(PermissionNames.CALL_PHONE, PermissionLists::getCallPhonePermission);
+            register(PermissionNames.READ_CALL_LOG, PermissionLists::getReadCallLogPermission);
+            register(PermissionNames.WRITE_CALL_LOG, PermissionLists::getWriteCallLogPermission);
+            register(PermissionNames.ADD_VOICEMAIL, PermissionLists::getAddVoicemailPermission);
+            register(PermissionNames.USE_SIP, PermissionLists::getUseSipPermission);
+            register(PermissionNames.PROCESS_OUTGOING_CALLS, PermissionLists::getProcessOutgoingCallsPermission);
+            register(PermissionNames.BODY_SENSORS, PermissionLists::getBodySensorsPermission);
+            register(PermissionNames.SEND_SMS, PermissionLists::getSendSmsPermission);
+            register(PermissionNames.RECEIVE_SMS, PermissionLists::getReceiveSmsPermission);
+            register(PermissionNames.READ_SMS, PermissionLists::getReadSmsPermission);
+            register(PermissionNames.RECEIVE_WAP_PUSH, PermissionLists::getReceiveWapPushPermission);
+            register(PermissionNames.RECEIVE_MMS, PermissionLists::getReceiveMmsPermission);
+            register(PermissionNames.READ_HEALTH_DATA_IN_BACKGROUND, PermissionLists::getReadHealthDataInBackgroundPermission);
+            register(PermissionNames.READ_HEALTH_DATA_HISTORY, PermissionLists::getReadHealthDataHistoryPermission);
+            register(PermissionNames.READ_ACTIVE_CALORIES_BURNED, PermissionLists::getReadActiveCaloriesBurnedPermission);
+            register(PermissionNames.WRITE_ACTIVE_CALORIES_BURNED, PermissionLists::getWriteActiveCaloriesBurnedPermission);
+            register(PermissionNames.READ_ACTIVITY_INTENSITY, PermissionLists::getReadActivityIntensityPermission);
+            register(PermissionNames.WRITE_ACTIVITY_INTENSITY, PermissionLists::getWriteActivityIntensityPermission);
+            register(PermissionNames.READ_BASAL_BODY_TEMPERATURE, PermissionLists::getReadBasalBodyTemperaturePermission);
+            register(PermissionNames.WRITE_BASAL_BODY_TEMPERATURE, PermissionLists::getWriteBasalBodyTemperaturePermission);
+            register(PermissionNames.READ_BASAL_METABOLIC_RATE, PermissionLists::getReadBasalMetabolicRatePermission);
+            register(PermissionNames.WRITE_BASAL_METABOLIC_RATE, PermissionLists::getWriteBasalMetabolicRatePermission);
+            register(PermissionNames.READ_BLOOD_GLUCOSE, PermissionLists::getReadBloodGlucosePermission);
+            register(PermissionNames.WRITE_BLOOD_GLUCOSE, PermissionLists::getWriteBloodGlucosePermission);
+            register(PermissionNames.READ_BLOOD_PRESSURE, PermissionLists::getReadBloodPressurePermission);
+            register(PermissionNames.WRITE_BLOOD_PRESSURE, PermissionLists::getWriteBloodPressurePermission);
+            register(PermissionNames.READ_BODY_FAT, PermissionLists::getReadBodyFatPermission);
+            register(PermissionNames.WRITE_BODY_FAT, PermissionLists::getWriteBodyFatPermission);
+            register(PermissionNames.READ_BODY_TEMPERATURE, PermissionLists::getReadBodyTemperaturePermission);
+            register(PermissionNames.WRITE_BODY_TEMPERATURE, PermissionLists::getWriteBodyTemperaturePermission);
+            register(PermissionNames.READ_BODY_WATER_MASS, PermissionLists::getReadBodyWaterMassPermission);
+            register(PermissionNames.WRITE_BODY_WATER_MASS, PermissionLists::getWriteBodyWaterMassPermission);
+            register(PermissionNames.READ_BONE_MASS, PermissionLists::getReadBoneMassPermission);
+            register(PermissionNames.WRITE_BONE_MASS, PermissionLists::getWriteBoneMassPermission);
+            register(PermissionNames.READ_CERVICAL_MUCUS, PermissionLists::getReadCervicalMucusPermission);
+            register(PermissionNames.WRITE_CERVICAL_MUCUS, PermissionLists::getWriteCervicalMucusPermission);
+            register(PermissionNames.READ_DISTANCE, PermissionLists::getReadDistancePermission);
+            register(PermissionNames.WRITE_DISTANCE, PermissionLists::getWriteDistancePermission);
+            register(PermissionNames.READ_ELEVATION_GAINED, PermissionLists::getReadElevationGainedPermission);
+            register(PermissionNames.WRITE_ELEVATION_GAINED, PermissionLists::getWriteElevationGainedPermission);
+            register(PermissionNames.READ_EXERCISE, PermissionLists::getReadExercisePermission);
+            register(PermissionNames.WRITE_EXERCISE, PermissionLists::getWriteExercisePermission);
+            register(PermissionNames.READ_EXERCISE_ROUTES, PermissionLists::getReadExerciseRoutesPermission);
+            register(PermissionNames.WRITE_EXERCISE_ROUTE, PermissionLists::getWriteExerciseRoutePermission);
+            register(PermissionNames.READ_FLOORS_CLIMBED, PermissionLists::getReadFloorsClimbedPermission);
+            register(PermissionNames.WRITE_FLOORS_CLIMBED, PermissionLists::getWriteFloorsClimbedPermission);
+            register(PermissionNames.READ_HEART_RATE, PermissionLists::getReadHeartRatePermission);
+            register(PermissionNames.WRITE_HEART_RATE, PermissionLists::getWriteHeartRatePermission);
+            register(PermissionNames.READ_HEART_RATE_VARIABILITY, PermissionLists::getReadHeartRateVariabilityPermission);
+            register(PermissionNames.WRITE_HEART_RATE_VARIABILITY, PermissionLists::getWriteHeartRateVariabilityPermission);
+            register(PermissionNames.READ_HEIGHT, PermissionLists::getReadHeightPermission);
+            register(PermissionNames.WRITE_HEIGHT, PermissionLists::getWriteHeightPermission);
+            register(PermissionNames.READ_HYDRATION, PermissionLists::getReadHydrationPermission);
+            register(PermissionNames.WRITE_HYDRATION, PermissionLists::getWriteHydrationPermission);
+            register(PermissionNames.READ_INTERMENSTRUAL_BLEEDING, PermissionLists::getReadIntermenstrualBleedingPermission);
+            register(PermissionNames.WRITE_INTERMENSTRUAL_BLEEDING, PermissionLists::getWriteIntermenstrualBleedingPermission);
+            register(PermissionNames.READ_LEAN_BODY_MASS, PermissionLists::getReadLeanBodyMassPermission);
+            register(PermissionNames.WRITE_LEAN_BODY_MASS, PermissionLists::getWriteLeanBodyMassPermission);
+            register(PermissionNames.READ_MENSTRUATION, PermissionLists::getReadMenstruationPermission);
+            register(PermissionNames.WRITE_MENSTRUATION, PermissionLists::getWriteMenstruationPermission);
+            register(PermissionNames.READ_MINDFULNESS, PermissionLists::getReadMindfulnessPermission);
+            register(PermissionNames.WRITE_MINDFULNESS, PermissionLists::getWriteMindfulnessPermission);
+            register(PermissionNames.READ_NUTRITION, PermissionLists::getReadNutritionPermission);
+            register(PermissionNames.WRITE_NUTRITION, PermissionLists::getWriteNutritionPermission);
+            register(PermissionNames.READ_OVULATION_TEST, PermissionLists::getReadOvulationTestPermission);
+            register(PermissionNames.WRITE_OVULATION_TEST, PermissionLists::getWriteOvulationTestPermission);
+            register(PermissionNames.READ_OXYGEN_SATURATION, PermissionLists::getReadOxygenSaturationPermission);
+            register(PermissionNames.WRITE_OXYGEN_SATURATION, PermissionLists::getWriteOxygenSaturationPermission);
+            register(PermissionNames.READ_PLANNED_EXERCISE, PermissionLists::getReadPlannedExercisePermission);
+            register(PermissionNames.WRITE_PLANNED_EXERCISE, PermissionLists::getWritePlannedExercisePermission);
+            register(PermissionNames.READ_POWER, PermissionLists::getReadPowerPermission);
+            register(PermissionNames.WRITE_POWER, PermissionLists::getWritePowerPermission);
+            register(PermissionNames.READ_RESPIRATORY_RATE, PermissionLists::getReadRespiratoryRatePermission);
+            register(PermissionNames.WRITE_RESPIRATORY_RATE, PermissionLists::getWriteRespiratoryRatePermission);
+            register(PermissionNames.READ_RESTING_HEART_RATE, PermissionLists::getReadRestingHeartRatePermission);
+            register(PermissionNames.WRITE_RESTING_HEART_RATE, PermissionLists::getWriteRestingHeartRatePermission);
+            register(PermissionNames.READ_SEXUAL_ACTIVITY, PermissionLists::getReadSexualActivityPermission);
+            register(PermissionNames.WRITE_SEXUAL_ACTIVITY, PermissionLists::getWriteSexualActivityPermission);
+            register(PermissionNames.READ_SKIN_TEMPERATURE, PermissionLists::getReadSkinTemperaturePermission);
+            register(PermissionNames.WRITE_SKIN_TEMPERATURE, PermissionLists::getWriteSkinTemperaturePermission);
+            register(PermissionNames.READ_SLEEP, PermissionLists::getReadSleepPermission);
+            register(PermissionNames.WRITE_SLEEP, PermissionLists::getWriteSleepPermission);
+            register(PermissionNames.READ_SPEED, PermissionLists::getReadSpeedPermission);
+            register(PermissionNames.WRITE_SPEED, PermissionLists::getWriteSpeedPermission);
+            register(PermissionNames.READ_STEPS, PermissionLists::getReadStepsPermission);
+            register(PermissionNames.WRITE_STEPS, PermissionLists::getWriteStepsPermission);
+            register(PermissionNames.READ_TOTAL_CALORIES_BURNED, PermissionLists::getReadTotalCaloriesBurnedPermission);
+            register(PermissionNames.WRITE_TOTAL_CALORIES_BURNED, PermissionLists::getWriteTotalCaloriesBurnedPermission);
+            register(PermissionNames.READ_VO2_MAX, PermissionLists::getReadVo2MaxPermission);
+            register(PermissionNames.WRITE_VO2_MAX, PermissionLists::getWriteVo2MaxPermission);
+            register(PermissionNames.READ_WEIGHT, PermissionLists::getReadWeightPermission);
+            register(PermissionNames.WRITE_WEIGHT, PermissionLists::getWriteWeightPermission);
+            register(PermissionNames.READ_WHEELCHAIR_PUSHES, PermissionLists::getReadWheelchairPushesPermission);
+            register(PermissionNames.WRITE_WHEELCHAIR_PUSHES, PermissionLists::getWriteWheelchairPushesPermission);
+            register(PermissionNames.READ_MEDICAL_DATA_ALLERGIES_INTOLERANCES, PermissionLists::getReadMedicalDataAllergiesIntolerancesPermission);
+            register(PermissionNames.READ_MEDICAL_DATA_CONDITIONS, PermissionLists::getReadMedicalDataConditionsPermission);
+            register(PermissionNames.READ_MEDICAL_DATA_LABORATORY_RESULTS, PermissionLists::getReadMedicalDataLaboratoryResultsPermission);
+            register(PermissionNames.READ_MEDICAL_DATA_MEDICATIONS, PermissionLists::getReadMedicalDataMedicationsPermission);
+            register(PermissionNames.READ_MEDICAL_DATA_PERSONAL_DETAILS, PermissionLists::getReadMedicalDataPersonalDetailsPermission);
+            register(PermissionNames.READ_MEDICAL_DATA_PRACTITIONER_DETAILS, PermissionLists::getReadMedicalDataPractitionerDetailsPermission);
+            register(PermissionNames.READ_MEDICAL_DATA_PREGNANCY, PermissionLists::getReadMedicalDataPregnancyPermission);
+            register(PermissionNames.READ_MEDICAL_DATA_PROCEDURES, PermissionLists::getReadMedicalDataProceduresPermission);
+            register(PermissionNames.READ_MEDICAL_DATA_SOCIAL_HISTORY, PermissionLists::getReadMedicalDataSocialHistoryPermission);
+            register(PermissionNames.READ_MEDICAL_DATA_VACCINES, PermissionLists::getReadMedicalDataVaccinesPermission);
+            register(PermissionNames.READ_MEDICAL_DATA_VISITS, PermissionLists::getReadMedicalDataVisitsPermission);
+            register(PermissionNames.READ_MEDICAL_DATA_VITAL_SIGNS, PermissionLists::getReadMedicalDataVitalSignsPermission);
+            register(PermissionNames.WRITE_MEDICAL_DATA, PermissionLists::getWriteMedicalDataPermission);
+        }
+
+        private static void register(@NonNull String permissionName, @NonNull PermissionCreator permissionCreator) {
+            PERMISSION_CREATOR_ARRAY[PermissionNameIndex.indexOf(permissionName)] = permissionCreator;
+        }
+    }
 }
\ No newline at end of file
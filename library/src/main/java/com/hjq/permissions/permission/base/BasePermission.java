@@ -11,11 +11,13 @@ import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.annotation.RequiresApi;
 import com.hjq.permissions.manifest.AndroidManifestInfo;
+import com.hjq.permissions.manifest.AndroidManifestParser;
 import com.hjq.permissions.manifest.node.PermissionManifestInfo;
 import com.hjq.permissions.tools.PermissionVersion;
 import com.hjq.permissions.tools.PermissionSettingPage;
 import com.hjq.permissions.tools.PermissionUtils;
-import java.lang.reflect.Field;
+import com.hjq.permissions.tools.ReflectionCache;
+import com.hjq.permissions.tools.RequestedPermissionsSnapshot;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.List;
@@ -71,6 +73,12 @@ public abstract class BasePermission implements IPermission {
         return false;
     }
 
+    @Override
+    public boolean isPermissionSettingIntentsCacheable(@NonNull Context context) {
+        // 框架内置的权限设置页意图绝大多数只和设备、应用有关，个别和授予状态或者权限参数有关的权限会重写这个方法并返回 false
+        return true;
+    }
+
     @NonNull
     protected Uri getPackageNameUri(@NonNull Context context) {
         return PermissionUtils.getPackageNameUri(context);
@@ -96,6 +104,12 @@ public abstract class BasePermission implements IPermission {
         return PermissionSettingPage.getAndroidSettingsIntent();
     }
 
+    @Override
+    public int getRequiredManifestSections() {
+        // 默认只需要用到 uses-sdk、uses-permission、application 这些节点，如果子类还需要用到其他节点，需要重写这个方法
+        return AndroidManifestParser.SECTION_BASE;
+    }
+
     @Override
     public void checkCompliance(@NonNull Activity activity,
                                 @NonNull List<IPermission> requestList,
@@ -105,7 +119,7 @@ public abstract class BasePermission implements IPermission {
         // 检查 AndroidManifest.xml 是否符合要求
         if (manifestInfo != null) {
             List<PermissionManifestInfo> permissionInfoList = manifestInfo.permissionInfoList;
-            PermissionManifestInfo currentPermissionInfo = findPermissionInfoByList(permissionInfoList, getPermissionName());
+            PermissionManifestInfo currentPermissionInfo = manifestInfo.findPermissionInfo(getPermissionName());
             checkSelfByManifestFile(activity, requestList, manifestInfo, permissionInfoList, currentPermissionInfo);
         }
         // 检查请求的权限列表是否符合要求
@@ -164,6 +178,17 @@ public abstract class BasePermission implements IPermission {
         checkPermissionRegistrationStatus(permissionInfo, checkPermission, PermissionManifestInfo.DEFAULT_MAX_SDK_VERSION);
     }
 
+    protected static void checkPermissionRegistrationStatus(@NonNull AndroidManifestInfo manifestInfo,
+                                                            @NonNull String checkPermission) {
+        checkPermissionRegistrationStatus(manifestInfo, checkPermission, PermissionManifestInfo.DEFAULT_MAX_SDK_VERSION);
+    }
+
+    protected static void checkPermissionRegistrationStatus(@NonNull AndroidManifestInfo manifestInfo,
+                                                            @NonNull String checkPermission,
+                                                            int lowestMaxSdkVersion) {
+        checkPermissionRegistrationStatus(manifestInfo.findPermissionInfo(checkPermission), checkPermission, lowestMaxSdkVersion);
+    }
+
     protected static void checkPermissionRegistrationStatus(@Nullable List<PermissionManifestInfo> permissionInfoList,
                                                             @NonNull String checkPermission) {
         checkPermissionRegistrationStatus(permissionInfoList, checkPermission, PermissionManifestInfo.DEFAULT_MAX_SDK_VERSION);
@@ -245,6 +270,11 @@ public abstract class BasePermission implements IPermission {
      */
     @RequiresApi(PermissionVersion.ANDROID_6)
     public static boolean checkSelfPermission(@NonNull Context context, @NonNull String permission) {
+        // 如果当前处于批量查询的过程中，优先从快照中获取，这样可以避免每个权限都走一次 Binder 调用
+        Boolean grantedState = RequestedPermissionsSnapshot.getGrantedState(permission);
+        if (grantedState != null) {
+            return grantedState;
+        }
         return context.checkSelfPermission(permission) == PackageManager.PERMISSION_GRANTED;
     }
 
@@ -263,10 +293,12 @@ public abstract class BasePermission implements IPermission {
                 // 另外针对这个问题，我还给谷歌的 AndroidX 项目无偿提供了解决方案，目前 Merge Request 已被合入主分支
                 // 我相信通过这一举措，将解决全球近 10 亿台 Android 12 设备出现的内存泄露问题
                 // Pull Request 地址：https://github.com/androidx/androidx/pull/435
-                PackageManager packageManager = activity.getApplication().getPackageManager();
-                Method method = PackageManager.class.getMethod("shouldShowRequestPermissionRationale", String.class);
-                return (boolean) method.invoke(packageManager, permission);
-            } catch (NoSuchMethodException | InvocationTargetException | IllegalAccessException e) {
+                Method method = ShouldShowRequestPermissionRationaleMethodHolder.METHOD;
+                if (method != null) {
+                    PackageManager packageManager = activity.getApplication().getPackageManager();
+                    return (boolean) method.invoke(packageManager, permission);
+                }
+            } catch (InvocationTargetException | IllegalAccessException e) {
                 e.printStackTrace();
             }
         }
@@ -356,16 +388,13 @@ public abstract class BasePermission implements IPermission {
         if (appOpsManager == null) {
             return MODE_UNKNOWN;
         }
+        // 反射获取到的字段和方法都会被缓存起来，这样就不用每次判断权限的时候都要反射一遍
+        Method checkOpNoThrowMethod = CheckOpNoThrowMethodHolder.METHOD;
+        if (checkOpNoThrowMethod == null) {
+            return MODE_UNKNOWN;
+        }
+        int opValue = ReflectionCache.getStaticIntField(AppOpsManager.class, opName, opDefaultValue);
         try {
-            Class<?> appOpsClass = Class.forName(AppOpsManager.class.getName());
-            int opValue;
-            try {
-                Field opField = appOpsClass.getDeclaredField(opName);
-                opValue = (int) opField.get(Integer.class);
-            } catch (NoSuchFieldException e) {
-                opValue = opDefaultValue;
-            }
-            Method checkOpNoThrowMethod = appOpsClass.getMethod("checkOpNoThrow", Integer.TYPE, Integer.TYPE, String.class);
             return ((int) checkOpNoThrowMethod.invoke(appOpsManager, opValue, context.getApplicationInfo().uid, context.getPackageName()));
         } catch (Exception e) {
             e.printStackTrace();
@@ -380,14 +409,28 @@ public abstract class BasePermission implements IPermission {
      */
     @RequiresApi(PermissionVersion.ANDROID_4_4)
     public static boolean isExistOpPermission(String opName) {
-        try {
-            Class<?> appOpsClass = Class.forName(AppOpsManager.class.getName());
-            appOpsClass.getDeclaredField(opName);
-            // 证明有这个字段，返回 true
-            return true;
-        } catch (Exception ignored) {
-            // default implementation ignored
-            return false;
-        }
+        // 如果有这个字段，证明存在这个 Op 权限
+        return ReflectionCache.getDeclaredField(AppOpsManager.class, opName) != null;
+    }
+
+    /**
+     * AppOpsManager.checkOpNoThrow 方法的持有类（利用类的延迟加载机制，在第一次用到的时候才会去反射，并且只会反射一次）
+     */
+    @RequiresApi(PermissionVersion.ANDROID_4_4)
+    private static final class CheckOpNoThrowMethodHolder {
+
+        @Nullable
+        private static final Method METHOD = ReflectionCache.getMethod(AppOpsManager.class,
+            "checkOpNoThrow", Integer.TYPE, Integer.TYPE, String.class);
+    }
+
+    /**
+     * PackageManager.shouldShowRequestPermissionRationale 方法的持有类（只有 Android 12 才会用到）
+     */
+    private static final class ShouldShowRequestPermissionRationaleMethodHolder {
+
+        @Nullable
+        private static final Method METHOD = ReflectionCache.getMethod(PackageManager.class,
+            "shouldShowRequestPermissionRationale", String.class);
     }
 }
\ No newline at end of file
@@ -3,10 +3,12 @@ package com.hjq.permissions.permission.base;
 import android.app.Activity;
 import android.content.Context;
 import android.content.Intent;
+import android.net.Uri;
 import android.os.Parcelable;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import com.hjq.permissions.manifest.AndroidManifestInfo;
+import com.hjq.permissions.manifest.AndroidManifestParser;
 import com.hjq.permissions.permission.PermissionPageType;
 import com.hjq.permissions.permission.PermissionChannel;
 import com.hjq.permissions.tools.PermissionVersion;
@@ -118,6 +120,15 @@ public interface IPermission extends Parcelable {
      */
     boolean isGrantedPermission(@NonNull Context context, boolean skipRequest);
 
+    /**
+     * 当前权限的授予状态是否能直接通过系统返回的授权结果（onRequestPermissionsResult 中的 grantResults）得出
+     *
+     * 如果返回 false，框架会在权限请求结束后调用 {@link #isGrantedPermission(Context, boolean)} 重新查询一次
+     */
+    default boolean isGrantResultReliable(@NonNull Context context) {
+        return false;
+    }
+
     /**
      * 判断当前权限是否被用户勾选了《不再询问的选项》
      */
@@ -146,19 +157,49 @@ public interface IPermission extends Parcelable {
     List<Intent> getPermissionSettingIntents(@NonNull Context context, boolean skipRequest);
 
     /**
-     * 获取权限请求的间隔时间
+     * 当前权限的设置页意图是否可以缓存（只有意图和授予状态、权限参数都无关的情况下才能缓存）
+     */
+    default boolean isPermissionSettingIntentsCacheable(@NonNull Context context) {
+        return false;
+    }
+
+    /**
+     * 获取权限请求的最长间隔时间（在这段时间内只要检测到已经可以发起权限请求，就会立即发起，不会一直等到超时）
      */
     default int getRequestIntervalTime(@NonNull Context context) {
         return 0;
     }
 
     /**
-     * 获取处理权限结果的等待时间
+     * 获取处理权限结果的最长等待时间（在这段时间内只要检测到权限已经授予，就会立即处理权限结果，不会一直等到超时）
      */
     default int getResultWaitTime(@NonNull Context context) {
         return 0;
     }
 
+    /**
+     * 获取可以监听当前权限授予状态变化的 AppOps 操作名称（对应 AppOpsManager.OPSTR_XXX 常量），返回空表示不支持通过 AppOps 监听
+     */
+    @Nullable
+    default String getObserveAppOpName(@NonNull Context context) {
+        return null;
+    }
+
+    /**
+     * 获取可以监听当前权限授予状态变化的系统设置项 Uri，返回空表示不支持通过系统设置项监听
+     */
+    @Nullable
+    default Uri getObserveSettingUri(@NonNull Context context) {
+        return null;
+    }
+
+    /**
+     * 获取检查权限是否合规时需要用到的清单文件节点类型（对应 AndroidManifestParser.SECTION_XXX 常量的组合）
+     */
+    default int getRequiredManifestSections() {
+        return AndroidManifestParser.SECTION_ALL;
+    }
+
     /**
      * 检查权限请求是否合规
      */
@@ -11,6 +11,7 @@ import com.hjq.permissions.permission.PermissionPageType;
 import com.hjq.permissions.permission.PermissionChannel;
 import com.hjq.permissions.permission.base.BasePermission;
 import com.hjq.permissions.tools.PermissionSettingPage;
+import com.hjq.permissions.tools.PermissionUtils;
 import com.hjq.permissions.tools.PermissionVersion;
 import java.util.ArrayList;
 import java.util.List;
@@ -69,6 +70,19 @@ public abstract class DangerousPermission extends BasePermission {
         return true;
     }
 
+    @Override
+    public boolean isGrantResultReliable(@NonNull Context context) {
+        if (!PermissionVersion.isAndroid6()) {
+            return false;
+        }
+        // 如果权限是在旧系统上面运行，授予状态需要通过其他权限来推导，不能直接使用系统返回的授权结果
+        if (getFromAndroidVersion(context) > PermissionVersion.getCurrentVersion()) {
+            return false;
+        }
+        // 如果请求时的权限名称和当前权限的名称不一致（例如 One UI 上面的读取应用列表权限），系统返回的授权结果不能代表当前权限
+        return PermissionUtils.equalsPermission(getPermissionName(), getRequestPermissionName(context));
+    }
+
     @Override
     public boolean isDoNotAskAgainPermission(@NonNull Activity activity) {
         // 判断权限是不是在旧系统上面运行（权限出现的版本 > 当前系统的版本）
@@ -125,6 +125,12 @@ public final class AccessBackgroundLocationPermission extends DangerousPermissio
         return super.isGrantedPermissionByStandardVersion(context, skipRequest);
     }
 
+    @Override
+    public boolean isGrantResultReliable(@NonNull Context context) {
+        // 授予状态还依赖前台定位权限，不能直接使用系统返回的授权结果
+        return false;
+    }
+
     @Override
     protected boolean isGrantedPermissionByLowVersion(@NonNull Context context, boolean skipRequest) {
         return PermissionLists.getAccessFineLocationPermission().isGrantedPermission(context, skipRequest);
@@ -176,10 +182,10 @@ public final class AccessBackgroundLocationPermission extends DangerousPermissio
         // ACCESS_FINE_LOCATION must be requested with ACCESS_COARSE_LOCATION
         // 官方适配文档：https://developer.android.google.cn/develop/sensors-and-location/location/permissions/runtime?hl=zh-cn#approximate-request
         if (PermissionVersion.getTargetVersion(activity) >= PermissionVersion.ANDROID_12) {
-            checkPermissionRegistrationStatus(permissionInfoList, PermissionNames.ACCESS_COARSE_LOCATION);
-            checkPermissionRegistrationStatus(permissionInfoList, PermissionNames.ACCESS_FINE_LOCATION);
+            checkPermissionRegistrationStatus(manifestInfo, PermissionNames.ACCESS_COARSE_LOCATION);
+            checkPermissionRegistrationStatus(manifestInfo, PermissionNames.ACCESS_FINE_LOCATION);
         } else {
-            checkPermissionRegistrationStatus(permissionInfoList, PermissionNames.ACCESS_FINE_LOCATION);
+            checkPermissionRegistrationStatus(manifestInfo, PermissionNames.ACCESS_FINE_LOCATION);
         }
     }
 
@@ -62,6 +62,12 @@ public final class AccessMediaLocationPermission extends DangerousPermission {
                 super.isGrantedPermissionByStandardVersion(context, skipRequest);
     }
 
+    @Override
+    public boolean isGrantResultReliable(@NonNull Context context) {
+        // 授予状态还依赖读取媒体权限，不能直接使用系统返回的授权结果
+        return false;
+    }
+
     @Override
     protected boolean isGrantedPermissionByLowVersion(@NonNull Context context, boolean skipRequest) {
         return PermissionLists.getReadExternalStoragePermission().isGrantedPermission(context, skipRequest);
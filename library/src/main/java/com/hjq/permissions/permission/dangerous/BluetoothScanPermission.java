@@ -101,9 +101,9 @@ public final class BluetoothScanPermission extends DangerousPermission {
         super.checkSelfByManifestFile(activity, requestList, manifestInfo, permissionInfoList, currentPermissionInfo);
         // 如果权限出现的版本小于 minSdkVersion，则证明该权限可能会在旧系统上面申请，需要在 AndroidManifest.xml 文件注册一下旧版权限
         if (getFromAndroidVersion(activity) > getMinSdkVersion(activity, manifestInfo)) {
-            checkPermissionRegistrationStatus(permissionInfoList, Manifest.permission.BLUETOOTH_ADMIN, PermissionVersion.ANDROID_11);
+            checkPermissionRegistrationStatus(manifestInfo, Manifest.permission.BLUETOOTH_ADMIN, PermissionVersion.ANDROID_11);
             // 这是 Android 12 之前遗留的问题，获取扫描蓝牙的结果需要精确定位权限
-            checkPermissionRegistrationStatus(permissionInfoList, PermissionNames.ACCESS_FINE_LOCATION, PermissionVersion.ANDROID_11);
+            checkPermissionRegistrationStatus(manifestInfo, PermissionNames.ACCESS_FINE_LOCATION, PermissionVersion.ANDROID_11);
         }
 
         // 如果请求的权限已经包含了精确定位权限，就跳过检查
@@ -97,6 +97,12 @@ public final class BodySensorsBackgroundPermission extends DangerousPermission {
         return super.isGrantedPermissionByStandardVersion(context, skipRequest);
     }
 
+    @Override
+    public boolean isGrantResultReliable(@NonNull Context context) {
+        // 授予状态还依赖前台传感器权限，不能直接使用系统返回的授权结果
+        return false;
+    }
+
     @Override
     protected boolean isGrantedPermissionByLowVersion(@NonNull Context context, boolean skipRequest) {
         return PermissionLists.getBodySensorsPermission().isGrantedPermission(context, skipRequest);
@@ -132,7 +138,7 @@ public final class BodySensorsBackgroundPermission extends DangerousPermission {
                                             @Nullable PermissionManifestInfo currentPermissionInfo) {
         super.checkSelfByManifestFile(activity, requestList, manifestInfo, permissionInfoList, currentPermissionInfo);
         // 申请后台的传感器权限必须要先注册前台的传感器权限
-        checkPermissionRegistrationStatus(permissionInfoList, PermissionNames.BODY_SENSORS);
+        checkPermissionRegistrationStatus(manifestInfo, PermissionNames.BODY_SENSORS);
     }
 
     @Override
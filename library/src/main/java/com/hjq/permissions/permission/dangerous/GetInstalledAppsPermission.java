@@ -140,6 +140,12 @@ public final class GetInstalledAppsPermission extends DangerousPermission {
         return true;
     }
 
+    @Override
+    public boolean isGrantResultReliable(@NonNull Context context) {
+        // 读取应用列表权限在不同厂商的系统上面有不同的判断方式，不能直接使用系统返回的授权结果
+        return false;
+    }
+
     @Override
     public boolean isDoNotAskAgainPermission(@NonNull Activity activity) {
         if (PermissionVersion.isAndroid6() && (isSupportRequestPermissionBySystem(activity) || isSupportRequestPermissionByOneUi(activity))) {
@@ -194,7 +200,7 @@ public final class GetInstalledAppsPermission extends DangerousPermission {
                                            @Nullable PermissionManifestInfo currentPermissionInfo) {
         super.checkSelfByManifestFile(activity, requestList, manifestInfo, permissionInfoList, currentPermissionInfo);
         // 经过在三星的手机上面的测试，发现不需要在清单文件添加 com.samsung.android.permission.GET_APP_LIST 也能申请成功并且成功读取到应用列表
-        // PermissionManifestInfo oneUiGetAppListPermission = findPermissionInfoByList(permissionInfoList, ONE_UI_GET_APP_LIST_PERMISSION_NAME);
+        // PermissionManifestInfo oneUiGetAppListPermission = manifestInfo.findPermissionInfo(ONE_UI_GET_APP_LIST_PERMISSION_NAME);
         // checkPermissionRegistrationStatus(oneUiGetAppListPermission, ONE_UI_GET_APP_LIST_PERMISSION_NAME, PermissionManifestInfo.DEFAULT_MAX_SDK_VERSION);
 
         // 当前 targetSdk 必须大于 Android 11，否则停止检查
@@ -209,7 +215,7 @@ public final class GetInstalledAppsPermission extends DangerousPermission {
             queryAllPackagesPermissionName = "android.permission.QUERY_ALL_PACKAGES";
         }
 
-        PermissionManifestInfo permissionInfo = findPermissionInfoByList(permissionInfoList, queryAllPackagesPermissionName);
+        PermissionManifestInfo permissionInfo = manifestInfo.findPermissionInfo(queryAllPackagesPermissionName);
         if (permissionInfo != null || !manifestInfo.queriesPackageList.isEmpty()) {
             return;
         }
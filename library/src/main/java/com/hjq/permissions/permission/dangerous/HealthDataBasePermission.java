@@ -8,6 +8,7 @@ import android.os.Parcel;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import com.hjq.permissions.manifest.AndroidManifestInfo;
+import com.hjq.permissions.manifest.AndroidManifestParser;
 import com.hjq.permissions.manifest.node.ActivityManifestInfo;
 import com.hjq.permissions.manifest.node.IntentFilterManifestInfo;
 import com.hjq.permissions.manifest.node.PermissionManifestInfo;
@@ -87,6 +88,12 @@ public abstract class HealthDataBasePermission extends DangerousPermission {
         return intentList;
     }
 
+    @Override
+    public int getRequiredManifestSections() {
+        // 需要检查有没有 Activity 注册了健康隐私政策页面的意图
+        return super.getRequiredManifestSections() | AndroidManifestParser.SECTION_ACTIVITY;
+    }
+
     @Override
     protected void checkSelfByManifestFile(@NonNull Activity activity,
                                            @NonNull List<IPermission> requestList,
@@ -74,6 +74,12 @@ public final class PostNotificationsPermission extends DangerousPermission {
         return PermissionLists.getNotificationServicePermission().isDoNotAskAgainPermission(activity);
     }
 
+    @Override
+    public boolean isPermissionSettingIntentsCacheable(@NonNull Context context) {
+        // 设置页意图是通过通知栏权限获取的，而通知栏权限的设置页意图不能缓存
+        return false;
+    }
+
     @NonNull
     @Override
     public List<Intent> getPermissionSettingIntents(@NonNull Context context, boolean skipRequest) {
@@ -7,6 +7,7 @@ import android.os.Parcelable;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import com.hjq.permissions.manifest.AndroidManifestInfo;
+import com.hjq.permissions.manifest.AndroidManifestParser;
 import com.hjq.permissions.manifest.node.ApplicationManifestInfo;
 import com.hjq.permissions.manifest.node.MetaDataManifestInfo;
 import com.hjq.permissions.manifest.node.PermissionManifestInfo;
@@ -79,6 +80,12 @@ public final class ReadExternalStoragePermission extends DangerousPermission {
         return super.isGrantedPermissionByStandardVersion(context, skipRequest);
     }
 
+    @Override
+    public boolean isGrantResultReliable(@NonNull Context context) {
+        // 在 Android 13 及以上版本会根据媒体权限推导授予状态，不能直接使用系统返回的授权结果
+        return false;
+    }
+
     @Override
     protected boolean isDoNotAskAgainPermissionByStandardVersion(@NonNull Activity activity) {
         if (PermissionVersion.isAndroid13() && PermissionVersion.getTargetVersion(activity) >= PermissionVersion.ANDROID_13) {
@@ -89,6 +96,12 @@ public final class ReadExternalStoragePermission extends DangerousPermission {
         return super.isDoNotAskAgainPermissionByStandardVersion(activity);
     }
 
+    @Override
+    public int getRequiredManifestSections() {
+        // 需要检查 application 节点下面有没有注册适配分区存储的 meta-data
+        return super.getRequiredManifestSections() | AndroidManifestParser.SECTION_APPLICATION_META_DATA;
+    }
+
     @Override
     protected void checkSelfByManifestFile(@NonNull Activity activity,
                                             @NonNull List<IPermission> requestList,
@@ -84,6 +84,12 @@ public final class ReadMediaImagesPermission extends DangerousPermission {
         return super.isGrantedPermissionByStandardVersion(context, skipRequest);
     }
 
+    @Override
+    public boolean isGrantResultReliable(@NonNull Context context) {
+        // 在 Android 14 上面用户可能只授权了部分图片，不能直接使用系统返回的授权结果
+        return false;
+    }
+
     @Override
     protected boolean isGrantedPermissionByLowVersion(@NonNull Context context, boolean skipRequest) {
         return PermissionLists.getReadExternalStoragePermission().isGrantedPermission(context, skipRequest);
@@ -103,7 +109,7 @@ public final class ReadMediaImagesPermission extends DangerousPermission {
         super.checkSelfByManifestFile(activity, requestList, manifestInfo, permissionInfoList, currentPermissionInfo);
         // 如果权限出现的版本小于 minSdkVersion，则证明该权限可能会在旧系统上面申请，需要在 AndroidManifest.xml 文件注册一下旧版权限
         if (getFromAndroidVersion(activity) > getMinSdkVersion(activity, manifestInfo)) {
-            checkPermissionRegistrationStatus(permissionInfoList, PermissionNames.READ_EXTERNAL_STORAGE, PermissionVersion.ANDROID_12_L);
+            checkPermissionRegistrationStatus(manifestInfo, PermissionNames.READ_EXTERNAL_STORAGE, PermissionVersion.ANDROID_12_L);
         }
     }
 
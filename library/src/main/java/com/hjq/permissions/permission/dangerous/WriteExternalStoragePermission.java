@@ -8,6 +8,7 @@ import android.os.Parcelable;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import com.hjq.permissions.manifest.AndroidManifestInfo;
+import com.hjq.permissions.manifest.AndroidManifestParser;
 import com.hjq.permissions.manifest.node.ApplicationManifestInfo;
 import com.hjq.permissions.manifest.node.MetaDataManifestInfo;
 import com.hjq.permissions.manifest.node.PermissionManifestInfo;
@@ -92,6 +93,12 @@ public final class WriteExternalStoragePermission extends DangerousPermission {
         return super.isGrantedPermissionByStandardVersion(context, skipRequest);
     }
 
+    @Override
+    public boolean isGrantResultReliable(@NonNull Context context) {
+        // 在 Android 11 及以上版本会根据 targetSdk 推导授予状态，不能直接使用系统返回的授权结果
+        return false;
+    }
+
     @Override
     protected boolean isDoNotAskAgainPermissionByStandardVersion(@NonNull Activity activity) {
         if (PermissionVersion.isAndroid11() && PermissionVersion.getTargetVersion(activity) >= PermissionVersion.ANDROID_11) {
@@ -112,6 +119,12 @@ public final class WriteExternalStoragePermission extends DangerousPermission {
         return false;
     }
 
+    @Override
+    public int getRequiredManifestSections() {
+        // 需要检查 application 节点下面有没有注册适配分区存储的 meta-data
+        return super.getRequiredManifestSections() | AndroidManifestParser.SECTION_APPLICATION_META_DATA;
+    }
+
     @Override
     protected void checkSelfByManifestFile(@NonNull Activity activity,
                                             @NonNull List<IPermission> requestList,
@@ -126,21 +139,21 @@ public final class WriteExternalStoragePermission extends DangerousPermission {
 
         // 如果当前 targetSdk 版本比较低，甚至还没有到分区存储的版本，就直接跳过后面的检查，只检查当前权限有没有在清单文件中静态注册
         if (PermissionVersion.getTargetVersion(activity) < PermissionVersion.ANDROID_10) {
-            checkPermissionRegistrationStatus(permissionInfoList, getPermissionName());
+            checkPermissionRegistrationStatus(manifestInfo, getPermissionName());
             return;
         }
 
         // 判断：当前项目是否适配了Android 11，并且还在清单文件中是否注册了 MANAGE_EXTERNAL_STORAGE 权限
         if (PermissionVersion.getTargetVersion(activity) >= PermissionVersion.ANDROID_11 &&
-            findPermissionInfoByList(permissionInfoList, PermissionNames.MANAGE_EXTERNAL_STORAGE) != null) {
+            manifestInfo.findPermissionInfo(PermissionNames.MANAGE_EXTERNAL_STORAGE) != null) {
             // 如果有的话，那么 maxSdkVersion 就必须是 Android 10 及以上的版本
-            checkPermissionRegistrationStatus(permissionInfoList, getPermissionName(), PermissionVersion.ANDROID_10);
+            checkPermissionRegistrationStatus(manifestInfo, getPermissionName(), PermissionVersion.ANDROID_10);
         } else {
             // 检查这个权限有没有在清单文件中注册，WRITE_EXTERNAL_STORAGE 权限比较特殊，要单独拎出来判断
             // 如果在清单文件中注册了 android:requestLegacyExternalStorage="true" 属性，即可延长一个 Android 版本适配
             // 所以 requestLegacyExternalStorage 属性在开启的状态下，对 maxSdkVersion 属性的要求延长一个版本
             checkPermissionRegistrationStatus(
-                permissionInfoList, getPermissionName(), applicationInfo.requestLegacyExternalStorage ?
+                manifestInfo, getPermissionName(), applicationInfo.requestLegacyExternalStorage ?
                                                         PermissionVersion.ANDROID_10 : PermissionVersion.ANDROID_9);
         }
 
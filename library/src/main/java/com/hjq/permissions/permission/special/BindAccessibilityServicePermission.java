@@ -2,15 +2,16 @@ package com.hjq.permissions.permission.special;
 
 import android.accessibilityservice.AccessibilityService;
 import android.app.Activity;
-import android.content.ComponentName;
 import android.content.Context;
 import android.content.Intent;
+import android.net.Uri;
 import android.os.Parcel;
 import android.provider.Settings;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import android.text.TextUtils;
 import com.hjq.permissions.manifest.AndroidManifestInfo;
+import com.hjq.permissions.manifest.AndroidManifestParser;
 import com.hjq.permissions.manifest.node.IntentFilterManifestInfo;
 import com.hjq.permissions.manifest.node.MetaDataManifestInfo;
 import com.hjq.permissions.manifest.node.PermissionManifestInfo;
@@ -20,6 +21,7 @@ import com.hjq.permissions.permission.base.IPermission;
 import com.hjq.permissions.permission.common.SpecialPermission;
 import com.hjq.permissions.tools.PermissionUtils;
 import com.hjq.permissions.tools.PermissionVersion;
+import com.hjq.permissions.tools.SecureSettingComponentIndex;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
@@ -83,33 +85,19 @@ public final class BindAccessibilityServicePermission extends SpecialPermission
 
     @Override
     public boolean isGrantedPermission(@NonNull Context context, boolean skipRequest) {
-        final String enabledNotificationListeners = Settings.Secure.getString(context.getContentResolver(), Settings.Secure.ENABLED_ACCESSIBILITY_SERVICES);
-        if (TextUtils.isEmpty(enabledNotificationListeners)) {
-            return false;
+        SecureSettingComponentIndex componentIndex = SecureSettingComponentIndex.get(context, Settings.Secure.ENABLED_ACCESSIBILITY_SERVICES);
+        if (PermissionUtils.isClassExist(mAccessibilityServiceClassName)) {
+            // 精准匹配：匹配应用包名及 Service 类名
+            return componentIndex.containsComponent(context.getPackageName(), mAccessibilityServiceClassName);
         }
+        // 模糊匹配：仅匹配应用包名
+        return componentIndex.containsPackage(context.getPackageName());
+    }
 
-        String serviceClassName = PermissionUtils.isClassExist(mAccessibilityServiceClassName) ? mAccessibilityServiceClassName : null;
-        // hello.litiaotiao.app/hello.litiaotiao.app.LttService:com.hjq.permissions.demo/com.hjq.permissions.demo.DemoAccessibilityService
-        final String[] allComponentNameArray = enabledNotificationListeners.split(":");
-        for (String component : allComponentNameArray) {
-            ComponentName componentName = ComponentName.unflattenFromString(component);
-            if (componentName == null) {
-                continue;
-            }
-            if (serviceClassName != null) {
-                // 精准匹配：匹配应用包名及 Service 类名
-                if (context.getPackageName().equals(componentName.getPackageName()) &&
-                    serviceClassName.equals(componentName.getClassName())) {
-                    return true;
-                }
-            } else {
-                // 模糊匹配：仅匹配应用包名
-                if (context.getPackageName().equals(componentName.getPackageName())) {
-                    return true;
-                }
-            }
-        }
-        return false;
+    @Nullable
+    @Override
+    public Uri getObserveSettingUri(@NonNull Context context) {
+        return Settings.Secure.getUriFor(Settings.Secure.ENABLED_ACCESSIBILITY_SERVICES);
     }
 
     @NonNull
@@ -136,6 +124,12 @@ public final class BindAccessibilityServicePermission extends SpecialPermission
         }
     }
 
+    @Override
+    public int getRequiredManifestSections() {
+        // 需要检查无障碍服务有没有在清单文件中注册
+        return super.getRequiredManifestSections() | AndroidManifestParser.SECTION_SERVICE;
+    }
+
     @Override
     protected void checkSelfByManifestFile(@NonNull Activity activity,
                                             @NonNull List<IPermission> requestList,
@@ -144,72 +138,59 @@ public final class BindAccessibilityServicePermission extends SpecialPermission
                                             @Nullable PermissionManifestInfo currentPermissionInfo) {
         super.checkSelfByManifestFile(activity, requestList, manifestInfo, permissionInfoList, currentPermissionInfo);
 
-        List<ServiceManifestInfo> serviceInfoList = manifestInfo.serviceInfoList;
-        for (ServiceManifestInfo serviceInfo : serviceInfoList) {
-
-            if (serviceInfo == null) {
-                continue;
-            }
-
-            if (!PermissionUtils.reverseEqualsString(mAccessibilityServiceClassName, serviceInfo.name)) {
-                // 不是目标的 Service，继续循环
-                continue;
-            }
+        ServiceManifestInfo serviceInfo = manifestInfo.findServiceInfo(mAccessibilityServiceClassName);
+        if (serviceInfo == null) {
+            // 这个 Service 组件没有在清单文件中注册
+            throw new IllegalArgumentException("The \"" + mAccessibilityServiceClassName + "\" component is not registered in the AndroidManifest.xml file");
+        }
 
-            if (serviceInfo.permission == null || !PermissionUtils.equalsPermission(this, serviceInfo.permission)) {
-                // 这个 Service 组件注册的 permission 节点为空或者错误
-                throw new IllegalArgumentException("Please register permission node in the AndroidManifest.xml file, for example: "
-                    + "<service android:name=\"" + mAccessibilityServiceClassName + "\" android:permission=\"" + getPermissionName() + "\" />");
-            }
+        if (serviceInfo.permission == null || !PermissionUtils.equalsPermission(this, serviceInfo.permission)) {
+            // 这个 Service 组件注册的 permission 节点为空或者错误
+            throw new IllegalArgumentException("Please register permission node in the AndroidManifest.xml file, for example: "
+                + "<service android:name=\"" + mAccessibilityServiceClassName + "\" android:permission=\"" + getPermissionName() + "\" />");
+        }
 
-            String action = "android.accessibilityservice.AccessibilityService";
-            // 当前是否注册了无障碍服务的意图
-            boolean registeredAccessibilityServiceAction = false;
-            List<IntentFilterManifestInfo> intentFilterInfoList = serviceInfo.intentFilterInfoList;
-            if (intentFilterInfoList != null) {
-                for (IntentFilterManifestInfo intentFilterInfo : intentFilterInfoList) {
-                    if (intentFilterInfo.actionList.contains(action)) {
-                        registeredAccessibilityServiceAction = true;
-                        break;
-                    }
+        String action = "android.accessibilityservice.AccessibilityService";
+        // 当前是否注册了无障碍服务的意图
+        boolean registeredAccessibilityServiceAction = false;
+        List<IntentFilterManifestInfo> intentFilterInfoList = serviceInfo.intentFilterInfoList;
+        if (intentFilterInfoList != null) {
+            for (IntentFilterManifestInfo intentFilterInfo : intentFilterInfoList) {
+                if (intentFilterInfo.actionList.contains(action)) {
+                    registeredAccessibilityServiceAction = true;
+                    break;
                 }
             }
+        }
 
-            if (!registeredAccessibilityServiceAction) {
-                String xmlCode = "\t\t<intent-filter>\n"
-                               + "\t\t    <action android:name=\"" + action + "\" />\n"
-                               + "\t\t</intent-filter>";
-                throw new IllegalArgumentException("Please add an intent filter for \"" + mAccessibilityServiceClassName +
-                                                    "\" in the AndroidManifest.xml file.\n" + xmlCode);
-            }
+        if (!registeredAccessibilityServiceAction) {
+            String xmlCode = "\t\t<intent-filter>\n"
+                           + "\t\t    <action android:name=\"" + action + "\" />\n"
+                           + "\t\t</intent-filter>";
+            throw new IllegalArgumentException("Please add an intent filter for \"" + mAccessibilityServiceClassName +
+                                                "\" in the AndroidManifest.xml file.\n" + xmlCode);
+        }
 
-            String metaDataName = AccessibilityService.SERVICE_META_DATA;
-            // 当前是否注册了无障碍服务的 MetaData
-            boolean registeredAccessibilityServiceMetaData = false;
-            List<MetaDataManifestInfo> metaDataInfoList = serviceInfo.metaDataInfoList;
-            if (metaDataInfoList != null) {
-                for (MetaDataManifestInfo metaDataInfo : metaDataInfoList) {
-                    if (metaDataName.equals(metaDataInfo.name) && metaDataInfo.resource != 0) {
-                        registeredAccessibilityServiceMetaData = true;
-                        break;
-                    }
+        String metaDataName = AccessibilityService.SERVICE_META_DATA;
+        // 当前是否注册了无障碍服务的 MetaData
+        boolean registeredAccessibilityServiceMetaData = false;
+        List<MetaDataManifestInfo> metaDataInfoList = serviceInfo.metaDataInfoList;
+        if (metaDataInfoList != null) {
+            for (MetaDataManifestInfo metaDataInfo : metaDataInfoList) {
+                if (metaDataName.equals(metaDataInfo.name) && metaDataInfo.resource != 0) {
+                    registeredAccessibilityServiceMetaData = true;
+                    break;
                 }
             }
-
-            if (!registeredAccessibilityServiceMetaData) {
-                String xmlCode = "\t\t<meta-data>\n"
-                               + "\t\t    android:name=\"" + metaDataName + "\"\n"
-                               + "\t\t    android:resource=\"@xml/accessibility_service_config" + "\""+ " />";
-                throw new IllegalArgumentException("Please add an meta data for \"" + mAccessibilityServiceClassName +
-                                                   "\" in the AndroidManifest.xml file.\n" + xmlCode);
-            }
-
-            // 符合要求，中断所有的循环并返回，避免走到后面的抛异常代码
-            return;
         }
 
-        // 这个 Service 组件没有在清单文件中注册
-        throw new IllegalArgumentException("The \"" + mAccessibilityServiceClassName + "\" component is not registered in the AndroidManifest.xml file");
+        if (!registeredAccessibilityServiceMetaData) {
+            String xmlCode = "\t\t<meta-data>\n"
+                           + "\t\t    android:name=\"" + metaDataName + "\"\n"
+                           + "\t\t    android:resource=\"@xml/accessibility_service_config" + "\""+ " />";
+            throw new IllegalArgumentException("Please add an meta data for \"" + mAccessibilityServiceClassName +
+                                               "\" in the AndroidManifest.xml file.\n" + xmlCode);
+        }
     }
 
     @NonNull
@@ -11,6 +11,7 @@ import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import android.text.TextUtils;
 import com.hjq.permissions.manifest.AndroidManifestInfo;
+import com.hjq.permissions.manifest.AndroidManifestParser;
 import com.hjq.permissions.manifest.node.BroadcastReceiverManifestInfo;
 import com.hjq.permissions.manifest.node.IntentFilterManifestInfo;
 import com.hjq.permissions.manifest.node.MetaDataManifestInfo;
@@ -99,6 +100,12 @@ public final class BindDeviceAdminPermission extends SpecialPermission {
         return devicePolicyManager.isAdminActive(new ComponentName(context, mDeviceAdminReceiverClassName));
     }
 
+    @Override
+    public boolean isPermissionSettingIntentsCacheable(@NonNull Context context) {
+        // 设置页意图中带有设备管理器的广播接收器类名，所以不能缓存
+        return false;
+    }
+
     @NonNull
     @Override
     public List<Intent> getPermissionSettingIntents(@NonNull Context context, boolean skipRequest) {
@@ -127,6 +134,12 @@ public final class BindDeviceAdminPermission extends SpecialPermission {
         }
     }
 
+    @Override
+    public int getRequiredManifestSections() {
+        // 需要检查设备管理器广播有没有在清单文件中注册
+        return super.getRequiredManifestSections() | AndroidManifestParser.SECTION_RECEIVER;
+    }
+
     @Override
     protected void checkSelfByManifestFile(@NonNull Activity activity,
                                             @NonNull List<IPermission> requestList,
@@ -135,72 +148,59 @@ public final class BindDeviceAdminPermission extends SpecialPermission {
                                             @Nullable PermissionManifestInfo currentPermissionInfo) {
         super.checkSelfByManifestFile(activity, requestList, manifestInfo, permissionInfoList, currentPermissionInfo);
 
-        List<BroadcastReceiverManifestInfo> receiverInfoList = manifestInfo.receiverInfoList;
-        for (BroadcastReceiverManifestInfo receiverInfo : receiverInfoList) {
-
-            if (receiverInfo == null) {
-                continue;
-            }
-
-            if (!PermissionUtils.reverseEqualsString(mDeviceAdminReceiverClassName, receiverInfo.name)) {
-                // 不是目标的 BroadcastReceiver，继续循环
-                continue;
-            }
+        BroadcastReceiverManifestInfo receiverInfo = manifestInfo.findReceiverInfo(mDeviceAdminReceiverClassName);
+        if (receiverInfo == null) {
+            // 这个 BroadcastReceiver 组件没有在清单文件中注册
+            throw new IllegalArgumentException("The \"" + mDeviceAdminReceiverClassName + "\" component is not registered in the AndroidManifest.xml file");
+        }
 
-            if (receiverInfo.permission == null || !PermissionUtils.equalsPermission(this, receiverInfo.permission)) {
-                // 这个 BroadcastReceiver 组件注册的 permission 节点为空或者错误
-                throw new IllegalArgumentException("Please register permission node in the AndroidManifest.xml file, for example: "
-                    + "<receiver android:name=\"" + mDeviceAdminReceiverClassName + "\" android:permission=\"" + getPermissionName() + "\" />");
-            }
+        if (receiverInfo.permission == null || !PermissionUtils.equalsPermission(this, receiverInfo.permission)) {
+            // 这个 BroadcastReceiver 组件注册的 permission 节点为空或者错误
+            throw new IllegalArgumentException("Please register permission node in the AndroidManifest.xml file, for example: "
+                + "<receiver android:name=\"" + mDeviceAdminReceiverClassName + "\" android:permission=\"" + getPermissionName() + "\" />");
+        }
 
-            String action = DeviceAdminReceiver.ACTION_DEVICE_ADMIN_ENABLED;
-            // 当前是否注册了设备管理器广播的意图
-            boolean registeredDeviceAdminReceiverAction = false;
-            List<IntentFilterManifestInfo> intentFilterInfoList = receiverInfo.intentFilterInfoList;
-            if (intentFilterInfoList != null) {
-                for (IntentFilterManifestInfo intentFilterInfo : intentFilterInfoList) {
-                    if (intentFilterInfo.actionList.contains(action)) {
-                        registeredDeviceAdminReceiverAction = true;
-                        break;
-                    }
+        String action = DeviceAdminReceiver.ACTION_DEVICE_ADMIN_ENABLED;
+        // 当前是否注册了设备管理器广播的意图
+        boolean registeredDeviceAdminReceiverAction = false;
+        List<IntentFilterManifestInfo> intentFilterInfoList = receiverInfo.intentFilterInfoList;
+        if (intentFilterInfoList != null) {
+            for (IntentFilterManifestInfo intentFilterInfo : intentFilterInfoList) {
+                if (intentFilterInfo.actionList.contains(action)) {
+                    registeredDeviceAdminReceiverAction = true;
+                    break;
                 }
             }
+        }
 
-            if (!registeredDeviceAdminReceiverAction) {
-                String xmlCode = "\t\t<intent-filter>\n"
-                               + "\t\t    <action android:name=\"" + action + "\" />\n"
-                               + "\t\t</intent-filter>";
-                throw new IllegalArgumentException("Please add an intent filter for \"" + mDeviceAdminReceiverClassName +
-                                                   "\" in the AndroidManifest.xml file.\n" + xmlCode);
-            }
+        if (!registeredDeviceAdminReceiverAction) {
+            String xmlCode = "\t\t<intent-filter>\n"
+                           + "\t\t    <action android:name=\"" + action + "\" />\n"
+                           + "\t\t</intent-filter>";
+            throw new IllegalArgumentException("Please add an intent filter for \"" + mDeviceAdminReceiverClassName +
+                                               "\" in the AndroidManifest.xml file.\n" + xmlCode);
+        }
 
-            String metaDataName = DeviceAdminReceiver.DEVICE_ADMIN_META_DATA;
-            // 当前是否注册了设备管理器广播的 MetaData
-            boolean registeredDeviceAdminReceiverMetaData = false;
-            List<MetaDataManifestInfo> metaDataInfoList = receiverInfo.metaDataInfoList;
-            if (metaDataInfoList != null) {
-                for (MetaDataManifestInfo metaDataInfo : metaDataInfoList) {
-                    if (metaDataName.equals(metaDataInfo.name) && metaDataInfo.resource != 0) {
-                        registeredDeviceAdminReceiverMetaData = true;
-                        break;
-                    }
+        String metaDataName = DeviceAdminReceiver.DEVICE_ADMIN_META_DATA;
+        // 当前是否注册了设备管理器广播的 MetaData
+        boolean registeredDeviceAdminReceiverMetaData = false;
+        List<MetaDataManifestInfo> metaDataInfoList = receiverInfo.metaDataInfoList;
+        if (metaDataInfoList != null) {
+            for (MetaDataManifestInfo metaDataInfo : metaDataInfoList) {
+                if (metaDataName.equals(metaDataInfo.name) && metaDataInfo.resource != 0) {
+                    registeredDeviceAdminReceiverMetaData = true;
+                    break;
                 }
             }
-
-            if (!registeredDeviceAdminReceiverMetaData) {
-                String xmlCode = "\t\t<meta-data>\n"
-                               + "\t\t    android:name=\"" + metaDataName + "\"\n"
-                               + "\t\t    android:resource=\"@xml/device_admin_config" + "\""+ " />";
-                throw new IllegalArgumentException("Please add an meta data for \"" + mDeviceAdminReceiverClassName +
-                                                    "\" in the AndroidManifest.xml file.\n" + xmlCode);
-            }
-
-            // 符合要求，中断所有的循环并返回，避免走到后面的抛异常代码
-            return;
         }
 
-        // 这个 BroadcastReceiver 组件没有在清单文件中注册
-        throw new IllegalArgumentException("The \"" + mDeviceAdminReceiverClassName + "\" component is not registered in the AndroidManifest.xml file");
+        if (!registeredDeviceAdminReceiverMetaData) {
+            String xmlCode = "\t\t<meta-data>\n"
+                           + "\t\t    android:name=\"" + metaDataName + "\"\n"
+                           + "\t\t    android:resource=\"@xml/device_admin_config" + "\""+ " />";
+            throw new IllegalArgumentException("Please add an meta data for \"" + mDeviceAdminReceiverClassName +
+                                                "\" in the AndroidManifest.xml file.\n" + xmlCode);
+        }
     }
 
     @NonNull
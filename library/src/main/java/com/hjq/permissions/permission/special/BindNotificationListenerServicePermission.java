@@ -5,6 +5,7 @@ import android.app.NotificationManager;
 import android.content.ComponentName;
 import android.content.Context;
 import android.content.Intent;
+import android.net.Uri;
 import android.os.Parcel;
 import android.os.Parcelable;
 import android.provider.Settings;
@@ -13,6 +14,7 @@ import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import android.text.TextUtils;
 import com.hjq.permissions.manifest.AndroidManifestInfo;
+import com.hjq.permissions.manifest.AndroidManifestParser;
 import com.hjq.permissions.manifest.node.IntentFilterManifestInfo;
 import com.hjq.permissions.manifest.node.PermissionManifestInfo;
 import com.hjq.permissions.manifest.node.ServiceManifestInfo;
@@ -21,6 +23,7 @@ import com.hjq.permissions.permission.base.IPermission;
 import com.hjq.permissions.permission.common.SpecialPermission;
 import com.hjq.permissions.tools.PermissionUtils;
 import com.hjq.permissions.tools.PermissionVersion;
+import com.hjq.permissions.tools.SecureSettingComponentIndex;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
@@ -103,30 +106,24 @@ public final class BindNotificationListenerServicePermission extends SpecialPerm
         if (PermissionVersion.isAndroid8_1() && notificationManager != null && serviceClassName != null) {
             return notificationManager.isNotificationListenerAccessGranted(new ComponentName(context, serviceClassName));
         }
-        final String enabledNotificationListeners = Settings.Secure.getString(context.getContentResolver(), SETTING_ENABLED_NOTIFICATION_LISTENERS);
-        if (TextUtils.isEmpty(enabledNotificationListeners)) {
-            return false;
-        }
-        // com.hjq.permissions.demo/com.hjq.permissions.demo.NotificationMonitorService:com.huawei.health/com.huawei.bone.ui.setting.NotificationPushListener
-        final String[] allComponentNameArray = enabledNotificationListeners.split(":");
-        for (String component : allComponentNameArray) {
-            ComponentName componentName = ComponentName.unflattenFromString(component);
-            if (componentName == null) {
-                continue;
-            }
-            if (serviceClassName != null) {
-                // 精准匹配：匹配应用包名及 Service 类名
-                if (context.getPackageName().equals(componentName.getPackageName()) &&
-                    serviceClassName.equals(componentName.getClassName())) {
-                    return true;
-                }
-            } else {
-                // 模糊匹配：仅匹配应用包名
-                if (context.getPackageName().equals(componentName.getPackageName())) {
-                    return true;
-                }
-            }
+        SecureSettingComponentIndex componentIndex = SecureSettingComponentIndex.get(context, SETTING_ENABLED_NOTIFICATION_LISTENERS);
+        if (serviceClassName != null) {
+            // 精准匹配：匹配应用包名及 Service 类名
+            return componentIndex.containsComponent(context.getPackageName(), serviceClassName);
         }
+        // 模糊匹配：仅匹配应用包名
+        return componentIndex.containsPackage(context.getPackageName());
+    }
+
+    @Nullable
+    @Override
+    public Uri getObserveSettingUri(@NonNull Context context) {
+        return Settings.Secure.getUriFor(SETTING_ENABLED_NOTIFICATION_LISTENERS);
+    }
+
+    @Override
+    public boolean isPermissionSettingIntentsCacheable(@NonNull Context context) {
+        // 设置页意图中带有通知监听器的 Service 类名，所以不能缓存
         return false;
     }
 
@@ -170,6 +167,12 @@ public final class BindNotificationListenerServicePermission extends SpecialPerm
         }
     }
 
+    @Override
+    public int getRequiredManifestSections() {
+        // 需要检查通知栏监听服务有没有在清单文件中注册
+        return super.getRequiredManifestSections() | AndroidManifestParser.SECTION_SERVICE;
+    }
+
     @Override
     protected void checkSelfByManifestFile(@NonNull Activity activity,
                                             @NonNull List<IPermission> requestList,
@@ -178,56 +181,46 @@ public final class BindNotificationListenerServicePermission extends SpecialPerm
                                             @Nullable PermissionManifestInfo currentPermissionInfo) {
         super.checkSelfByManifestFile(activity, requestList, manifestInfo, permissionInfoList, currentPermissionInfo);
 
-        List<ServiceManifestInfo> serviceInfoList = manifestInfo.serviceInfoList;
-        for (ServiceManifestInfo serviceInfo : serviceInfoList) {
-
-            if (serviceInfo == null) {
-                continue;
-            }
-
-            if (!PermissionUtils.reverseEqualsString(mNotificationListenerServiceClassName, serviceInfo.name)) {
-                // 不是目标的 Service，继续循环
-                continue;
-            }
+        ServiceManifestInfo serviceInfo = manifestInfo.findServiceInfo(mNotificationListenerServiceClassName);
+        if (serviceInfo == null) {
+            // 这个 Service 组件没有在清单文件中注册
+            throw new IllegalArgumentException("The \"" + mNotificationListenerServiceClassName + "\" component is not registered in the AndroidManifest.xml file");
+        }
 
-            if (serviceInfo.permission == null || !PermissionUtils.equalsPermission(this, serviceInfo.permission)) {
-                // 这个 Service 组件注册的 permission 节点为空或者错误
-                throw new IllegalArgumentException("Please register permission node in the AndroidManifest.xml file, for example: "
-                    + "<service android:name=\"" + mNotificationListenerServiceClassName + "\" android:permission=\"" + getPermissionName() + "\" />");
-            }
+        if (serviceInfo.permission == null || !PermissionUtils.equalsPermission(this, serviceInfo.permission)) {
+            // 这个 Service 组件注册的 permission 节点为空或者错误
+            throw new IllegalArgumentException("Please register permission node in the AndroidManifest.xml file, for example: "
+                + "<service android:name=\"" + mNotificationListenerServiceClassName + "\" android:permission=\"" + getPermissionName() + "\" />");
+        }
 
-            String action;
-            if (PermissionVersion.isAndroid4_3()) {
-                action = NotificationListenerService.SERVICE_INTERFACE;
-            } else {
-                action = "android.service.notification.NotificationListenerService";
-            }
-            // 当前是否注册了通知栏监听服务的意图
-            boolean registeredNotificationListenerServiceAction = false;
-            List<IntentFilterManifestInfo> intentFilterInfoList = serviceInfo.intentFilterInfoList;
-            if (intentFilterInfoList != null) {
-                for (IntentFilterManifestInfo intentFilterInfo : intentFilterInfoList) {
-                    if (intentFilterInfo.actionList.contains(action)) {
-                        registeredNotificationListenerServiceAction = true;
-                        break;
-                    }
+        String action;
+        if (PermissionVersion.isAndroid4_3()) {
+            action = NotificationListenerService.SERVICE_INTERFACE;
+        } else {
+            action = "android.service.notification.NotificationListenerService";
+        }
+        // 当前是否注册了通知栏监听服务的意图
+        boolean registeredNotificationListenerServiceAction = false;
+        List<IntentFilterManifestInfo> intentFilterInfoList = serviceInfo.intentFilterInfoList;
+        if (intentFilterInfoList != null) {
+            for (IntentFilterManifestInfo intentFilterInfo : intentFilterInfoList) {
+                if (intentFilterInfo.actionList.contains(action)) {
+                    registeredNotificationListenerServiceAction = true;
+                    break;
                 }
             }
+        }
 
-            if (registeredNotificationListenerServiceAction) {
-                // 符合要求，中断所有的循环并返回，避免走到后面的抛异常代码
-                return;
-            }
-
-            String xmlCode = "\t\t<intent-filter>\n"
-                           + "\t\t    <action android:name=\"" + action + "\" />\n"
-                           + "\t\t</intent-filter>";
-            throw new IllegalArgumentException("Please add an intent filter for \"" + mNotificationListenerServiceClassName +
-                                               "\" in the AndroidManifest.xml file.\n" + xmlCode);
+        if (registeredNotificationListenerServiceAction) {
+            // 符合要求，直接返回，避免走到后面的抛异常代码
+            return;
         }
 
-        // 这个 Service 组件没有在清单文件中注册
-        throw new IllegalArgumentException("The \"" + mNotificationListenerServiceClassName + "\" component is not registered in the AndroidManifest.xml file");
+        String xmlCode = "\t\t<intent-filter>\n"
+                       + "\t\t    <action android:name=\"" + action + "\" />\n"
+                       + "\t\t</intent-filter>";
+        throw new IllegalArgumentException("Please add an intent filter for \"" + mNotificationListenerServiceClassName +
+                                           "\" in the AndroidManifest.xml file.\n" + xmlCode);
     }
 
     @NonNull
@@ -10,6 +10,7 @@ import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import com.hjq.device.compat.DeviceOs;
 import com.hjq.permissions.manifest.AndroidManifestInfo;
+import com.hjq.permissions.manifest.AndroidManifestParser;
 import com.hjq.permissions.manifest.node.IntentFilterManifestInfo;
 import com.hjq.permissions.manifest.node.PermissionManifestInfo;
 import com.hjq.permissions.manifest.node.ServiceManifestInfo;
@@ -80,6 +81,12 @@ public final class BindVpnServicePermission extends SpecialPermission {
         return VpnService.prepare(context) == null;
     }
 
+    @Override
+    public boolean isPermissionSettingIntentsCacheable(@NonNull Context context) {
+        // VpnService.prepare 在已经授权的情况下会返回空，所以不能缓存
+        return false;
+    }
+
     @NonNull
     @Override
     public List<Intent> getPermissionSettingIntents(@NonNull Context context, boolean skipRequest) {
@@ -89,6 +96,12 @@ public final class BindVpnServicePermission extends SpecialPermission {
         return intentList;
     }
 
+    @Override
+    public int getRequiredManifestSections() {
+        // 需要检查 VPN 服务有没有在清单文件中注册
+        return super.getRequiredManifestSections() | AndroidManifestParser.SECTION_SERVICE;
+    }
+
     @Override
     protected void checkSelfByManifestFile(@NonNull Activity activity,
                                             @NonNull List<IPermission> requestList,
@@ -124,8 +124,8 @@ public final class ManageExternalStoragePermission extends SpecialPermission {
         super.checkSelfByManifestFile(activity, requestList, manifestInfo, permissionInfoList, currentPermissionInfo);
         // 如果权限出现的版本小于 minSdkVersion，则证明该权限可能会在旧系统上面申请，需要在 AndroidManifest.xml 文件注册一下旧版权限
         if (getFromAndroidVersion(activity) > getMinSdkVersion(activity, manifestInfo)) {
-            checkPermissionRegistrationStatus(permissionInfoList, PermissionNames.READ_EXTERNAL_STORAGE, PermissionVersion.ANDROID_10);
-            checkPermissionRegistrationStatus(permissionInfoList, PermissionNames.WRITE_EXTERNAL_STORAGE, PermissionVersion.ANDROID_10);
+            checkPermissionRegistrationStatus(manifestInfo, PermissionNames.READ_EXTERNAL_STORAGE, PermissionVersion.ANDROID_10);
+            checkPermissionRegistrationStatus(manifestInfo, PermissionNames.WRITE_EXTERNAL_STORAGE, PermissionVersion.ANDROID_10);
         }
 
         // 如果申请的是 Android 10 获取媒体位置权限，则绕过本次检查
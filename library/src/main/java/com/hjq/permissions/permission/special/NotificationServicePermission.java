@@ -103,6 +103,12 @@ public final class NotificationServicePermission extends SpecialPermission {
         return notificationChannel != null && notificationChannel.getImportance() != NotificationManager.IMPORTANCE_NONE;
     }
 
+    @Override
+    public boolean isPermissionSettingIntentsCacheable(@NonNull Context context) {
+        // 设置页意图和通知渠道、授予状态有关，所以不能缓存
+        return false;
+    }
+
     @NonNull
     @Override
     public List<Intent> getPermissionSettingIntents(@NonNull Context context, boolean skipRequest) {
@@ -181,7 +187,7 @@ public final class NotificationServicePermission extends SpecialPermission {
 
         if (PermissionVersion.getTargetVersion(activity) >= PermissionVersion.ANDROID_13) {
             // 如果当前项目已经适配了 Android 13，则需要在清单文件加入 POST_NOTIFICATIONS 权限，否则会导致无法申请通知栏权限
-            PermissionManifestInfo postNotificationsPermission = findPermissionInfoByList(permissionInfoList, PermissionNames.POST_NOTIFICATIONS);
+            PermissionManifestInfo postNotificationsPermission = manifestInfo.findPermissionInfo(PermissionNames.POST_NOTIFICATIONS);
             checkPermissionRegistrationStatus(postNotificationsPermission, PermissionNames.POST_NOTIFICATIONS, PermissionManifestInfo.DEFAULT_MAX_SDK_VERSION);
         }
     }
@@ -7,6 +7,7 @@ import android.os.Parcel;
 import android.os.Parcelable;
 import android.provider.Settings;
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import com.hjq.permissions.permission.PermissionNames;
 import com.hjq.permissions.permission.common.SpecialPermission;
 import com.hjq.permissions.tools.PermissionVersion;
@@ -64,6 +65,15 @@ public final class PackageUsageStatsPermission extends SpecialPermission {
         return checkOpPermission(context, AppOpsManager.OPSTR_GET_USAGE_STATS, false);
     }
 
+    @Nullable
+    @Override
+    public String getObserveAppOpName(@NonNull Context context) {
+        if (!PermissionVersion.isAndroid5()) {
+            return null;
+        }
+        return AppOpsManager.OPSTR_GET_USAGE_STATS;
+    }
+
     @NonNull
     @Override
     public List<Intent> getPermissionSettingIntents(@NonNull Context context, boolean skipRequest) {
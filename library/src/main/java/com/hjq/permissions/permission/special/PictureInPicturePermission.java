@@ -9,6 +9,7 @@ import android.os.Parcelable;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import com.hjq.permissions.manifest.AndroidManifestInfo;
+import com.hjq.permissions.manifest.AndroidManifestParser;
 import com.hjq.permissions.manifest.node.ActivityManifestInfo;
 import com.hjq.permissions.manifest.node.PermissionManifestInfo;
 import com.hjq.permissions.permission.PermissionNames;
@@ -103,6 +104,12 @@ public final class PictureInPicturePermission extends SpecialPermission {
         return intentList;
     }
 
+    @Override
+    public int getRequiredManifestSections() {
+        // 需要检查有没有 Activity 注册了画中画属性
+        return super.getRequiredManifestSections() | AndroidManifestParser.SECTION_ACTIVITY;
+    }
+
     @Override
     protected void checkSelfByManifestFile(@NonNull Activity activity,
                                            @NonNull List<IPermission> requestList,
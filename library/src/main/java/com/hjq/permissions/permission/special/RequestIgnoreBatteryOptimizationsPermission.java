@@ -95,6 +95,12 @@ public final class RequestIgnoreBatteryOptimizationsPermission extends SpecialPe
         return powerManager.isIgnoringBatteryOptimizations(context.getPackageName());
     }
 
+    @Override
+    public boolean isPermissionSettingIntentsCacheable(@NonNull Context context) {
+        // 在已经授权的情况下，设置页意图会发生变化，所以不能缓存
+        return false;
+    }
+
     @SuppressLint("BatteryLife")
     @NonNull
     @Override
@@ -1,11 +1,13 @@
 package com.hjq.permissions.permission.special;
 
+import android.app.AppOpsManager;
 import android.content.Context;
 import android.content.Intent;
 import android.os.Parcel;
 import android.os.Parcelable;
 import android.provider.Settings;
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import com.hjq.device.compat.DeviceOs;
 import com.hjq.permissions.permission.PermissionNames;
 import com.hjq.permissions.permission.common.SpecialPermission;
@@ -78,6 +80,15 @@ public final class SystemAlertWindowPermission extends SpecialPermission {
         return checkOpPermission(context, OP_SYSTEM_ALERT_WINDOW_FIELD_NAME, OP_SYSTEM_ALERT_WINDOW_DEFAULT_VALUE, true);
     }
 
+    @Nullable
+    @Override
+    public String getObserveAppOpName(@NonNull Context context) {
+        if (!PermissionVersion.isAndroid6()) {
+            return null;
+        }
+        return AppOpsManager.OPSTR_SYSTEM_ALERT_WINDOW;
+    }
+
     @NonNull
     @Override
     public List<Intent> getPermissionSettingIntents(@NonNull Context context, boolean skipRequest) {
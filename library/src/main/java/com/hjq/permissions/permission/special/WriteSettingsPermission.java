@@ -1,11 +1,13 @@
 package com.hjq.permissions.permission.special;
 
+import android.app.AppOpsManager;
 import android.content.Context;
 import android.content.Intent;
 import android.os.Parcel;
 import android.os.Parcelable;
 import android.provider.Settings;
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import com.hjq.permissions.permission.PermissionNames;
 import com.hjq.permissions.permission.common.SpecialPermission;
 import com.hjq.permissions.tools.PermissionVersion;
@@ -63,6 +65,15 @@ public final class WriteSettingsPermission extends SpecialPermission {
         return Settings.System.canWrite(context);
     }
 
+    @Nullable
+    @Override
+    public String getObserveAppOpName(@NonNull Context context) {
+        if (!PermissionVersion.isAndroid6()) {
+            return null;
+        }
+        return AppOpsManager.OPSTR_WRITE_SETTINGS;
+    }
+
     @NonNull
     @Override
     public List<Intent> getPermissionSettingIntents(@NonNull Context context, boolean skipRequest) {
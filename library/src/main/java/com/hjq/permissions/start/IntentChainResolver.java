@@ -0,0 +1,189 @@
+package com.hjq.permissions.start;
+
+import android.app.Activity;
+import android.content.Context;
+import android.content.Intent;
+import android.os.Looper;
+import androidx.annotation.NonNull;
+import com.hjq.permissions.tools.IntentResolutionCache;
+import com.hjq.permissions.tools.PermissionTaskHandler;
+import com.hjq.permissions.tools.PermissionUtils;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ *    author : Android 轮子哥
+ *    github : https://github.com/getActivity/XXPermissions
+ *    time   : 2026/10/18
+ *    desc   : 意图列表解析器（过滤掉不存在的意图）
+ */
+final class IntentChainResolver {
+
+    /*
+     * 这里解释一下为什么要在子线程中解析意图，一个权限通常会有 4 ~ 8 个备选的意图，每个意图都要通过 PackageManager.queryIntentActivities
+     * 判断一下是否存在，如果在主线程中逐个判断，在一些厂商的系统上面（例如华为、OPPO）会有明显的卡顿，所以这里会把没有缓存结果的意图
+     * 放到子线程中并发解析，全部解析完成之后再切换回主线程进行跳转，另外如果所有意图都已经有缓存结果了，就直接在当前线程中过滤，
+     * 这样就不需要再切换线程，跳转也不会有任何的延迟
+     *
+     * 但是异步解析只适用于框架内部发起的跳转，像 XXPermissions.startPermissionActivity 这类对外公开的方法，外层很可能会在调用完之后
+     * 紧接着调用 Activity.finish，如果这个时候跳转被放到了后面执行，那么权限设置页就永远不会被打开了，所以这类方法只能同步解析
+     */
+
+    /** 解析线程的数量 */
+    private static final int RESOLVE_THREAD_COUNT = 4;
+
+    /** 解析意图的线程池 */
+    private static final ThreadPoolExecutor RESOLVE_EXECUTOR = createResolveExecutor();
+
+    /** 私有化构造函数 */
+    private IntentChainResolver() {
+        // default implementation ignored
+    }
+
+    /**
+     * 在当前线程中解析意图列表
+     *
+     * @param intentList            需要解析的意图列表
+     * @return                      存在的意图列表（保持原来的顺序）
+     */
+    @NonNull
+    static List<Intent> resolve(@NonNull Context context, @NonNull List<Intent> intentList) {
+        int size = intentList.size();
+        boolean[] resolvedArray = new boolean[size];
+        for (int i = 0; i < size; i++) {
+            Intent intent = intentList.get(i);
+            if (intent == null) {
+                continue;
+            }
+            resolvedArray[i] = PermissionUtils.areActivityIntent(context, intent);
+        }
+        return filterIntentList(intentList, resolvedArray);
+    }
+
+    /**
+     * 异步解析意图列表，解析完成之后会在主线程中回调（如果所有意图都已经有缓存结果了，则会直接在当前线程中回调）
+     *
+     * @param intentList            需要解析的意图列表
+     * @param callback              解析结果回调，回调的列表中只包含存在的意图，并且会保持原来的顺序
+     */
+    static void resolveAsync(@NonNull Context context, @NonNull List<Intent> intentList, @NonNull OnResolvedCallback callback) {
+        int size = intentList.size();
+        boolean[] resolvedArray = new boolean[size];
+        List<Integer> unresolvedIndexes = null;
+        for (int i = 0; i < size; i++) {
+            Intent intent = intentList.get(i);
+            if (intent == null) {
+                continue;
+            }
+            Boolean resolvedState = IntentResolutionCache.getResolvedState(context, intent);
+            if (resolvedState != null) {
+                resolvedArray[i] = resolvedState;
+                continue;
+            }
+            if (unresolvedIndexes == null) {
+                unresolvedIndexes = new ArrayList<>(size);
+            }
+            unresolvedIndexes.add(i);
+        }
+
+        // 所有的意图都有缓存结果了，或者当前本来就不在主线程中，直接在当前线程中解析
+        if (unresolvedIndexes == null || Looper.myLooper() != Looper.getMainLooper()) {
+            if (unresolvedIndexes != null) {
+                for (int index : unresolvedIndexes) {
+                    resolvedArray[index] = PermissionUtils.areActivityIntent(context, intentList.get(index));
+                }
+            }
+            callback.onResolved(filterIntentList(intentList, resolvedArray));
+            return;
+        }
+
+        // 意图在子线程中解析完成之后，Activity 有可能已经销毁了，这种情况就跳转不了了
+        Activity activity = context instanceof Activity ? (Activity) context : null;
+        // 避免子线程持有 Activity 对象
+        Context applicationContext = context.getApplicationContext() != null ? context.getApplicationContext() : context;
+        AtomicInteger remainingCount = new AtomicInteger(unresolvedIndexes.size());
+        for (int index : unresolvedIndexes) {
+            Intent intent = intentList.get(index);
+            RESOLVE_EXECUTOR.execute(() -> {
+                boolean resolved;
+                try {
+                    resolved = PermissionUtils.areActivityIntent(applicationContext, intent);
+                } catch (Exception e) {
+                    // 解析失败就当这个意图存在，交给后面的跳转流程去兜底（跳转失败会自动尝试下一个意图）
+                    e.printStackTrace();
+                    resolved = true;
+                }
+                // 这里不需要加锁，因为每个任务只会写入自己的下标，并且 AtomicInteger 的递减操作能保证写入的结果对最后一个任务可见
+                resolvedArray[index] = resolved;
+                if (remainingCount.decrementAndGet() != 0) {
+                    return;
+                }
+                PermissionTaskHandler.sendTask(() -> {
+                    // 这里只判断 Activity 是否已经销毁，而不判断是否正在销毁，因为正在销毁的 Activity 还是可以正常跳转的
+                    if (activity != null && activity.isDestroyed()) {
+                        // 跳转不了也要告诉外层，否则外层会一直等待跳转的结果
+                        callback.onCanceled();
+                        return;
+                    }
+                    callback.onResolved(filterIntentList(intentList, resolvedArray));
+                }, 0);
+            });
+        }
+    }
+
+    /**
+     * 过滤掉不存在的意图
+     */
+    @NonNull
+    private static List<Intent> filterIntentList(@NonNull List<Intent> intentList, @NonNull boolean[] resolvedArray) {
+        List<Intent> resolvedIntentList = new ArrayList<>(intentList.size());
+        for (int i = 0; i < intentList.size(); i++) {
+            // 移除那些不存在的 Intent 对象，这样做的好处是：
+            // 1. 拿不存在的 Intent 去跳转必定是失败的（如果项目适配了 Android 11，需要注意适配软件包可见性的特性）
+            // 2. 在 Debug 代码调试的时候，可以很直观看出来有哪些 Intent 是存在的，也可以比较过滤前后的 Intent 列表
+            if (resolvedArray[i]) {
+                resolvedIntentList.add(intentList.get(i));
+            }
+        }
+        return resolvedIntentList;
+    }
+
+    /**
+     * 创建解析意图的线程池
+     */
+    @NonNull
+    private static ThreadPoolExecutor createResolveExecutor() {
+        AtomicInteger threadCount = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(RESOLVE_THREAD_COUNT, RESOLVE_THREAD_COUNT,
+            10, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+                Thread thread = new Thread(runnable, "XXPermissions-IntentResolver-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        // 空闲的时候让核心线程也能被回收，避免一直占用线程资源
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * 意图解析结果回调
+     */
+    interface OnResolvedCallback {
+
+        /**
+         * 解析完成
+         *
+         * @param resolvedIntentList            存在的意图列表（保持原来的顺序）
+         */
+        void onResolved(@NonNull List<Intent> resolvedIntentList);
+
+        /**
+         * 解析完成之后 Activity 已经销毁了，无法再进行跳转
+         */
+        void onCanceled();
+    }
+}
\ No newline at end of file
@@ -8,7 +8,6 @@ import androidx.annotation.IntRange;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import com.hjq.permissions.tools.PermissionSettingPage;
-import com.hjq.permissions.tools.PermissionUtils;
 import java.util.Iterator;
 import java.util.List;
 
@@ -41,28 +40,15 @@ public final class StartActivityAgent {
     public static void startActivity(@NonNull Context context,
                                      @NonNull IStartActivityDelegate delegate,
                                      @NonNull List<Intent> intentList) {
-        Iterator<Intent> iterator = intentList.iterator();
-        while (iterator.hasNext()) {
-            Intent intent = iterator.next();
-            if (PermissionUtils.areActivityIntent(context, intent)) {
-                continue;
-            }
-            // 移除那些不存在的 Intent 对象，这样做的好处是：
-            // 1. 拿不存在的 Intent 去跳转必定是失败的（如果项目适配了 Android 11，需要注意适配软件包可见性的特性）
-            // 2. 在 Debug 代码调试的时候，可以很直观看出来有哪些 Intent 是存在的，也可以比较过滤前后的 Intent 列表
-            iterator.remove();
-        }
-
+        // 这里只能同步解析，因为外层很可能在调用完之后就立马 finish 掉 Activity
+        List<Intent> resolvedIntentList = IntentChainResolver.resolve(context, intentList);
         // 当所有的 Intent 都不存在的时候，那么就默认添加一个 Android 系统设置的 Intent，这样写的原因如下：
         // 不至于用户一点申请权限就立马提示失败，用户会一头雾水，这样的体验太差了，最起码跳转一下 Android 系统设置页，这样效果会好很多
-        if (intentList.isEmpty()) {
-            intentList.add(PermissionSettingPage.getAndroidSettingsIntent());
+        if (resolvedIntentList.isEmpty()) {
+            resolvedIntentList.add(PermissionSettingPage.getAndroidSettingsIntent());
         }
 
-        // 由于 Iterator 接口中没有重置索引的方法，所以这里只能重新获取一次 Iterator 对象
-        iterator = intentList.iterator();
-        while (iterator.hasNext()) {
-            Intent intent = iterator.next();
+        for (Intent intent : resolvedIntentList) {
             if (intent == null) {
                 continue;
             }
@@ -103,27 +89,51 @@ public final class StartActivityAgent {
                                               @NonNull List<Intent> intentList,
                                               @IntRange(from = 1, to = 65535) int requestCode,
                                               @Nullable Runnable ignoreActivityResultCallback) {
-        Iterator<Intent> iterator = intentList.iterator();
-        while (iterator.hasNext()) {
-            Intent intent = iterator.next();
-            if (PermissionUtils.areActivityIntent(context, intent)) {
-                continue;
+        // 这里只能同步解析，因为外层很可能在调用完之后就立马 finish 掉 Activity
+        startActivityForResultByResolved(delegate, IntentChainResolver.resolve(context, intentList),
+            requestCode, ignoreActivityResultCallback);
+    }
+
+    /**
+     * 跳转 Activity（没有缓存结果的意图会放到子线程中解析，然后再在主线程中进行跳转，只适用于框架内部的权限请求流程）
+     *
+     * @param startCanceledCallback         意图解析完成之后 Activity 已经销毁，跳转被取消时的回调
+     */
+    public static void startActivityForResultAsync(@NonNull Context context,
+                                                   @NonNull IStartActivityDelegate delegate,
+                                                   @NonNull List<Intent> intentList,
+                                                   @IntRange(from = 1, to = 65535) int requestCode,
+                                                   @Nullable Runnable ignoreActivityResultCallback,
+                                                   @NonNull Runnable startCanceledCallback) {
+        IntentChainResolver.resolveAsync(context, intentList, new IntentChainResolver.OnResolvedCallback() {
+
+            @Override
+            public void onResolved(@NonNull List<Intent> resolvedIntentList) {
+                startActivityForResultByResolved(delegate, resolvedIntentList, requestCode, ignoreActivityResultCallback);
             }
-            // 移除那些不存在的 Intent 对象，这样做的好处是：
-            // 1. 拿不存在的 Intent 去跳转必定是失败的（如果项目适配了 Android 11，需要注意适配软件包可见性的特性）
-            // 2. 在 Debug 代码调试的时候，可以很直观看出来有哪些 Intent 是存在的，也可以比较过滤前后的 Intent 列表
-            iterator.remove();
-        }
 
+            @Override
+            public void onCanceled() {
+                startCanceledCallback.run();
+            }
+        });
+    }
+
+    /**
+     * 拿已经过滤好的意图列表进行跳转
+     */
+    private static void startActivityForResultByResolved(@NonNull IStartActivityDelegate delegate,
+                                                         @NonNull List<Intent> resolvedIntentList,
+                                                         @IntRange(from = 1, to = 65535) int requestCode,
+                                                         @Nullable Runnable ignoreActivityResultCallback) {
         // 当所有的 Intent 都不存在的时候，那么就默认添加一个 Android 系统设置的 Intent，这样写的原因如下：
         // 1. 不至于用户一点申请权限就立马提示失败，用户会一头雾水，这样的体验太差了，最起码跳转一下 Android 系统设置页，这样效果会好很多
         // 2. 假设连 Android 系统设置页都跳转失败了，但是这样做可以让系统触发回调 onActivityResult 方法，才使得整个权限请求流程形成闭环
-        if (intentList.isEmpty()) {
-            intentList.add(PermissionSettingPage.getAndroidSettingsIntent());
+        if (resolvedIntentList.isEmpty()) {
+            resolvedIntentList.add(PermissionSettingPage.getAndroidSettingsIntent());
         }
 
-        // 由于 Iterator 接口中没有重置索引的方法，所以这里只能重新获取一次 Iterator 对象
-        iterator = intentList.iterator();
+        Iterator<Intent> iterator = resolvedIntentList.iterator();
         while (iterator.hasNext()) {
             Intent intent = iterator.next();
             if (intent == null) {
@@ -0,0 +1,156 @@
+package com.hjq.permissions.tools;
+
+import android.content.BroadcastReceiver;
+import android.content.Context;
+import android.content.Intent;
+import android.content.IntentFilter;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ *    author : Android 轮子哥
+ *    github : https://github.com/getActivity/XXPermissions
+ *    time   : 2026/10/18
+ *    desc   : 意图解析结果缓存类
+ */
+public final class IntentResolutionCache {
+
+    /*
+     * 这里解释一下为什么要缓存意图的解析结果，在跳转权限设置页的时候，一个权限通常会有 4 ~ 8 个备选的意图，
+     * 框架在跳转之前会逐个判断这些意图对应的 Activity 是否存在，而每次判断都是一次 PackageManager.queryIntentActivities 的 Binder 调用，
+     * 在一些厂商的系统上面（例如华为、OPPO），这个调用是特别耗时的，但是意图的解析结果只有在应用安装、卸载、更新的时候才会发生变化，
+     * 所以这里会监听应用包的变化广播，在应用包发生变化的时候让缓存失效，如果监听广播失败了，为了避免拿到过期的结果，就不会使用缓存了
+     */
+
+    /** 意图解析结果缓存集合（键为 Intent.filterHashCode） */
+    private static final Map<Integer, List<IntentResolutionEntry>> INTENT_RESOLUTION_MAP = new HashMap<>();
+
+    /** 是否已经注册了应用包变化的广播 */
+    private static boolean sRegisterPackageReceiver;
+
+    /** 私有化构造函数 */
+    private IntentResolutionCache() {
+        // default implementation ignored
+    }
+
+    /**
+     * 从缓存中获取意图是否能解析到 Activity，如果缓存中没有，则返回空
+     */
+    @Nullable
+    public static synchronized Boolean getResolvedState(@NonNull Context context, @NonNull Intent intent) {
+        if (!registerPackageReceiver(context)) {
+            return null;
+        }
+        List<IntentResolutionEntry> entryList = INTENT_RESOLUTION_MAP.get(intent.filterHashCode());
+        if (entryList == null) {
+            return null;
+        }
+        // 哈希值一样不代表意图一样，所以这里还需要再用 filterEquals 比较一下
+        for (IntentResolutionEntry entry : entryList) {
+            if (entry.intent.filterEquals(intent)) {
+                return entry.resolved;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 将意图的解析结果放到缓存中
+     */
+    public static synchronized void putResolvedState(@NonNull Context context, @NonNull Intent intent, boolean resolved) {
+        if (!registerPackageReceiver(context)) {
+            return;
+        }
+        int filterHashCode = intent.filterHashCode();
+        List<IntentResolutionEntry> entryList = INTENT_RESOLUTION_MAP.get(filterHashCode);
+        if (entryList == null) {
+            entryList = new ArrayList<>(1);
+            INTENT_RESOLUTION_MAP.put(filterHashCode, entryList);
+        }
+        for (IntentResolutionEntry entry : entryList) {
+            if (entry.intent.filterEquals(intent)) {
+                entry.resolved = resolved;
+                return;
+            }
+        }
+        // 这里只需要保存意图中参与解析的部分（不包含 extras），避免持有不必要的对象
+        entryList.add(new IntentResolutionEntry(intent.cloneFilter(), resolved));
+    }
+
+    /**
+     * 让所有意图的解析结果失效
+     */
+    public static synchronized void clear() {
+        INTENT_RESOLUTION_MAP.clear();
+    }
+
+    /**
+     * 注册应用包变化的广播
+     *
+     * @return              是否注册成功
+     */
+    private static boolean registerPackageReceiver(@NonNull Context context) {
+        if (sRegisterPackageReceiver) {
+            return true;
+        }
+        Context applicationContext = context.getApplicationContext();
+        if (applicationContext == null) {
+            return false;
+        }
+        IntentFilter intentFilter = new IntentFilter();
+        intentFilter.addAction(Intent.ACTION_PACKAGE_ADDED);
+        intentFilter.addAction(Intent.ACTION_PACKAGE_REMOVED);
+        intentFilter.addAction(Intent.ACTION_PACKAGE_CHANGED);
+        intentFilter.addAction(Intent.ACTION_PACKAGE_REPLACED);
+        intentFilter.addDataScheme("package");
+        try {
+            if (PermissionVersion.isAndroid13()) {
+                // 系统广播不受 RECEIVER_NOT_EXPORTED 的限制，这里只是为了满足 Android 14 注册广播必须指定导出标记的要求
+                applicationContext.registerReceiver(new PackageChangedReceiver(), intentFilter, Context.RECEIVER_NOT_EXPORTED);
+            } else {
+                applicationContext.registerReceiver(new PackageChangedReceiver(), intentFilter);
+            }
+        } catch (Exception e) {
+            e.printStackTrace();
+            return false;
+        }
+        sRegisterPackageReceiver = true;
+        return true;
+    }
+
+    /**
+     * 意图解析结果缓存条目
+     */
+    private static final class IntentResolutionEntry {
+
+        /** 意图对象（只包含参与解析的部分） */
+        @NonNull
+        private final Intent intent;
+
+        /** 是否能解析到 Activity */
+        private boolean resolved;
+
+        private IntentResolutionEntry(@NonNull Intent intent, boolean resolved) {
+            this.intent = intent;
+            this.resolved = resolved;
+        }
+    }
+
+    /**
+     * 应用包变化的广播接收器
+     */
+    private static final class PackageChangedReceiver extends BroadcastReceiver {
+
+        @Override
+        public void onReceive(Context context, Intent intent) {
+            // 有应用安装、卸载、更新了，意图的解析结果可能会发生变化，所以需要让缓存失效
+            clear();
+            // 权限设置页的意图列表也是根据已安装的应用生成的（例如厂商的权限管理应用），所以也需要一并清空
+            PermissionSettingIntentCache.clear();
+        }
+    }
+}
\ No newline at end of file
@@ -5,9 +5,11 @@ import android.content.Context;
 import android.content.Intent;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
+import com.hjq.permissions.manifest.AndroidManifestParser;
 import com.hjq.permissions.permission.PermissionChannel;
 import com.hjq.permissions.permission.base.IPermission;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
 
 /**
@@ -41,6 +43,13 @@ public final class PermissionApi {
         return false;
     }
 
+    /**
+     * 判断某个权限是否被授予（优先使用缓存的授予状态）
+     */
+    public static boolean isGrantedPermission(@NonNull Context context, @NonNull IPermission permission) {
+        return PermissionStateCache.isGrantedPermission(context, permission);
+    }
+
     /**
      * 判断某些权限是否全部被授予
      */
@@ -50,7 +59,7 @@ public final class PermissionApi {
         }
 
         for (IPermission permission : permissions) {
-            if (!permission.isGrantedPermission(context)) {
+            if (!isGrantedPermission(context, permission)) {
                 return false;
             }
         }
@@ -58,13 +67,57 @@ public final class PermissionApi {
         return true;
     }
 
+    /**
+     * 批量查询权限的状态（授予状态、不再询问状态、是否支持请求）
+     */
+    @NonNull
+    public static PermissionGrantStates queryGrantStates(@NonNull Context context, @NonNull List<IPermission> permissions) {
+        int size = permissions.size();
+        BitSet grantedStates = new BitSet(size);
+        BitSet doNotAskAgainStates = new BitSet(size);
+        BitSet unsupportedStates = new BitSet(size);
+        // 只有在 Android 6.0 及以上的系统才需要通过 checkSelfPermission 判断危险权限是否授予，所以低版本不需要快照
+        boolean useSnapshot = PermissionVersion.isAndroid6();
+        boolean beginSnapshot = false;
+        Activity activity = PermissionUtils.findActivity(context);
+        try {
+            for (int i = 0; i < size; i++) {
+                IPermission permission = permissions.get(i);
+                if (!permission.isSupportRequestPermission(context)) {
+                    unsupportedStates.set(i);
+                }
+
+                Boolean grantedState = PermissionStateCache.getGrantedState(permission);
+                if (grantedState == null && useSnapshot && !beginSnapshot) {
+                    // 缓存中没有的时候，才一次性查询清单文件中注册的所有权限的授予状态
+                    beginSnapshot = RequestedPermissionsSnapshot.begin(context);
+                    useSnapshot = false;
+                }
+                boolean granted = grantedState != null ? grantedState : isGrantedPermission(context, permission);
+                if (granted) {
+                    grantedStates.set(i);
+                    continue;
+                }
+
+                if (activity != null && permission.isDoNotAskAgainPermission(activity)) {
+                    doNotAskAgainStates.set(i);
+                }
+            }
+        } finally {
+            if (beginSnapshot) {
+                RequestedPermissionsSnapshot.end();
+            }
+        }
+        return new PermissionGrantStates(permissions, grantedStates, doNotAskAgainStates, unsupportedStates);
+    }
+
     /**
      * 获取已经授予的权限
      */
     public static List<IPermission> getGrantedPermissions(@NonNull Context context, @NonNull List<IPermission> permissions) {
         List<IPermission> grantedList = new ArrayList<>(permissions.size());
         for (IPermission permission : permissions) {
-            if (permission.isGrantedPermission(context)) {
+            if (isGrantedPermission(context, permission)) {
                 grantedList.add(permission);
             }
         }
@@ -77,7 +130,7 @@ public final class PermissionApi {
     public static List<IPermission> getDeniedPermissions(@NonNull Context context, @NonNull List<IPermission> permissions) {
         List<IPermission> deniedList = new ArrayList<>(permissions.size());
         for (IPermission permission : permissions) {
-            if (!permission.isGrantedPermission(context)) {
+            if (!isGrantedPermission(context, permission)) {
                 deniedList.add(permission);
             }
         }
@@ -108,12 +161,29 @@ public final class PermissionApi {
             return PermissionSettingPage.getCommonPermissionSettingIntent(context);
         }
 
-        // 创建一个新的集合对象，避免复用对象可能引发外层的冲突
-        List<IPermission> realPermissions = new ArrayList<>(permissions);
+        // 同一个权限组合选出来的意图列表都是一样的，所以优先从缓存中获取
+        List<Intent> cacheIntentList = PermissionSettingIntentCache.get(context, permissions, skipRequest);
+        if (cacheIntentList != null) {
+            return cacheIntentList;
+        }
+
+        List<Intent> intentList = findBestPermissionSettingIntent(context, permissions, skipRequest);
+        PermissionSettingIntentCache.put(context, permissions, skipRequest, intentList);
+        return intentList;
+    }
+
+    /**
+     * 从权限的设置页意图中选出最合适的意图
+     */
+    @NonNull
+    private static List<Intent> findBestPermissionSettingIntent(@NonNull Context context, @NonNull List<IPermission> permissions, boolean skipRequest) {
+
+        // 需要剔除的权限集合
+        PermissionSet removePermissionSet = new PermissionSet();
         for (IPermission permission : permissions) {
             if (permission.getFromAndroidVersion(context) > PermissionVersion.getCurrentVersion()) {
                 // 如果当前权限是高版本才出现的权限，则进行剔除
-                realPermissions.remove(permission);
+                removePermissionSet.add(permission);
                 continue;
             }
 
@@ -125,10 +195,19 @@ public final class PermissionApi {
             if (oldPermissions != null && !oldPermissions.isEmpty() &&
                 (permission.getPermissionChannel(context) == PermissionChannel.START_ACTIVITY_FOR_RESULT ||
                     containsPermissionByStartActivityForResult(context, oldPermissions))) {
-                realPermissions.removeAll(oldPermissions);
+                removePermissionSet.addAll(oldPermissions);
             }
         }
 
+        // 创建一个新的集合对象，避免复用对象可能引发外层的冲突
+        List<IPermission> realPermissions = new ArrayList<>(permissions.size());
+        for (IPermission permission : permissions) {
+            if (removePermissionSet.contains(permission)) {
+                continue;
+            }
+            realPermissions.add(permission);
+        }
+
         if (realPermissions.isEmpty()) {
             return PermissionSettingPage.getCommonPermissionSettingIntent(context);
         }
@@ -160,6 +239,8 @@ public final class PermissionApi {
      * 根据新权限添加旧权限
      */
     public static synchronized void addOldPermissionsByNewPermissions(@NonNull Context context, @NonNull List<IPermission> requestList) {
+        // 请求列表中已有的权限集合，用于快速判断旧权限是否已经在请求列表中
+        PermissionSet requestSet = new PermissionSet(requestList);
         // 这里需要将 index 设置成 -1，这样走到下面循环的时候，++i 第一次循环 index 就是 0 了
         int index = -1;
         // ++index 是前置递增（先将 index 的值加 1，再返回增加后的值）
@@ -177,7 +258,7 @@ public final class PermissionApi {
             }
             for (IPermission oldPermission : oldPermissions) {
                 // 如果请求列表已经包含此权限，就不重复添加，直接跳过
-                if (PermissionUtils.containsPermission(requestList, oldPermission)) {
+                if (!requestSet.add(oldPermission)) {
                     continue;
                 }
                 // index + 1 是将旧版本的权限添加到新版本的权限后面，这样才能确保不打乱申请的传入顺序
@@ -221,4 +302,18 @@ public final class PermissionApi {
         }
         return maxWaitTime;
     }
+
+    /**
+     * 获取检查权限是否合规时需要用到的清单文件节点类型
+     */
+    public static int getRequiredManifestSections(@Nullable List<IPermission> permissions) {
+        int sections = AndroidManifestParser.SECTION_BASE;
+        if (permissions == null) {
+            return sections;
+        }
+        for (IPermission permission : permissions) {
+            sections |= permission.getRequiredManifestSections();
+        }
+        return sections;
+    }
 }
\ No newline at end of file
@@ -10,7 +10,10 @@ import com.hjq.permissions.permission.base.IPermission;
 import java.lang.reflect.Field;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.util.Collections;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  *    author : Android 轮子哥
@@ -20,6 +23,9 @@ import java.util.List;
  */
 public final class PermissionChecker {
 
+    /** 已经检查过序列化实现的权限类集合（同一个类的检查结果是不会变化的，所以只需要检查一次） */
+    private static final Set<Class<?>> PARCELABLE_CHECKED_CLASS_SET = Collections.newSetFromMap(new ConcurrentHashMap<>());
+
     /**
      * 检查 {@link android.app.Activity} 对象的状态是否正常
      */
@@ -87,6 +93,9 @@ public final class PermissionChecker {
      */
     public static void checkPermissionParcelable(@NonNull IPermission permission) {
         Class<? extends IPermission> clazz = permission.getClass();
+        if (PARCELABLE_CHECKED_CLASS_SET.contains(clazz)) {
+            return;
+        }
         String className = clazz.getName();
 
         // 获取 CREATOR 字段
@@ -155,5 +164,8 @@ public final class PermissionChecker {
             throw new IllegalArgumentException("The newArray method of the CREATOR field in this " + className +
                 " returns an empty value. This method cannot return an empty value");
         }
+
+        // 只有检查通过的权限类才记录下来，检查不通过的下次还要继续抛出异常
+        PARCELABLE_CHECKED_CLASS_SET.add(clazz);
     }
 }
\ No newline at end of file
@@ -0,0 +1,132 @@
+package com.hjq.permissions.tools;
+
+import androidx.annotation.NonNull;
+import com.hjq.permissions.permission.base.IPermission;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ *    author : Android 轮子哥
+ *    github : https://github.com/getActivity/XXPermissions
+ *    time   : 2026/10/18
+ *    desc   : 权限状态批量查询的结果
+ */
+public final class PermissionGrantStates {
+
+    /** 查询的权限列表 */
+    @NonNull
+    private final List<IPermission> mPermissions;
+
+    /** 已授予的权限（按照权限在列表中的位置记录） */
+    @NonNull
+    private final BitSet mGrantedStates;
+
+    /** 勾选了不再询问选项的权限（按照权限在列表中的位置记录） */
+    @NonNull
+    private final BitSet mDoNotAskAgainStates;
+
+    /** 当前系统不支持请求的权限（按照权限在列表中的位置记录） */
+    @NonNull
+    private final BitSet mUnsupportedStates;
+
+    PermissionGrantStates(@NonNull List<IPermission> permissions, @NonNull BitSet grantedStates,
+                          @NonNull BitSet doNotAskAgainStates, @NonNull BitSet unsupportedStates) {
+        mPermissions = Collections.unmodifiableList(new ArrayList<>(permissions));
+        mGrantedStates = grantedStates;
+        mDoNotAskAgainStates = doNotAskAgainStates;
+        mUnsupportedStates = unsupportedStates;
+    }
+
+    /**
+     * 获取查询的权限列表
+     */
+    @NonNull
+    public List<IPermission> getPermissions() {
+        return mPermissions;
+    }
+
+    /**
+     * 获取查询的权限数量
+     */
+    public int size() {
+        return mPermissions.size();
+    }
+
+    /**
+     * 判断某个位置上的权限是否授予
+     */
+    public boolean isGranted(int index) {
+        return mGrantedStates.get(index);
+    }
+
+    /**
+     * 判断某个位置上的权限是否被勾选了不再询问的选项
+     */
+    public boolean isDoNotAskAgain(int index) {
+        return mDoNotAskAgainStates.get(index);
+    }
+
+    /**
+     * 判断某个位置上的权限是否不支持在当前系统上请求
+     */
+    public boolean isUnsupported(int index) {
+        return mUnsupportedStates.get(index);
+    }
+
+    /**
+     * 判断查询的权限是否全部授予
+     */
+    public boolean isAllGranted() {
+        return !mPermissions.isEmpty() && mGrantedStates.cardinality() == mPermissions.size();
+    }
+
+    /**
+     * 获取已授予的权限掩码（第 n 位代表列表中第 n 个权限）
+     */
+    @NonNull
+    public BitSet getGrantedMask() {
+        return (BitSet) mGrantedStates.clone();
+    }
+
+    /**
+     * 获取勾选了不再询问选项的权限掩码（第 n 位代表列表中第 n 个权限）
+     */
+    @NonNull
+    public BitSet getDoNotAskAgainMask() {
+        return (BitSet) mDoNotAskAgainStates.clone();
+    }
+
+    /**
+     * 获取当前系统不支持请求的权限掩码（第 n 位代表列表中第 n 个权限）
+     */
+    @NonNull
+    public BitSet getUnsupportedMask() {
+        return (BitSet) mUnsupportedStates.clone();
+    }
+
+    /**
+     * 获取已授予的权限
+     */
+    @NonNull
+    public List<IPermission> getGrantedPermissions() {
+        List<IPermission> grantedList = new ArrayList<>(mGrantedStates.cardinality());
+        for (int i = mGrantedStates.nextSetBit(0); i >= 0; i = mGrantedStates.nextSetBit(i + 1)) {
+            grantedList.add(mPermissions.get(i));
+        }
+        return grantedList;
+    }
+
+    /**
+     * 获取没有授予的权限
+     */
+    @NonNull
+    public List<IPermission> getDeniedPermissions() {
+        List<IPermission> deniedList = new ArrayList<>(mPermissions.size() - mGrantedStates.cardinality());
+        for (int i = mGrantedStates.nextClearBit(0); i < mPermissions.size(); i = mGrantedStates.nextClearBit(i + 1)) {
+            deniedList.add(mPermissions.get(i));
+        }
+        return deniedList;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,262 @@
+package com.hjq.permissions.tools;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import com.hjq.permissions.permission.PermissionNames;
+
+/**
+ *    author : Android 轮子哥
+ *    github : https://github.com/getActivity/XXPermissions
+ *    time   : 2026/10/18
+ *    desc   : 框架内置权限名称的序号表
+ */
+public final class PermissionNameIndex {
+
+    /**
+     * 框架内置的权限名称（数组下标即为权限的序号）
+     *
+     * 需要注意的是：新增权限的时候只能在末尾追加，不要调整已有权限的顺序，这样权限的序号才是稳定的
+     */
+    private static final String[] PERMISSION_NAMES = {
+        PermissionNames.GET_INSTALLED_APPS,
+        PermissionNames.USE_FULL_SCREEN_INTENT,
+        PermissionNames.SCHEDULE_EXACT_ALARM,
+        PermissionNames.MANAGE_EXTERNAL_STORAGE,
+        PermissionNames.REQUEST_INSTALL_PACKAGES,
+        PermissionNames.PICTURE_IN_PICTURE,
+        PermissionNames.SYSTEM_ALERT_WINDOW,
+        PermissionNames.WRITE_SETTINGS,
+        PermissionNames.REQUEST_IGNORE_BATTERY_OPTIMIZATIONS,
+        PermissionNames.ACCESS_NOTIFICATION_POLICY,
+        PermissionNames.PACKAGE_USAGE_STATS,
+        PermissionNames.BIND_NOTIFICATION_LISTENER_SERVICE,
+        PermissionNames.BIND_VPN_SERVICE,
+        PermissionNames.NOTIFICATION_SERVICE,
+        PermissionNames.BIND_ACCESSIBILITY_SERVICE,
+        PermissionNames.BIND_DEVICE_ADMIN,
+        PermissionNames.READ_MEDIA_VISUAL_USER_SELECTED,
+        PermissionNames.POST_NOTIFICATIONS,
+        PermissionNames.NEARBY_WIFI_DEVICES,
+        PermissionNames.BODY_SENSORS_BACKGROUND,
+        PermissionNames.READ_MEDIA_IMAGES,
+        PermissionNames.READ_MEDIA_VIDEO,
+        PermissionNames.READ_MEDIA_AUDIO,
+        PermissionNames.BLUETOOTH_SCAN,
+        PermissionNames.BLUETOOTH_CONNECT,
+        PermissionNames.BLUETOOTH_ADVERTISE,
+        PermissionNames.ACCESS_BACKGROUND_LOCATION,
+        PermissionNames.ACTIVITY_RECOGNITION,
+        PermissionNames.ACCESS_MEDIA_LOCATION,
+        PermissionNames.ACCEPT_HANDOVER,
+        PermissionNames.READ_PHONE_NUMBERS,
+        PermissionNames.ANSWER_PHONE_CALLS,
+        PermissionNames.READ_EXTERNAL_STORAGE,
+        PermissionNames.WRITE_EXTERNAL_STORAGE,
+        PermissionNames.CAMERA,
+        PermissionNames.RECORD_AUDIO,
+        PermissionNames.ACCESS_FINE_LOCATION,
+        PermissionNames.ACCESS_COARSE_LOCATION,
+        PermissionNames.READ_CONTACTS,
+        PermissionNames.WRITE_CONTACTS,
+        PermissionNames.GET_ACCOUNTS,
+        PermissionNames.READ_CALENDAR,
+        PermissionNames.WRITE_CALENDAR,
+        PermissionNames.READ_PHONE_STATE,
+        PermissionNames.CALL_PHONE,
+        PermissionNames.READ_CALL_LOG,
+        PermissionNames.WRITE_CALL_LOG,
+        PermissionNames.ADD_VOICEMAIL,
+        PermissionNames.USE_SIP,
+        PermissionNames.PROCESS_OUTGOING_CALLS,
+        PermissionNames.BODY_SENSORS,
+        PermissionNames.SEND_SMS,
+        PermissionNames.RECEIVE_SMS,
+        PermissionNames.READ_SMS,
+        PermissionNames.RECEIVE_WAP_PUSH,
+        PermissionNames.RECEIVE_MMS,
+        PermissionNames.READ_HEALTH_DATA_IN_BACKGROUND,
+        PermissionNames.READ_HEALTH_DATA_HISTORY,
+        PermissionNames.READ_ACTIVE_CALORIES_BURNED,
+        PermissionNames.WRITE_ACTIVE_CALORIES_BURNED,
+        PermissionNames.READ_ACTIVITY_INTENSITY,
+        PermissionNames.WRITE_ACTIVITY_INTENSITY,
+        PermissionNames.READ_BASAL_BODY_TEMPERATURE,
+        PermissionNames.WRITE_BASAL_BODY_TEMPERATURE,
+        PermissionNames.READ_BASAL_METABOLIC_RATE,
+        PermissionNames.WRITE_BASAL_METABOLIC_RATE,
+        PermissionNames.READ_BLOOD_GLUCOSE,
+        PermissionNames.WRITE_BLOOD_GLUCOSE,
+        PermissionNames.READ_BLOOD_PRESSURE,
+        PermissionNames.WRITE_BLOOD_PRESSURE,
+        PermissionNames.READ_BODY_FAT,
+        PermissionNames.WRITE_BODY_FAT,
+        PermissionNames.READ_BODY_TEMPERATURE,
+        PermissionNames.WRITE_BODY_TEMPERATURE,
+        PermissionNames.READ_BODY_WATER_MASS,
+        PermissionNames.WRITE_BODY_WATER_MASS,
+        PermissionNames.READ_BONE_MASS,
+        PermissionNames.WRITE_BONE_MASS,
+        PermissionNames.READ_CERVICAL_MUCUS,
+        PermissionNames.WRITE_CERVICAL_MUCUS,
+        PermissionNames.READ_DISTANCE,
+        PermissionNames.WRITE_DISTANCE,
+        PermissionNames.READ_ELEVATION_GAINED,
+        PermissionNames.WRITE_ELEVATION_GAINED,
+        PermissionNames.READ_EXERCISE,
+        PermissionNames.WRITE_EXERCISE,
+        PermissionNames.READ_EXERCISE_ROUTES,
+        PermissionNames.WRITE_EXERCISE_ROUTE,
+        PermissionNames.READ_FLOORS_CLIMBED,
+        PermissionNames.WRITE_FLOORS_CLIMBED,
+        PermissionNames.READ_HEART_RATE,
+        PermissionNames.WRITE_HEART_RATE,
+        PermissionNames.READ_HEART_RATE_VARIABILITY,
+        PermissionNames.WRITE_HEART_RATE_VARIABILITY,
+        PermissionNames.READ_HEIGHT,
+        PermissionNames.WRITE_HEIGHT,
+        PermissionNames.READ_HYDRATION,
+        PermissionNames.WRITE_HYDRATION,
+        PermissionNames.READ_INTERMENSTRUAL_BLEEDING,
+        PermissionNames.WRITE_INTERMENSTRUAL_BLEEDING,
+        PermissionNames.READ_LEAN_BODY_MASS,
+        PermissionNames.WRITE_LEAN_BODY_MASS,
+        PermissionNames.READ_MENSTRUATION,
+        PermissionNames.WRITE_MENSTRUATION,
+        PermissionNames.READ_MINDFULNESS,
+        PermissionNames.WRITE_MINDFULNESS,
+        PermissionNames.READ_NUTRITION,
+        PermissionNames.WRITE_NUTRITION,
+        PermissionNames.READ_OVULATION_TEST,
+        PermissionNames.WRITE_OVULATION_TEST,
+        PermissionNames.READ_OXYGEN_SATURATION,
+        PermissionNames.WRITE_OXYGEN_SATURATION,
+        PermissionNames.READ_PLANNED_EXERCISE,
+        PermissionNames.WRITE_PLANNED_EXERCISE,
+        PermissionNames.READ_POWER,
+        PermissionNames.WRITE_POWER,
+        PermissionNames.READ_RESPIRATORY_RATE,
+        PermissionNames.WRITE_RESPIRATORY_RATE,
+        PermissionNames.READ_RESTING_HEART_RATE,
+        PermissionNames.WRITE_RESTING_HEART_RATE,
+        PermissionNames.READ_SEXUAL_ACTIVITY,
+        PermissionNames.WRITE_SEXUAL_ACTIVITY,
+        PermissionNames.READ_SKIN_TEMPERATURE,
+        PermissionNames.WRITE_SKIN_TEMPERATURE,
+        PermissionNames.READ_SLEEP,
+        PermissionNames.WRITE_SLEEP,
+        PermissionNames.READ_SPEED,
+        PermissionNames.WRITE_SPEED,
+        PermissionNames.READ_STEPS,
+        PermissionNames.WRITE_STEPS,
+        PermissionNames.READ_TOTAL_CALORIES_BURNED,
+        PermissionNames.WRITE_TOTAL_CALORIES_BURNED,
+        PermissionNames.READ_VO2_MAX,
+        PermissionNames.WRITE_VO2_MAX,
+        PermissionNames.READ_WEIGHT,
+        PermissionNames.WRITE_WEIGHT,
+        PermissionNames.READ_WHEELCHAIR_PUSHES,
+        PermissionNames.WRITE_WHEELCHAIR_PUSHES,
+        PermissionNames.READ_MEDICAL_DATA_ALLERGIES_INTOLERANCES,
+        PermissionNames.READ_MEDICAL_DATA_CONDITIONS,
+        PermissionNames.READ_MEDICAL_DATA_LABORATORY_RESULTS,
+        PermissionNames.READ_MEDICAL_DATA_MEDICATIONS,
+        PermissionNames.READ_MEDICAL_DATA_PERSONAL_DETAILS,
+        PermissionNames.READ_MEDICAL_DATA_PRACTITIONER_DETAILS,
+        PermissionNames.READ_MEDICAL_DATA_PREGNANCY,
+        PermissionNames.READ_MEDICAL_DATA_PROCEDURES,
+        PermissionNames.READ_MEDICAL_DATA_SOCIAL_HISTORY,
+        PermissionNames.READ_MEDICAL_DATA_VACCINES,
+        PermissionNames.READ_MEDICAL_DATA_VISITS,
+        PermissionNames.READ_MEDICAL_DATA_VITAL_SIGNS,
+        PermissionNames.WRITE_MEDICAL_DATA
+    };
+
+    /** 框架内置的权限数量 */
+    public static final int PERMISSION_COUNT = PERMISSION_NAMES.length;
+
+    /*
+     * 这里解释一下为什么不用 HashMap 来记录权限名称和序号的映射关系，因为权限名称是固定的，所以可以事先找到一个乘数，
+     * 让所有权限名称的 hashCode 乘以这个乘数之后，取高位得到的槽位都不一样（也就是所谓的完美哈希），这样查询序号的时候，
+     * 只需要一次乘法和一次位移就能定位到槽位，再比较一次字符串就能得出结果，不需要像 HashMap 那样处理哈希冲突和装箱拆箱
+     *
+     * 需要注意的是：如果新增了权限导致槽位冲突（类初始化的时候会直接抛出异常），需要重新计算 PERFECT_HASH_MULTIPLIER 的值，
+     * 计算方式：随机选取一个奇数作为乘数，计算所有权限名称的 (hashCode * 乘数) >>> PERFECT_HASH_SHIFT，如果没有重复的值，那么这个乘数就是可用的
+     */
+
+    /** 完美哈希的乘数 */
+    private static final int PERFECT_HASH_MULTIPLIER = 0x4180d777;
+
+    /** 完美哈希表的位数 */
+    private static final int PERFECT_HASH_BITS = 10;
+
+    /** 完美哈希的位移量 */
+    private static final int PERFECT_HASH_SHIFT = Integer.SIZE - PERFECT_HASH_BITS;
+
+    /** 完美哈希表（存放的是权限序号 + 1，为 0 则表示这个槽位没有权限） */
+    private static final short[] PERFECT_HASH_TABLE = new short[1 << PERFECT_HASH_BITS];
+
+    static {
+        for (int i = 0; i < PERMISSION_COUNT; i++) {
+            int slot = getHashSlot(PERMISSION_NAMES[i]);
+            if (PERFECT_HASH_TABLE[slot] != 0) {
+                throw new IllegalStateException("The perfect hash multiplier needs to be regenerated, " +
+                    PERMISSION_NAMES[i] + " conflicts with " + PERMISSION_NAMES[PERFECT_HASH_TABLE[slot] - 1]);
+            }
+            PERFECT_HASH_TABLE[slot] = (short) (i + 1);
+        }
+    }
+
+    /** 私有化构造函数 */
+    private PermissionNameIndex() {
+        // default implementation ignored
+    }
+
+    /**
+     * 获取权限名称对应的序号（如果不是框架内置的权限则返回 -1）
+     */
+    public static int indexOf(@Nullable String permissionName) {
+        if (permissionName == null) {
+            return -1;
+        }
+        int index = PERFECT_HASH_TABLE[getHashSlot(permissionName)] - 1;
+        if (index < 0) {
+            return -1;
+        }
+        String name = PERMISSION_NAMES[index];
+        // 槽位上的权限不一定就是要找的权限（自定义的权限也有可能落到这个槽位上），所以还要再比较一次字符串
+        if (name == permissionName || name.equals(permissionName)) {
+            return index;
+        }
+        return -1;
+    }
+
+    /**
+     * 获取权限名称的规范对象（如果是框架内置的权限，则返回 PermissionNames 中对应的字符串常量，否则原样返回）
+     *
+     * 从系统或者外部拿到的权限名称虽然内容一样，但不是同一个字符串对象，转换成规范对象之后，
+     * 后续比较的时候直接比较内存地址就能得出结果，不需要再逐个字符进行比较
+     */
+    @Nullable
+    public static String intern(@Nullable String permissionName) {
+        int index = indexOf(permissionName);
+        if (index < 0) {
+            return permissionName;
+        }
+        return PERMISSION_NAMES[index];
+    }
+
+    /**
+     * 获取序号对应的权限名称
+     */
+    @NonNull
+    public static String getPermissionName(int index) {
+        return PERMISSION_NAMES[index];
+    }
+
+    /**
+     * 获取权限名称在完美哈希表中的槽位
+     */
+    private static int getHashSlot(@NonNull String permissionName) {
+        return (permissionName.hashCode() * PERFECT_HASH_MULTIPLIER) >>> PERFECT_HASH_SHIFT;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,90 @@
+package com.hjq.permissions.tools;
+
+import android.content.Context;
+import android.content.Intent;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import com.hjq.device.compat.DeviceOs;
+import com.hjq.permissions.manifest.AndroidManifestParser;
+import com.hjq.permissions.permission.base.IPermission;
+import java.util.List;
+
+/**
+ *    author : Android 轮子哥
+ *    github : https://github.com/getActivity/XXPermissions
+ *    time   : 2026/10/18
+ *    desc   : 权限预热类
+ */
+public final class PermissionPrewarmer {
+
+    /*
+     * 这里解释一下为什么需要预热，第一次申请权限的时候，框架需要做很多初始化的工作，例如：解析清单文件（需要反射获取 apk 的 cookie）、
+     * 读取厂商系统的属性、查询权限的授予状态，而这些工作默认都是在主线程上面进行的，所以第一次申请权限的时候会有明显的卡顿，
+     * 预热就是提前在子线程中把这些工作做完，结果会保存到对应的缓存中（这些缓存都是通过 volatile 字段或者类初始化来发布的，
+     * 所以主线程后面读取的时候不需要加锁也能拿到完整的结果），这样等到真正申请权限的时候，就可以直接复用预热的结果，
+     * 但是权限的授予状态是一个例外，它的缓存有效时长很短，并且在 Activity 回到前台的时候就会失效，
+     * 所以在 Application.onCreate 中预热的授予状态是等不到真正申请权限的时候的，这里只预热判断授予状态时所依赖的东西
+     * （例如 AppOpsManager 的反射结果、系统设置中已开启的服务组件列表），而不会把授予状态本身放到缓存中
+     */
+
+    /** 私有化构造函数 */
+    private PermissionPrewarmer() {
+        // default implementation ignored
+    }
+
+    /**
+     * 预热（需要在子线程中调用）
+     *
+     * @param context               上下文
+     * @param permissions           后面需要申请的权限（可以为空）
+     * @param parseManifest         是否需要解析清单文件（只有在检查模式下才会用到清单文件）
+     */
+    public static void prewarm(@NonNull Context context, @Nullable List<IPermission> permissions, boolean parseManifest) {
+        Context applicationContext = context.getApplicationContext() != null ? context.getApplicationContext() : context;
+
+        if (parseManifest) {
+            int sections = permissions != null && !permissions.isEmpty() ?
+                PermissionApi.getRequiredManifestSections(permissions) : AndroidManifestParser.SECTION_ALL;
+            AndroidManifestParser.getAndroidManifestInfo(applicationContext, sections);
+        }
+
+        // 提前读取厂商系统的属性，这些属性读取之后会被缓存起来，后面再读取就不需要再去查询系统属性了
+        DeviceOs.isHyperOs();
+        DeviceOs.isMiui();
+        DeviceOs.isMiuiOptimization();
+        DeviceOs.isColorOs();
+        DeviceOs.isHarmonyOs();
+        DeviceOs.isEmui();
+        DeviceOs.isMagicOs();
+        DeviceOs.isOneUi();
+        DeviceOs.getOsBigVersionCode();
+
+        if (permissions == null || permissions.isEmpty()) {
+            return;
+        }
+        for (IPermission permission : permissions) {
+            // 这里直接调用权限对象的方法，而不是走 PermissionApi，这是因为查询出来的授予状态不需要放到缓存中，
+            // 这里只是为了让判断授予状态时所依赖的反射结果和系统设置索引提前初始化好
+            permission.isGrantedPermission(applicationContext);
+        }
+    }
+
+    /**
+     * 预热权限设置页的意图（需要在子线程中调用）
+     *
+     * @param context               上下文
+     * @param permissions           被拒绝之后需要跳转权限设置页的权限组合
+     */
+    public static void prewarmPermissionSettingIntents(@NonNull Context context, @NonNull List<IPermission> permissions) {
+        Context applicationContext = context.getApplicationContext() != null ? context.getApplicationContext() : context;
+        // 跳过申请直接跳转和申请失败之后跳转这两种情况都需要预热
+        boolean[] skipRequestArray = {true, false};
+        for (boolean skipRequest : skipRequestArray) {
+            List<Intent> intentList = PermissionApi.getBestPermissionSettingIntent(applicationContext, permissions, skipRequest);
+            for (Intent intent : intentList) {
+                // 提前判断意图是否存在，判断的结果会被放到缓存中
+                PermissionUtils.areActivityIntent(applicationContext, intent);
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,86 @@
+package com.hjq.permissions.tools;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import com.hjq.permissions.OnPermissionQueryCallback;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+
+/**
+ *    author : Android 轮子哥
+ *    github : https://github.com/getActivity/XXPermissions
+ *    time   : 2026/10/18
+ *    desc   : 权限状态异步查询任务
+ */
+public final class PermissionQueryTask<T> extends FutureTask<T> {
+
+    /** 查询结果回调 */
+    @Nullable
+    private final OnPermissionQueryCallback<T> mCallback;
+
+    /** 是否已经取消了（任务执行完成之后 FutureTask 就不能再取消了，但是这个时候结果可能还没有回调，所以需要单独记录） */
+    private volatile boolean mCanceled;
+
+    private PermissionQueryTask(@NonNull Callable<T> callable, @Nullable OnPermissionQueryCallback<T> callback) {
+        super(callable);
+        mCallback = callback;
+    }
+
+    /**
+     * 在线程池中执行查询任务，查询完成之后会在主线程中回调结果
+     *
+     * @param executor              执行查询任务的线程池
+     * @param callable              查询任务
+     * @param callback              查询结果回调（可以为空，为空的时候可以通过返回的 Future 对象获取结果）
+     * @return                      可以通过返回的 Future 对象取消任务，任务被取消之后不会再回调结果
+     */
+    @NonNull
+    public static <T> Future<T> execute(@NonNull Executor executor, @NonNull Callable<T> callable,
+                                        @Nullable OnPermissionQueryCallback<T> callback) {
+        PermissionQueryTask<T> task = new PermissionQueryTask<>(callable, callback);
+        executor.execute(task);
+        return task;
+    }
+
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+        mCanceled = true;
+        return super.cancel(mayInterruptIfRunning);
+    }
+
+    @Override
+    protected void done() {
+        if (mCallback == null || isCancelled()) {
+            return;
+        }
+        T result;
+        try {
+            result = get();
+        } catch (InterruptedException e) {
+            // 任务在执行的过程中被中断了，那么就不需要回调结果了
+            return;
+        } catch (ExecutionException e) {
+            // 查询的过程中出现了异常，这里不能直接在主线程中抛出，因为在 Handler 任务中抛出的异常外层是没有办法捕获的，
+            // 这样会直接导致应用崩溃，所以这里通过回调把异常交给外层处理，外层也可以通过 Future.get 拿到这个异常
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            PermissionTaskHandler.sendTask(() -> {
+                // 在切换到主线程的这段时间里面，任务有可能被取消了
+                if (mCanceled) {
+                    return;
+                }
+                mCallback.onError(cause);
+            }, 0);
+            return;
+        }
+        PermissionTaskHandler.sendTask(() -> {
+            // 在切换到主线程的这段时间里面，任务有可能被取消了
+            if (mCanceled) {
+                return;
+            }
+            mCallback.onResult(result);
+        }, 0);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,227 @@
+package com.hjq.permissions.tools;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import com.hjq.permissions.permission.base.IPermission;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ *    author : Android 轮子哥
+ *    github : https://github.com/getActivity/XXPermissions
+ *    time   : 2026/10/18
+ *    desc   : 权限集合（按照权限名称去重）
+ */
+public final class PermissionSet {
+
+    /*
+     * 这里解释一下为什么不直接用 List 或者 HashSet 来存放权限，框架在请求权限的过程中会频繁判断某个权限是否已经处理过，
+     * 如果用 List 来存放，每次判断都要遍历整个集合并且逐个比较字符串，而用 HashSet 来存放，每次判断也要计算一次字符串的哈希值，
+     * 但是框架内置的权限是固定的，所以可以给每个权限分配一个固定的序号（详见 PermissionNameIndex 类），然后用 long 的二进制位来记录权限是否存在，
+     * 这样判断是否包含某个权限就只是一次位运算，求并集和交集也只需要对几个 long 做位运算，至于外部自定义的权限，则放到一个额外的 HashSet 中
+     */
+
+    /** 每个 long 能容纳的权限数量 */
+    private static final int BITS_PER_WORD = 64;
+
+    /** 容纳框架内置权限需要用到的 long 数量 */
+    private static final int WORD_COUNT = (PermissionNameIndex.PERMISSION_COUNT + BITS_PER_WORD - 1) / BITS_PER_WORD;
+
+    /** 框架内置权限的二进制位集合 */
+    @NonNull
+    private final long[] mWords = new long[WORD_COUNT];
+
+    /** 外部自定义权限的名称集合（用到的时候才会创建） */
+    @Nullable
+    private Set<String> mCustomPermissionNames;
+
+    public PermissionSet() {
+        // default implementation ignored
+    }
+
+    public PermissionSet(@Nullable Collection<IPermission> permissions) {
+        addAll(permissions);
+    }
+
+    /**
+     * 添加权限，如果集合中原本没有这个权限则返回 true
+     */
+    public boolean add(@NonNull IPermission permission) {
+        return add(permission.getPermissionName());
+    }
+
+    /**
+     * 添加权限，如果集合中原本没有这个权限则返回 true
+     */
+    public boolean add(@NonNull String permissionName) {
+        int index = PermissionNameIndex.indexOf(permissionName);
+        if (index < 0) {
+            if (mCustomPermissionNames == null) {
+                mCustomPermissionNames = new HashSet<>();
+            }
+            return mCustomPermissionNames.add(permissionName);
+        }
+        int wordIndex = index / BITS_PER_WORD;
+        long mask = 1L << (index % BITS_PER_WORD);
+        if ((mWords[wordIndex] & mask) != 0) {
+            return false;
+        }
+        mWords[wordIndex] |= mask;
+        return true;
+    }
+
+    /**
+     * 批量添加权限
+     */
+    public void addAll(@Nullable Collection<IPermission> permissions) {
+        if (permissions == null) {
+            return;
+        }
+        for (IPermission permission : permissions) {
+            add(permission);
+        }
+    }
+
+    /**
+     * 求并集（将另外一个集合中的权限全部添加到当前集合中）
+     */
+    public void addAll(@NonNull PermissionSet permissionSet) {
+        for (int i = 0; i < WORD_COUNT; i++) {
+            mWords[i] |= permissionSet.mWords[i];
+        }
+        if (permissionSet.mCustomPermissionNames == null || permissionSet.mCustomPermissionNames.isEmpty()) {
+            return;
+        }
+        if (mCustomPermissionNames == null) {
+            mCustomPermissionNames = new HashSet<>();
+        }
+        mCustomPermissionNames.addAll(permissionSet.mCustomPermissionNames);
+    }
+
+    /**
+     * 求交集（只保留两个集合中都有的权限）
+     */
+    public void retainAll(@NonNull PermissionSet permissionSet) {
+        for (int i = 0; i < WORD_COUNT; i++) {
+            mWords[i] &= permissionSet.mWords[i];
+        }
+        if (mCustomPermissionNames == null) {
+            return;
+        }
+        if (permissionSet.mCustomPermissionNames == null) {
+            mCustomPermissionNames.clear();
+            return;
+        }
+        mCustomPermissionNames.retainAll(permissionSet.mCustomPermissionNames);
+    }
+
+    /**
+     * 求差集（移除另外一个集合中的权限）
+     */
+    public void removeAll(@NonNull PermissionSet permissionSet) {
+        for (int i = 0; i < WORD_COUNT; i++) {
+            mWords[i] &= ~permissionSet.mWords[i];
+        }
+        if (mCustomPermissionNames == null || permissionSet.mCustomPermissionNames == null) {
+            return;
+        }
+        mCustomPermissionNames.removeAll(permissionSet.mCustomPermissionNames);
+    }
+
+    /**
+     * 移除权限，如果集合中原本有这个权限则返回 true
+     */
+    public boolean remove(@NonNull String permissionName) {
+        int index = PermissionNameIndex.indexOf(permissionName);
+        if (index < 0) {
+            return mCustomPermissionNames != null && mCustomPermissionNames.remove(permissionName);
+        }
+        int wordIndex = index / BITS_PER_WORD;
+        long mask = 1L << (index % BITS_PER_WORD);
+        if ((mWords[wordIndex] & mask) == 0) {
+            return false;
+        }
+        mWords[wordIndex] &= ~mask;
+        return true;
+    }
+
+    /**
+     * 判断是否包含某个权限
+     */
+    public boolean contains(@NonNull IPermission permission) {
+        return contains(permission.getPermissionName());
+    }
+
+    /**
+     * 判断是否包含某个权限
+     */
+    public boolean contains(@Nullable String permissionName) {
+        int index = PermissionNameIndex.indexOf(permissionName);
+        if (index < 0) {
+            return permissionName != null && mCustomPermissionNames != null && mCustomPermissionNames.contains(permissionName);
+        }
+        return (mWords[index / BITS_PER_WORD] & (1L << (index % BITS_PER_WORD))) != 0;
+    }
+
+    /**
+     * 获取权限的数量
+     */
+    public int size() {
+        int size = 0;
+        for (long word : mWords) {
+            size += Long.bitCount(word);
+        }
+        if (mCustomPermissionNames != null) {
+            size += mCustomPermissionNames.size();
+        }
+        return size;
+    }
+
+    /**
+     * 判断集合是否为空
+     */
+    public boolean isEmpty() {
+        for (long word : mWords) {
+            if (word != 0) {
+                return false;
+            }
+        }
+        return mCustomPermissionNames == null || mCustomPermissionNames.isEmpty();
+    }
+
+    /**
+     * 清空集合
+     */
+    public void clear() {
+        for (int i = 0; i < WORD_COUNT; i++) {
+            mWords[i] = 0;
+        }
+        if (mCustomPermissionNames != null) {
+            mCustomPermissionNames.clear();
+        }
+    }
+
+    /**
+     * 获取集合中所有的权限名称（框架内置的权限按照序号排列，自定义的权限排在最后）
+     */
+    @NonNull
+    public List<String> getPermissionNames() {
+        List<String> permissionNames = new ArrayList<>(size());
+        for (int i = 0; i < WORD_COUNT; i++) {
+            long word = mWords[i];
+            while (word != 0) {
+                int bitIndex = Long.numberOfTrailingZeros(word);
+                permissionNames.add(PermissionNameIndex.getPermissionName(i * BITS_PER_WORD + bitIndex));
+                // 清除最低位的 1
+                word &= word - 1;
+            }
+        }
+        if (mCustomPermissionNames != null) {
+            permissionNames.addAll(mCustomPermissionNames);
+        }
+        return permissionNames;
+    }
+}
\ No newline at end of file
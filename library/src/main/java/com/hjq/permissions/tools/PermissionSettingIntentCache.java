@@ -0,0 +1,162 @@
+package com.hjq.permissions.tools;
+
+import android.content.Context;
+import android.content.Intent;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import com.hjq.permissions.permission.base.IPermission;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ *    author : Android 轮子哥
+ *    github : https://github.com/getActivity/XXPermissions
+ *    time   : 2026/10/18
+ *    desc   : 权限设置页意图缓存类
+ */
+public final class PermissionSettingIntentCache {
+
+    /*
+     * 这里解释一下为什么要缓存权限设置页的意图，在权限被拒绝或者跳转权限设置页的时候，框架需要给每个权限都创建一遍设置页的意图列表，
+     * 其中还会涉及到厂商系统的判断，最后还要两两对比这些意图列表是否一致，才能选出最合适的意图列表，而这个结果只和设备、应用、权限组合有关，
+     * 所以可以按照权限组合缓存起来，需要注意的是，有一些权限的设置页意图是和授予状态或者权限参数有关的（例如忽略电池优化权限），
+     * 这类权限会通过 IPermission.isPermissionSettingIntentsCacheable 返回 false，只要权限组合中包含了这类权限，就不会走缓存
+     */
+
+    /** 缓存的最大数量 */
+    private static final int MAX_CACHE_SIZE = 32;
+
+    /** 权限设置页意图缓存集合（按照访问顺序排列，超出数量的时候淘汰最久没有用到的） */
+    private static final Map<CacheKey, List<Intent>> INTENT_CACHE_MAP =
+        new LinkedHashMap<CacheKey, List<Intent>>(MAX_CACHE_SIZE, 0.75f, true) {
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<CacheKey, List<Intent>> eldest) {
+            return size() > MAX_CACHE_SIZE;
+        }
+    };
+
+    /** 私有化构造函数 */
+    private PermissionSettingIntentCache() {
+        // default implementation ignored
+    }
+
+    /**
+     * 从缓存中获取权限设置页的意图列表，如果缓存中没有或者这个权限组合不能缓存，则返回空
+     *
+     * @return              返回的是缓存意图的副本，调用方可以随意修改
+     */
+    @Nullable
+    public static List<Intent> get(@NonNull Context context, @NonNull List<IPermission> permissions, boolean skipRequest) {
+        CacheKey cacheKey = generateCacheKey(context, permissions, skipRequest);
+        if (cacheKey == null) {
+            return null;
+        }
+        List<Intent> intentList;
+        synchronized (INTENT_CACHE_MAP) {
+            intentList = INTENT_CACHE_MAP.get(cacheKey);
+        }
+        if (intentList == null) {
+            return null;
+        }
+        return copyIntentList(intentList);
+    }
+
+    /**
+     * 将权限设置页的意图列表放到缓存中（如果这个权限组合不能缓存，则不做任何处理）
+     */
+    public static void put(@NonNull Context context, @NonNull List<IPermission> permissions,
+                           boolean skipRequest, @NonNull List<Intent> intentList) {
+        CacheKey cacheKey = generateCacheKey(context, permissions, skipRequest);
+        if (cacheKey == null) {
+            return;
+        }
+        // 这里需要保存一份副本，因为调用方在跳转的时候会修改意图列表（例如移除不存在的意图、给意图添加 Flag）
+        List<Intent> cacheIntentList = Collections.unmodifiableList(copyIntentList(intentList));
+        synchronized (INTENT_CACHE_MAP) {
+            INTENT_CACHE_MAP.put(cacheKey, cacheIntentList);
+        }
+    }
+
+    /**
+     * 清空缓存
+     */
+    public static void clear() {
+        synchronized (INTENT_CACHE_MAP) {
+            INTENT_CACHE_MAP.clear();
+        }
+    }
+
+    /**
+     * 生成缓存的键，如果这个权限组合不能缓存，则返回空
+     */
+    @Nullable
+    private static CacheKey generateCacheKey(@NonNull Context context, @NonNull List<IPermission> permissions, boolean skipRequest) {
+        // 选出最合适的意图列表和权限的顺序没有关系，所以这里用位图来表示权限组合
+        long[] permissionBits = new long[(PermissionNameIndex.PERMISSION_COUNT + 63) >>> 6];
+        for (IPermission permission : permissions) {
+            // 自定义的权限不在索引中，它的设置页意图也不一定能缓存，所以不走缓存
+            int index = PermissionNameIndex.indexOf(permission.getPermissionName());
+            if (index < 0 || !permission.isPermissionSettingIntentsCacheable(context)) {
+                return null;
+            }
+            permissionBits[index >>> 6] |= 1L << index;
+        }
+        return new CacheKey(permissionBits, skipRequest);
+    }
+
+    /**
+     * 复制意图列表
+     */
+    @NonNull
+    private static List<Intent> copyIntentList(@NonNull List<Intent> intentList) {
+        List<Intent> copyIntentList = new ArrayList<>(intentList.size());
+        for (Intent intent : intentList) {
+            copyIntentList.add(intent != null ? new Intent(intent) : null);
+        }
+        return copyIntentList;
+    }
+
+    /**
+     * 缓存的键
+     */
+    private static final class CacheKey {
+
+        /** 权限组合的位图 */
+        @NonNull
+        private final long[] permissionBits;
+
+        /** 是否跳过申请直接获取的 Intent */
+        private final boolean skipRequest;
+
+        /** 哈希值 */
+        private final int hashCode;
+
+        private CacheKey(@NonNull long[] permissionBits, boolean skipRequest) {
+            this.permissionBits = permissionBits;
+            this.skipRequest = skipRequest;
+            this.hashCode = Arrays.hashCode(permissionBits) * 31 + (skipRequest ? 1 : 0);
+        }
+
+        @Override
+        public boolean equals(@Nullable Object obj) {
+            if (obj == this) {
+                return true;
+            }
+            if (!(obj instanceof CacheKey)) {
+                return false;
+            }
+            CacheKey cacheKey = (CacheKey) obj;
+            return skipRequest == cacheKey.skipRequest && Arrays.equals(permissionBits, cacheKey.permissionBits);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
\ No newline at end of file
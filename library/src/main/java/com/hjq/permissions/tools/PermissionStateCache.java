@@ -0,0 +1,237 @@
+package com.hjq.permissions.tools;
+
+import android.app.Activity;
+import android.app.Application;
+import android.content.Context;
+import android.os.Bundle;
+import android.os.SystemClock;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import com.hjq.permissions.permission.base.IPermission;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ *    author : Android 轮子哥
+ *    github : https://github.com/getActivity/XXPermissions
+ *    time   : 2026/10/18
+ *    desc   : 权限授予状态缓存类
+ */
+public final class PermissionStateCache {
+
+    /*
+     * 这里解释一下为什么要缓存权限的授予状态，在一次完整的权限请求中，XXPermissions.request、PermissionApi.isGrantedPermissions、
+     * PermissionRequestMainLogic.getUnauthorizedList 等流程都会对同一批权限判断一遍是否授予，而每一次判断本质上都是一次 Binder 调用
+     * （checkSelfPermission 或者 AppOpsManager），并且这些调用基本上都是在主线程上面进行的，权限一多就会有明显的耗时，
+     * 但是权限的授予状态只有在以下几种情况下才会发生变化，所以只需要在这几个时机让缓存失效就可以了：
+     * 1. 权限请求的结果回调（onRequestPermissionsResult）
+     * 2. 跳转权限设置页的结果回调（onActivityResult）
+     * 3. Activity 重新回到前台（用户可能跑去系统设置中修改了权限）
+     * 4. 缓存超过了有效时长（兜底策略，避免在一些极端场景下拿到过期的状态）
+     */
+
+    /** 默认的缓存有效时长（毫秒） */
+    public static final long DEFAULT_CACHE_TIME = 1000;
+
+    /** 权限状态缓存集合 */
+    private static final Map<String, PermissionStateEntry> PERMISSION_STATE_MAP = new HashMap<>();
+
+    /** 缓存有效时长 */
+    private static long sCacheTime = DEFAULT_CACHE_TIME;
+
+    /** 缓存的代数（每次让缓存失效的时候都会加一，用于丢弃在失效之前就已经开始查询的过期结果） */
+    private static long sGeneration;
+
+    /** 是否已经注册了 Activity 生命周期监听 */
+    private static boolean sRegisterActivityLifecycle;
+
+    /** 私有化构造函数 */
+    private PermissionStateCache() {
+        // default implementation ignored
+    }
+
+    /**
+     * 设置缓存有效时长，如果传入的值小于等于 0，则表示不缓存权限的授予状态
+     */
+    public static synchronized void setCacheTime(long cacheTime) {
+        sCacheTime = cacheTime;
+        if (cacheTime <= 0) {
+            PERMISSION_STATE_MAP.clear();
+        }
+    }
+
+    /**
+     * 判断某个权限是否授予（优先从缓存中获取）
+     */
+    public static boolean isGrantedPermission(@NonNull Context context, @NonNull IPermission permission) {
+        Boolean grantedState = getGrantedState(permission);
+        if (grantedState != null) {
+            return grantedState;
+        }
+        registerActivityLifecycle(context);
+        // 这里解释一下为什么要在查询之前记录缓存的代数，因为查询权限状态的时候是没有加锁的（不然会阻塞其他线程），
+        // 如果在查询的过程中缓存被清空了（例如用户刚从设置页回来），那么查询出来的结果就可能是过期的，
+        // 这个时候就不能再把它放到缓存中，否则这个过期的结果会在缓存有效时长内一直被命中
+        long generation = getGeneration();
+        boolean granted = permission.isGrantedPermission(context);
+        putGrantedState(permission, granted, generation);
+        return granted;
+    }
+
+    /**
+     * 获取当前缓存的代数
+     */
+    public static synchronized long getGeneration() {
+        return sGeneration;
+    }
+
+    /**
+     * 从缓存中获取权限的授予状态，如果缓存中没有或者已经过期，则返回空
+     */
+    @Nullable
+    public static synchronized Boolean getGrantedState(@NonNull IPermission permission) {
+        if (sCacheTime <= 0) {
+            return null;
+        }
+        PermissionStateEntry entry = PERMISSION_STATE_MAP.get(permission.getPermissionName());
+        if (entry == null) {
+            return null;
+        }
+        // 这里不能只比较权限名称，因为有一些权限对象是带参数的（例如无障碍服务权限需要传入 Service 类名），
+        // 这类权限就算名称相同，但参数不一样，授予状态也可能不一样，所以这里要求必须是同一个权限对象才能命中缓存，
+        // 而通过 PermissionLists 获取到的无参权限对象都是单例，所以绝大多数的权限都是可以命中缓存的
+        if (entry.permission != permission) {
+            return null;
+        }
+        if (SystemClock.elapsedRealtime() - entry.updateTime > sCacheTime) {
+            PERMISSION_STATE_MAP.remove(permission.getPermissionName());
+            return null;
+        }
+        return entry.granted;
+    }
+
+    /**
+     * 将权限的授予状态放到缓存中
+     */
+    public static synchronized void putGrantedState(@NonNull IPermission permission, boolean granted) {
+        if (sCacheTime <= 0) {
+            return;
+        }
+        PERMISSION_STATE_MAP.put(permission.getPermissionName(),
+            new PermissionStateEntry(permission, granted, SystemClock.elapsedRealtime()));
+    }
+
+    /**
+     * 将权限的授予状态放到缓存中（如果在查询期间缓存已经失效过，则丢弃这个结果）
+     */
+    public static synchronized void putGrantedState(@NonNull IPermission permission, boolean granted, long generation) {
+        if (generation != sGeneration) {
+            return;
+        }
+        putGrantedState(permission, granted);
+    }
+
+    /**
+     * 让某些权限的缓存失效
+     */
+    public static synchronized void invalidate(@Nullable List<IPermission> permissions) {
+        if (permissions == null || permissions.isEmpty()) {
+            return;
+        }
+        for (IPermission permission : permissions) {
+            PERMISSION_STATE_MAP.remove(permission.getPermissionName());
+        }
+        sGeneration++;
+        SecureSettingComponentIndex.invalidateAll();
+    }
+
+    /**
+     * 让所有权限的缓存失效
+     */
+    public static synchronized void clear() {
+        PERMISSION_STATE_MAP.clear();
+        sGeneration++;
+        SecureSettingComponentIndex.invalidateAll();
+    }
+
+    /**
+     * 注册 Activity 生命周期监听，在 Activity 回到前台的时候让缓存失效
+     */
+    private static synchronized void registerActivityLifecycle(@NonNull Context context) {
+        if (sRegisterActivityLifecycle) {
+            return;
+        }
+        Context applicationContext = context.getApplicationContext();
+        if (!(applicationContext instanceof Application)) {
+            // 获取不到 Application 对象，只能依靠缓存有效时长来兜底
+            return;
+        }
+        ((Application) applicationContext).registerActivityLifecycleCallbacks(new ActivityLifecycleCallback());
+        sRegisterActivityLifecycle = true;
+    }
+
+    /**
+     * 权限状态缓存条目
+     */
+    private static final class PermissionStateEntry {
+
+        /** 权限对象 */
+        @NonNull
+        private final IPermission permission;
+
+        /** 是否授予 */
+        private final boolean granted;
+
+        /** 更新时间 */
+        private final long updateTime;
+
+        private PermissionStateEntry(@NonNull IPermission permission, boolean granted, long updateTime) {
+            this.permission = permission;
+            this.granted = granted;
+            this.updateTime = updateTime;
+        }
+    }
+
+    /**
+     * Activity 生命周期监听
+     */
+    private static final class ActivityLifecycleCallback implements Application.ActivityLifecycleCallbacks {
+
+        @Override
+        public void onActivityCreated(@NonNull Activity activity, @Nullable Bundle savedInstanceState) {
+            // default implementation ignored
+        }
+
+        @Override
+        public void onActivityStarted(@NonNull Activity activity) {
+            // default implementation ignored
+        }
+
+        @Override
+        public void onActivityResumed(@NonNull Activity activity) {
+            // 用户可能在离开页面的这段时间里面跑去系统设置修改了权限，所以这里要让缓存失效
+            clear();
+        }
+
+        @Override
+        public void onActivityPaused(@NonNull Activity activity) {
+            // default implementation ignored
+        }
+
+        @Override
+        public void onActivityStopped(@NonNull Activity activity) {
+            // default implementation ignored
+        }
+
+        @Override
+        public void onActivitySaveInstanceState(@NonNull Activity activity, @NonNull Bundle outState) {
+            // default implementation ignored
+        }
+
+        @Override
+        public void onActivityDestroyed(@NonNull Activity activity) {
+            // default implementation ignored
+        }
+    }
+}
\ No newline at end of file
@@ -16,6 +16,9 @@ public final class PermissionTaskHandler {
     /** Handler 对象 */
     private static final Handler HANDLER = new Handler(Looper.getMainLooper());
 
+    /** 轮询任务的退避间隔（毫秒），超出数组长度的部分一律按照最后一个间隔来轮询 */
+    private static final long[] POLLING_INTERVALS = {16, 32, 64};
+
     /**
      * 延迟发送一个任务
      */
@@ -41,4 +44,75 @@ public final class PermissionTaskHandler {
         // 移除和当前对象相关的消息回调
         HANDLER.removeCallbacksAndMessages(token);
     }
+
+    /**
+     * 发送一个指定令牌的轮询任务，在条件满足或者超过最长等待时间之后执行任务
+     *
+     * @param condition             轮询的条件
+     * @param runnable              要执行的任务
+     * @param token                 任务的令牌（可以通过 {@link #cancelTask(Object)} 取消）
+     * @param maxDelayMillis        最长的等待时间
+     */
+    public static void sendPollingTask(@NonNull PollingCondition condition, @NonNull Runnable runnable,
+                                       @NonNull Object token, long maxDelayMillis) {
+        if (maxDelayMillis <= 0) {
+            sendTask(runnable, token, 0);
+            return;
+        }
+        long deadlineMillis = SystemClock.uptimeMillis() + maxDelayMillis;
+        sendTask(new PollingRunnable(condition, runnable, token, deadlineMillis),
+            token, Math.min(POLLING_INTERVALS[0], maxDelayMillis));
+    }
+
+    /**
+     * 轮询条件
+     */
+    public interface PollingCondition {
+
+        /**
+         * 条件是否已经满足
+         */
+        boolean isSatisfied();
+    }
+
+    /**
+     * 轮询任务
+     */
+    private static final class PollingRunnable implements Runnable {
+
+        @NonNull
+        private final PollingCondition mCondition;
+
+        @NonNull
+        private final Runnable mRunnable;
+
+        @NonNull
+        private final Object mToken;
+
+        /** 截止的时间点 */
+        private final long mDeadlineMillis;
+
+        /** 已经轮询的次数 */
+        private int mPollingCount;
+
+        private PollingRunnable(@NonNull PollingCondition condition, @NonNull Runnable runnable,
+                                @NonNull Object token, long deadlineMillis) {
+            mCondition = condition;
+            mRunnable = runnable;
+            mToken = token;
+            mDeadlineMillis = deadlineMillis;
+        }
+
+        @Override
+        public void run() {
+            long remainingMillis = mDeadlineMillis - SystemClock.uptimeMillis();
+            if (remainingMillis <= 0 || mCondition.isSatisfied()) {
+                mRunnable.run();
+                return;
+            }
+            mPollingCount++;
+            long intervalMillis = POLLING_INTERVALS[Math.min(mPollingCount, POLLING_INTERVALS.length - 1)];
+            sendTask(this, mToken, Math.min(intervalMillis, remainingMillis));
+        }
+    }
 }
\ No newline at end of file
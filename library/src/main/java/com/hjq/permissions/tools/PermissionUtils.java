@@ -15,6 +15,8 @@ import com.hjq.permissions.permission.base.IPermission;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  *    author : Android 轮子哥
@@ -24,6 +26,9 @@ import java.util.List;
  */
 public final class PermissionUtils {
 
+    /** 类是否存在的缓存集合（在同一个进程中，类是否存在的结果是不会变化的） */
+    private static final Map<String, Boolean> CLASS_EXIST_CACHE_MAP = new ConcurrentHashMap<>();
+
     /**
      * 当前是否处于 debug 模式
      */
@@ -102,26 +107,41 @@ public final class PermissionUtils {
         }
         // 这里为什么不用 Intent.resolveActivity(intent) != null 来判断呢？
         // 这是因为在 OPPO R7 Plus （Android 5.0）会出现误判，明明没有这个 Activity，却返回了 ComponentName 对象
+        // 意图的解析结果只有在应用包发生变化的时候才会变化，所以优先从缓存中获取，避免每次都走一次 Binder 调用
+        Boolean resolvedState = IntentResolutionCache.getResolvedState(context, intent);
+        if (resolvedState != null) {
+            return resolvedState;
+        }
         PackageManager packageManager = context.getPackageManager();
         if (packageManager == null) {
             return false;
         }
+        boolean resolved;
         if (PermissionVersion.isAndroid13()) {
-            return !packageManager.queryIntentActivities(intent,
+            resolved = !packageManager.queryIntentActivities(intent,
                     ResolveInfoFlags.of(PackageManager.MATCH_DEFAULT_ONLY)).isEmpty();
+        } else {
+            resolved = !packageManager.queryIntentActivities(intent, PackageManager.MATCH_DEFAULT_ONLY).isEmpty();
         }
-        return !packageManager.queryIntentActivities(intent, PackageManager.MATCH_DEFAULT_ONLY).isEmpty();
+        IntentResolutionCache.putResolvedState(context, intent, resolved);
+        return resolved;
     }
 
     /**
      * 比较字符串是否相等（从第一个字符串开始比较）
      */
     public static boolean equalsString(@Nullable String s1, @Nullable String s2) {
+        if (s1 == s2) {
+            // 框架内置的权限名称都是字符串常量，绝大多数情况下都是同一个对象，直接比较内存地址就能得出结果
+            return s1 != null;
+        }
         if (s1 == null || s2 == null) {
             return false;
         }
-        if (s1.hashCode() == s2.hashCode()) {
-            return true;
+        // 注意：哈希值一样并不代表字符串一样（存在哈希冲突的情况），但是哈希值不一样，字符串就一定不一样
+        // 另外 String 对象会缓存 hashCode 的计算结果，所以这里的调用成本是很低的
+        if (s1.hashCode() != s2.hashCode()) {
+            return false;
         }
         int length = s1.length();
         if (length != s2.length()) {
@@ -140,11 +160,17 @@ public final class PermissionUtils {
      * 比较字符串是否相等（从最后一个字符串开始比较）
      */
     public static boolean reverseEqualsString(@Nullable String s1, @Nullable String s2) {
+        if (s1 == s2) {
+            // 框架内置的权限名称都是字符串常量，绝大多数情况下都是同一个对象，直接比较内存地址就能得出结果
+            return s1 != null;
+        }
         if (s1 == null || s2 == null) {
             return false;
         }
-        if (s1.hashCode() == s2.hashCode()) {
-            return true;
+        // 注意：哈希值一样并不代表字符串一样（存在哈希冲突的情况），但是哈希值不一样，字符串就一定不一样
+        // 另外 String 对象会缓存 hashCode 的计算结果，所以这里的调用成本是很低的
+        if (s1.hashCode() != s2.hashCode()) {
+            return false;
         }
         int length = s1.length();
         if (length != s2.length()) {
@@ -278,15 +304,21 @@ public final class PermissionUtils {
         if (className.isEmpty()) {
             return false;
         }
+        Boolean classExist = CLASS_EXIST_CACHE_MAP.get(className);
+        if (classExist != null) {
+            return classExist;
+        }
         try {
             // 判断这个类有是否存在，如果存在的话，证明是有效的
             // 如果不存在的话，证明无效的，也是需要重新授权的
             Class.forName(className);
-            return true;
+            classExist = true;
         } catch (ClassNotFoundException e) {
             e.printStackTrace();
-            return false;
+            classExist = false;
         }
+        CLASS_EXIST_CACHE_MAP.put(className, classExist);
+        return classExist;
     }
 
     /**
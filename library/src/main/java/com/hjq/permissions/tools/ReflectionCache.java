@@ -0,0 +1,137 @@
+package com.hjq.permissions.tools;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ *    author : Android 轮子哥
+ *    github : https://github.com/getActivity/XXPermissions
+ *    time   : 2026/10/18
+ *    desc   : 反射结果缓存类
+ */
+public final class ReflectionCache {
+
+    /*
+     * 这里解释一下为什么要缓存反射的结果，框架在判断一些权限的时候需要通过反射调用系统的隐藏 API（例如 AppOpsManager.checkOpNoThrow），
+     * 而 Class.getMethod、Class.getDeclaredField 这些方法每次调用都要遍历类的成员列表，并且还会创建新的 Method、Field 对象，
+     * 但是在同一个进程中，反射的结果是不会发生变化的，所以每个字段、方法只需要查找一次就可以了，需要注意的是，查找不到的结果也需要缓存，
+     * 否则在不支持的系统上面每次都会抛出 NoSuchMethodException 或者 NoSuchFieldException，而创建异常对象本身也是很耗时的
+     */
+
+    /** 表示查找不到的占位对象（ConcurrentHashMap 中不能存放 null 值） */
+    private static final Object NOT_FOUND = new Object();
+
+    /** 方法缓存集合（方法的缓存键需要拼接参数类型，所以调用方最好自己持有查找到的方法，不要频繁调用） */
+    private static final Map<String, Object> METHOD_CACHE_MAP = new ConcurrentHashMap<>();
+
+    /** 字段缓存集合（先按类再按字段名称查找，这样查找的时候就不需要拼接缓存键，避免每次查找都创建新的字符串） */
+    private static final ConcurrentMap<Class<?>, Map<String, Object>> FIELD_CACHE_MAP = new ConcurrentHashMap<>();
+
+    /** 静态常量值缓存集合（先按类再按字段名称查找） */
+    private static final ConcurrentMap<Class<?>, Map<String, Object>> VALUE_CACHE_MAP = new ConcurrentHashMap<>();
+
+    /** 私有化构造函数 */
+    private ReflectionCache() {
+        // default implementation ignored
+    }
+
+    /**
+     * 获取某个类的公开方法（包括从父类继承的），查找不到则返回空
+     */
+    @Nullable
+    public static Method getMethod(@NonNull Class<?> clazz, @NonNull String methodName, @NonNull Class<?>... parameterTypes) {
+        String key = generateMethodKey(clazz, methodName, parameterTypes);
+        Object cacheObject = METHOD_CACHE_MAP.get(key);
+        if (cacheObject == null) {
+            try {
+                cacheObject = clazz.getMethod(methodName, parameterTypes);
+            } catch (NoSuchMethodException | SecurityException e) {
+                e.printStackTrace();
+                cacheObject = NOT_FOUND;
+            }
+            METHOD_CACHE_MAP.put(key, cacheObject);
+        }
+        return cacheObject != NOT_FOUND ? (Method) cacheObject : null;
+    }
+
+    /**
+     * 获取某个类中声明的字段，查找不到则返回空
+     */
+    @Nullable
+    public static Field getDeclaredField(@NonNull Class<?> clazz, @NonNull String fieldName) {
+        Map<String, Object> cacheMap = getClassCacheMap(FIELD_CACHE_MAP, clazz);
+        Object cacheObject = cacheMap.get(fieldName);
+        if (cacheObject == null) {
+            try {
+                cacheObject = clazz.getDeclaredField(fieldName);
+            } catch (NoSuchFieldException | SecurityException e) {
+                // 这里不打印异常堆栈，因为找不到字段是正常的情况（例如字段是在高版本的系统才新增的），调用方会使用替补值
+                cacheObject = NOT_FOUND;
+            }
+            cacheMap.put(fieldName, cacheObject);
+        }
+        return cacheObject != NOT_FOUND ? (Field) cacheObject : null;
+    }
+
+    /**
+     * 获取某个类中静态 int 常量的值（常量的值在进程中是不会变化的，所以会直接缓存值）
+     *
+     * @param defaultValue          获取不到的时候返回的替补值
+     */
+    public static int getStaticIntField(@NonNull Class<?> clazz, @NonNull String fieldName, int defaultValue) {
+        Map<String, Object> cacheMap = getClassCacheMap(VALUE_CACHE_MAP, clazz);
+        Object cacheObject = cacheMap.get(fieldName);
+        if (cacheObject == null) {
+            Field field = getDeclaredField(clazz, fieldName);
+            cacheObject = NOT_FOUND;
+            if (field != null) {
+                try {
+                    cacheObject = field.getInt(null);
+                } catch (Exception e) {
+                    e.printStackTrace();
+                }
+            }
+            cacheMap.put(fieldName, cacheObject);
+        }
+        return cacheObject != NOT_FOUND ? (int) cacheObject : defaultValue;
+    }
+
+    /**
+     * 获取某个类对应的缓存集合
+     */
+    @NonNull
+    private static Map<String, Object> getClassCacheMap(@NonNull ConcurrentMap<Class<?>, Map<String, Object>> cacheMap, @NonNull Class<?> clazz) {
+        Map<String, Object> classCacheMap = cacheMap.get(clazz);
+        if (classCacheMap != null) {
+            return classCacheMap;
+        }
+        classCacheMap = new ConcurrentHashMap<>();
+        // 如果有其他线程抢先放进去了，就沿用之前的集合，避免丢掉已经缓存的结果
+        Map<String, Object> oldClassCacheMap = cacheMap.putIfAbsent(clazz, classCacheMap);
+        return oldClassCacheMap != null ? oldClassCacheMap : classCacheMap;
+    }
+
+    /**
+     * 生成方法的缓存键
+     */
+    @NonNull
+    private static String generateMethodKey(@NonNull Class<?> clazz, @NonNull String methodName, @NonNull Class<?>[] parameterTypes) {
+        StringBuilder builder = new StringBuilder(64);
+        builder.append(clazz.getName())
+            .append('#')
+            .append(methodName)
+            .append('(');
+        for (int i = 0; i < parameterTypes.length; i++) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            builder.append(parameterTypes[i].getName());
+        }
+        return builder.append(')').toString();
+    }
+}
\ No newline at end of file
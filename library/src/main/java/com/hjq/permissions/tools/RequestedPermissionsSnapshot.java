@@ -0,0 +1,94 @@
+package com.hjq.permissions.tools;
+
+import android.content.Context;
+import android.content.pm.PackageInfo;
+import android.content.pm.PackageManager;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ *    author : Android 轮子哥
+ *    github : https://github.com/getActivity/XXPermissions
+ *    time   : 2026/10/18
+ *    desc   : 清单文件中注册的权限授予状态快照
+ */
+public final class RequestedPermissionsSnapshot {
+
+    /*
+     * 这里解释一下为什么要做这个快照，在批量查询权限状态的时候，每个危险权限都要调用一次 Context.checkSelfPermission，
+     * 而每次调用都是一次 Binder 调用，但是系统在 PackageInfo.requestedPermissionsFlags 中已经带上了清单文件中注册的所有权限的授予状态，
+     * 所以只需要通过 PackageManager.getPackageInfo 查询一次（也就是一次 Binder 调用），就可以拿到所有危险权限的授予状态，
+     * 需要注意的是，这个快照只在批量查询的过程中（当前线程）生效，查询结束之后就会被丢弃，避免拿到过期的授予状态，
+     * 另外没有在清单文件中注册的权限不会出现在快照中，这类权限还是会走原来的 checkSelfPermission 逻辑
+     */
+
+    /** 当前线程正在使用的快照 */
+    private static final ThreadLocal<Map<String, Boolean>> SNAPSHOT_THREAD_LOCAL = new ThreadLocal<>();
+
+    /** 私有化构造函数 */
+    private RequestedPermissionsSnapshot() {
+        // default implementation ignored
+    }
+
+    /**
+     * 在当前线程上开启快照
+     *
+     * @return              是否是本次调用开启的快照（只有返回 true 的时候才需要调用 {@link #end()} 结束快照）
+     */
+    public static boolean begin(@NonNull Context context) {
+        if (SNAPSHOT_THREAD_LOCAL.get() != null) {
+            return false;
+        }
+        SNAPSHOT_THREAD_LOCAL.set(querySnapshot(context));
+        return true;
+    }
+
+    /**
+     * 结束当前线程上的快照
+     */
+    public static void end() {
+        SNAPSHOT_THREAD_LOCAL.remove();
+    }
+
+    /**
+     * 从快照中获取权限的授予状态，如果当前线程没有开启快照或者快照中没有这个权限，则返回空
+     */
+    @Nullable
+    public static Boolean getGrantedState(@NonNull String permissionName) {
+        Map<String, Boolean> snapshot = SNAPSHOT_THREAD_LOCAL.get();
+        if (snapshot == null) {
+            return null;
+        }
+        return snapshot.get(permissionName);
+    }
+
+    /**
+     * 查询清单文件中注册的权限授予状态
+     */
+    @NonNull
+    private static Map<String, Boolean> querySnapshot(@NonNull Context context) {
+        PackageInfo packageInfo;
+        try {
+            packageInfo = context.getPackageManager().getPackageInfo(context.getPackageName(), PackageManager.GET_PERMISSIONS);
+        } catch (Exception e) {
+            e.printStackTrace();
+            return new HashMap<>(0);
+        }
+
+        String[] requestedPermissions = packageInfo.requestedPermissions;
+        int[] requestedPermissionsFlags = packageInfo.requestedPermissionsFlags;
+        if (requestedPermissions == null || requestedPermissionsFlags == null ||
+            requestedPermissions.length != requestedPermissionsFlags.length) {
+            return new HashMap<>(0);
+        }
+
+        Map<String, Boolean> snapshot = new HashMap<>(requestedPermissions.length);
+        for (int i = 0; i < requestedPermissions.length; i++) {
+            boolean granted = (requestedPermissionsFlags[i] & PackageInfo.REQUESTED_PERMISSION_GRANTED) != 0;
+            snapshot.put(requestedPermissions[i], granted);
+        }
+        return snapshot;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,197 @@
+package com.hjq.permissions.tools;
+
+import android.content.ComponentName;
+import android.content.ContentResolver;
+import android.content.Context;
+import android.database.ContentObserver;
+import android.provider.Settings;
+import android.text.TextUtils;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ *    author : Android 轮子哥
+ *    github : https://github.com/getActivity/XXPermissions
+ *    time   : 2026/10/18
+ *    desc   : 系统设置项中的组件列表索引（例如已开启的无障碍服务、已开启的通知栏监听服务）
+ */
+public final class SecureSettingComponentIndex {
+
+    /*
+     * 这里解释一下为什么要做这个索引，无障碍服务权限和通知栏监听权限在判断是否授予的时候，都需要读取 Settings.Secure 中的设置项，
+     * 然后将设置项的内容按照冒号进行分割，再将每一项都转换成 ComponentName 对象进行对比，每次判断都要走一遍这个流程，
+     * 但是设置项的内容只有在用户开启或者关闭服务的时候才会发生变化，所以这里只解析一次，然后通过 ContentObserver 监听设置项的变化，
+     * 设置项发生变化之后再重新解析，这样判断权限是否授予就变成了一次哈希查找，另外在权限状态缓存失效的时候（例如 Activity 回到前台），
+     * 这里也会跟着失效，避免 ContentObserver 回调不及时而拿到过期的结果
+     */
+
+    /** 索引集合（键为系统设置项的名称） */
+    private static final Map<String, SecureSettingComponentIndex> INDEX_MAP = new HashMap<>();
+
+    /** 内容解析器 */
+    @NonNull
+    private final ContentResolver mContentResolver;
+
+    /** 系统设置项的名称 */
+    @NonNull
+    private final String mSettingName;
+
+    /** 索引的快照（为空表示还没有解析过） */
+    @Nullable
+    private volatile IndexSnapshot mSnapshot;
+
+    /** 索引的代数（每次失效的时候都会加一，快照的代数和它不一致就表示快照已经过期了） */
+    @NonNull
+    private final AtomicLong mGeneration = new AtomicLong();
+
+    /**
+     * 获取某个系统设置项的组件列表索引
+     *
+     * @param settingName           Settings.Secure 中的设置项名称
+     */
+    @NonNull
+    public static SecureSettingComponentIndex get(@NonNull Context context, @NonNull String settingName) {
+        synchronized (INDEX_MAP) {
+            SecureSettingComponentIndex index = INDEX_MAP.get(settingName);
+            if (index != null) {
+                return index;
+            }
+            Context applicationContext = context.getApplicationContext() != null ? context.getApplicationContext() : context;
+            index = new SecureSettingComponentIndex(applicationContext.getContentResolver(), settingName);
+            index.registerContentObserver();
+            INDEX_MAP.put(settingName, index);
+            return index;
+        }
+    }
+
+    /**
+     * 让所有的索引失效（下次查询的时候会重新解析）
+     */
+    public static void invalidateAll() {
+        synchronized (INDEX_MAP) {
+            for (SecureSettingComponentIndex index : INDEX_MAP.values()) {
+                index.invalidate();
+            }
+        }
+    }
+
+    SecureSettingComponentIndex(@NonNull ContentResolver contentResolver, @NonNull String settingName) {
+        mContentResolver = contentResolver;
+        mSettingName = settingName;
+    }
+
+    /**
+     * 注册设置项变化的监听
+     */
+    private void registerContentObserver() {
+        try {
+            // 这里不需要传入 Handler 对象，因为回调中只是标记一下索引需要重新解析，在哪个线程中回调都没有关系
+            mContentResolver.registerContentObserver(Settings.Secure.getUriFor(mSettingName), false, new ContentObserver(null) {
+
+                @Override
+                public void onChange(boolean selfChange) {
+                    invalidate();
+                }
+            });
+        } catch (Exception e) {
+            // 注册失败的话，就只能依靠权限状态缓存失效的时机来兜底了
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * 让当前索引失效（下次查询的时候会重新解析）
+     */
+    public void invalidate() {
+        mGeneration.incrementAndGet();
+    }
+
+    /**
+     * 判断设置项中是否包含某个组件
+     */
+    public boolean containsComponent(@NonNull String packageName, @NonNull String className) {
+        return getSnapshot().componentNames.contains(new ComponentName(packageName, className));
+    }
+
+    /**
+     * 判断设置项中是否包含某个应用的组件
+     */
+    public boolean containsPackage(@NonNull String packageName) {
+        return getSnapshot().packageNames.contains(packageName);
+    }
+
+    /**
+     * 获取索引的快照，如果快照已经过期，则重新解析设置项
+     */
+    @NonNull
+    private IndexSnapshot getSnapshot() {
+        IndexSnapshot snapshot = mSnapshot;
+        if (snapshot != null && snapshot.generation == mGeneration.get()) {
+            return snapshot;
+        }
+        synchronized (this) {
+            snapshot = mSnapshot;
+            // 需要在读取设置项之前就记录代数，这样在解析的过程中如果设置项又发生了变化，解析出来的快照就会被认为是过期的，下次查询的时候还会重新解析
+            long generation = mGeneration.get();
+            if (snapshot != null && snapshot.generation == generation) {
+                return snapshot;
+            }
+            snapshot = parseSetting(Settings.Secure.getString(mContentResolver, mSettingName), generation);
+            // 组件集合和包名集合放在同一个快照对象中发布，这样其他线程就不会读取到新旧混杂的结果
+            mSnapshot = snapshot;
+            return snapshot;
+        }
+    }
+
+    /**
+     * 解析设置项的内容
+     */
+    @NonNull
+    private static IndexSnapshot parseSetting(@Nullable String settingValue, long generation) {
+        if (TextUtils.isEmpty(settingValue)) {
+            return new IndexSnapshot(Collections.emptySet(), Collections.emptySet(), generation);
+        }
+        // com.hjq.permissions.demo/com.hjq.permissions.demo.DemoAccessibilityService:hello.litiaotiao.app/hello.litiaotiao.app.LttService
+        String[] allComponentNameArray = settingValue.split(":");
+        Set<ComponentName> componentNames = new HashSet<>(allComponentNameArray.length * 2);
+        Set<String> packageNames = new HashSet<>(allComponentNameArray.length * 2);
+        for (String component : allComponentNameArray) {
+            ComponentName componentName = ComponentName.unflattenFromString(component);
+            if (componentName == null) {
+                continue;
+            }
+            componentNames.add(componentName);
+            packageNames.add(componentName.getPackageName());
+        }
+        return new IndexSnapshot(Collections.unmodifiableSet(componentNames), Collections.unmodifiableSet(packageNames), generation);
+    }
+
+    /**
+     * 索引的快照（创建之后就不会再修改）
+     */
+    private static final class IndexSnapshot {
+
+        /** 设置项中的组件集合 */
+        @NonNull
+        private final Set<ComponentName> componentNames;
+
+        /** 设置项中组件的包名集合 */
+        @NonNull
+        private final Set<String> packageNames;
+
+        /** 解析时索引的代数 */
+        private final long generation;
+
+        private IndexSnapshot(@NonNull Set<ComponentName> componentNames, @NonNull Set<String> packageNames, long generation) {
+            this.componentNames = componentNames;
+            this.packageNames = packageNames;
+            this.generation = generation;
+        }
+    }
+}
\ No newline at end of file
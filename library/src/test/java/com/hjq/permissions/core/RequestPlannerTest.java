@@ -0,0 +1,142 @@
+package com.hjq.permissions.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import com.hjq.permissions.permission.PermissionGroups;
+import com.hjq.permissions.permission.PermissionNames;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ *    author : Android 轮子哥
+ *    github : https://github.com/getActivity/XXPermissions
+ *    time   : 2026/10/18
+ *    desc   : 权限请求规划器测试
+ */
+public final class RequestPlannerTest {
+
+    @Before
+    public void setUp() {
+        // 避免用例之间通过规划结果的缓存互相影响
+        RequestPlanner.clearCache();
+    }
+
+    @Test
+    public void batchSameGroupTogether() {
+        List<List<Integer>> plan = RequestPlanner.plan(Arrays.asList(
+            dangerous(PermissionNames.ACCESS_FINE_LOCATION, PermissionGroups.LOCATION),
+            dangerous(PermissionNames.CAMERA, null),
+            dangerous(PermissionNames.ACCESS_COARSE_LOCATION, PermissionGroups.LOCATION)));
+
+        // 同一个组别的权限要放在同一批申请，并且批次的顺序以组别中第一个权限出现的位置为准
+        assertEquals(Arrays.asList(Arrays.asList(0, 2), Arrays.asList(1)), plan);
+    }
+
+    @Test
+    public void requestPermissionWithoutGroupAlone() {
+        List<List<Integer>> plan = RequestPlanner.plan(Arrays.asList(
+            dangerous(PermissionNames.CAMERA, null),
+            dangerous(PermissionNames.RECORD_AUDIO, "")));
+
+        assertEquals(Arrays.asList(Arrays.asList(0), Arrays.asList(1)), plan);
+    }
+
+    @Test
+    public void requestBackgroundPermissionAfterForeground() {
+        List<List<Integer>> plan = RequestPlanner.plan(Arrays.asList(
+            dangerous(PermissionNames.ACCESS_FINE_LOCATION, PermissionGroups.LOCATION),
+            dangerous(PermissionNames.ACCESS_COARSE_LOCATION, PermissionGroups.LOCATION),
+            background(PermissionNames.ACCESS_BACKGROUND_LOCATION, PermissionGroups.LOCATION)));
+
+        assertEquals(Arrays.asList(Arrays.asList(0, 1), Arrays.asList(2)), plan);
+    }
+
+    @Test
+    public void requestBackgroundPermissionAfterForegroundEvenIfDeclaredFirst() {
+        List<List<Integer>> plan = RequestPlanner.plan(Arrays.asList(
+            background(PermissionNames.BODY_SENSORS_BACKGROUND, PermissionGroups.SENSORS),
+            dangerous(PermissionNames.BODY_SENSORS, PermissionGroups.SENSORS)));
+
+        // 后台权限必须等前台权限申请完之后才能申请，就算外层把后台权限放在了前面
+        assertEquals(Arrays.asList(Arrays.asList(1), Arrays.asList(0)), plan);
+    }
+
+    @Test
+    public void splitOutStartActivityForResultPermissions() {
+        List<List<Integer>> plan = RequestPlanner.plan(Arrays.asList(
+            special(PermissionNames.SYSTEM_ALERT_WINDOW),
+            dangerous(PermissionNames.ACCESS_FINE_LOCATION, PermissionGroups.LOCATION),
+            special(PermissionNames.WRITE_SETTINGS),
+            dangerous(PermissionNames.ACCESS_COARSE_LOCATION, PermissionGroups.LOCATION)));
+
+        // 需要跳转页面授权的权限，每一个都要作为单独的一批
+        assertEquals(Arrays.asList(Arrays.asList(0), Arrays.asList(1, 3), Arrays.asList(2)), plan);
+    }
+
+    @Test
+    public void skipGrantedAndUnsupportedPermissions() {
+        List<List<Integer>> plan = RequestPlanner.plan(Arrays.asList(
+            new RequestPlanner.PermissionSnapshot(PermissionNames.CAMERA, null, false, false, true, true),
+            new RequestPlanner.PermissionSnapshot(PermissionNames.POST_NOTIFICATIONS, null, false, false, false, false),
+            new RequestPlanner.PermissionSnapshot(PermissionNames.ACCESS_FINE_LOCATION, PermissionGroups.LOCATION, false, false, true, true),
+            dangerous(PermissionNames.ACCESS_COARSE_LOCATION, PermissionGroups.LOCATION),
+            new RequestPlanner.PermissionSnapshot(PermissionNames.SYSTEM_ALERT_WINDOW, null, true, false, true, true)));
+
+        // 已经授予的和不支持申请的权限都不需要申请，同组中已经授予的权限也不需要再跟着一起申请
+        assertEquals(Arrays.asList(Arrays.asList(3)), plan);
+    }
+
+    @Test
+    public void skipGroupWhenAllGranted() {
+        List<List<Integer>> plan = RequestPlanner.plan(Arrays.asList(
+            new RequestPlanner.PermissionSnapshot(PermissionNames.ACCESS_FINE_LOCATION, PermissionGroups.LOCATION, false, false, true, true),
+            new RequestPlanner.PermissionSnapshot(PermissionNames.ACCESS_COARSE_LOCATION, PermissionGroups.LOCATION, false, false, true, true)));
+
+        assertTrue(plan.isEmpty());
+    }
+
+    @Test
+    public void skipDuplicatePermissions() {
+        List<List<Integer>> plan = RequestPlanner.plan(Arrays.asList(
+            dangerous(PermissionNames.CAMERA, null),
+            dangerous(PermissionNames.CAMERA, null)));
+
+        assertEquals(Arrays.asList(Arrays.asList(0)), plan);
+    }
+
+    @Test
+    public void reusePlanForSameSnapshots() {
+        List<List<Integer>> plan1 = RequestPlanner.plan(Arrays.asList(
+            dangerous(PermissionNames.CAMERA, null),
+            special(PermissionNames.SYSTEM_ALERT_WINDOW)));
+        List<List<Integer>> plan2 = RequestPlanner.plan(new ArrayList<>(Arrays.asList(
+            dangerous(PermissionNames.CAMERA, null),
+            special(PermissionNames.SYSTEM_ALERT_WINDOW))));
+
+        // 状态快照一样，规划的结果也一定是一样的，所以会直接复用缓存中的结果
+        assertSame(plan1, plan2);
+
+        // 只要有一个权限的状态发生了变化，就需要重新规划
+        List<List<Integer>> plan3 = RequestPlanner.plan(Arrays.asList(
+            new RequestPlanner.PermissionSnapshot(PermissionNames.CAMERA, null, false, false, true, true),
+            special(PermissionNames.SYSTEM_ALERT_WINDOW)));
+        assertEquals(Arrays.asList(Arrays.asList(1)), plan3);
+    }
+
+    private static RequestPlanner.PermissionSnapshot dangerous(String permissionName, String permissionGroup) {
+        return new RequestPlanner.PermissionSnapshot(permissionName, permissionGroup, false, false, false, true);
+    }
+
+    private static RequestPlanner.PermissionSnapshot background(String permissionName, String permissionGroup) {
+        return new RequestPlanner.PermissionSnapshot(permissionName, permissionGroup, false, true, false, true);
+    }
+
+    private static RequestPlanner.PermissionSnapshot special(String permissionName) {
+        return new RequestPlanner.PermissionSnapshot(permissionName, null, true, false, false, true);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,52 @@
+package com.hjq.permissions.plugin;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import org.gradle.api.DefaultTask;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.tasks.CacheableTask;
+import org.gradle.api.tasks.InputFile;
+import org.gradle.api.tasks.OutputDirectory;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.PathSensitivity;
+import org.gradle.api.tasks.TaskAction;
+
+/**
+ *    author : Android 轮子哥
+ *    github : https://github.com/getActivity/XXPermissions
+ *    time   : 2026/10/18
+ *    desc   : 根据合并后的清单文件生成 AndroidManifestInfoGenerated 类的任务
+ */
+@CacheableTask
+public abstract class GenerateManifestInfoTask extends DefaultTask {
+
+    /**
+     * 合并后的清单文件
+     */
+    @InputFile
+    @PathSensitive(PathSensitivity.NONE)
+    public abstract RegularFileProperty getMergedManifest();
+
+    /**
+     * 生成源码的输出目录
+     */
+    @OutputDirectory
+    public abstract DirectoryProperty getOutputDirectory();
+
+    @TaskAction
+    public void generate() throws Exception {
+        ManifestModel manifestModel = ManifestXmlReader.read(getMergedManifest().get().getAsFile());
+        String source = ManifestInfoSourceWriter.write(manifestModel);
+
+        File outputDirectory = getOutputDirectory().get().getAsFile();
+        File packageDirectory = new File(outputDirectory,
+            ManifestInfoSourceWriter.GENERATED_PACKAGE_NAME.replace('.', File.separatorChar));
+        if (!packageDirectory.isDirectory() && !packageDirectory.mkdirs()) {
+            throw new IllegalStateException("Unable to create directory: " + packageDirectory);
+        }
+        File sourceFile = new File(packageDirectory, ManifestInfoSourceWriter.GENERATED_CLASS_NAME + ".java");
+        Files.write(sourceFile.toPath(), source.getBytes(StandardCharsets.UTF_8));
+    }
+}
\ No newline at end of file
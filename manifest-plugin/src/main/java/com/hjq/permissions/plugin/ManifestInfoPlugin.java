@@ -0,0 +1,46 @@
+package com.hjq.permissions.plugin;
+
+import com.android.build.api.artifact.SingleArtifact;
+import com.android.build.api.variant.ApplicationAndroidComponentsExtension;
+import com.android.build.api.variant.ApplicationVariant;
+import com.android.build.api.variant.SourceDirectories;
+import org.gradle.api.Action;
+import org.gradle.api.Plugin;
+import org.gradle.api.Project;
+import org.gradle.api.tasks.TaskProvider;
+
+/**
+ *    author : Android 轮子哥
+ *    github : https://github.com/getActivity/XXPermissions
+ *    time   : 2026/10/18
+ *    desc   : 在编译期将合并后的清单文件信息生成为 Java 类，免去框架在运行时解析 apk 中的清单文件
+ *
+ *    使用方式：在 application 模块中 plugins { id 'com.hjq.permissions.manifest' }
+ */
+public final class ManifestInfoPlugin implements Plugin<Project> {
+
+    @Override
+    public void apply(Project project) {
+        // 只有 application 模块才有最终合并后的清单文件，library 模块不需要处理
+        project.getPluginManager().withPlugin("com.android.application", appliedPlugin -> {
+            ApplicationAndroidComponentsExtension androidComponents =
+                project.getExtensions().getByType(ApplicationAndroidComponentsExtension.class);
+            androidComponents.onVariants(androidComponents.selector().all(),
+                (Action<ApplicationVariant>) variant -> registerGenerateTask(project, variant));
+        });
+    }
+
+    private static void registerGenerateTask(Project project, ApplicationVariant variant) {
+        SourceDirectories.Flat javaSources = variant.getSources().getJava();
+        if (javaSources == null) {
+            return;
+        }
+        String variantName = variant.getName();
+        String taskName = "generate" + Character.toUpperCase(variantName.charAt(0)) +
+            variantName.substring(1) + "PermissionsManifestInfo";
+        TaskProvider<GenerateManifestInfoTask> taskProvider = project.getTasks().register(taskName,
+            GenerateManifestInfoTask.class, task ->
+                task.getMergedManifest().set(variant.getArtifacts().get(SingleArtifact.MERGED_MANIFEST.INSTANCE)));
+        javaSources.addGeneratedSourceDirectory(taskProvider, GenerateManifestInfoTask::getOutputDirectory);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,280 @@
+package com.hjq.permissions.plugin;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ *    author : Android 轮子哥
+ *    github : https://github.com/getActivity/XXPermissions
+ *    time   : 2026/10/18
+ *    desc   : 清单文件信息源码生成器
+ */
+final class ManifestInfoSourceWriter {
+
+    /** 生成类的包名（需要和框架中 AndroidManifestParser 加载的类名保持一致） */
+    static final String GENERATED_PACKAGE_NAME = "com.hjq.permissions.manifest";
+
+    /** 生成类的类名 */
+    static final String GENERATED_CLASS_NAME = "AndroidManifestInfoGenerated";
+
+    /**
+     * 每个方法最多容纳的语句数量（Java 规定单个方法的字节码不能超过 64 KB，清单文件比较大的时候需要拆分成多个方法）
+     */
+    private static final int MAX_STATEMENT_COUNT_PER_METHOD = 200;
+
+    /** 私有化构造函数 */
+    private ManifestInfoSourceWriter() {
+        // default implementation ignored
+    }
+
+    /**
+     * 生成源码
+     */
+    static String write(ManifestModel manifestModel) {
+        List<String> statementList = new ArrayList<>();
+        List<String> methodList = new ArrayList<>();
+
+        if (manifestModel.minSdkVersion != null) {
+            statementList.add("manifestInfo.usesSdkInfo = newUsesSdkInfo(" + manifestModel.minSdkVersion + ");");
+        }
+
+        for (ManifestModel.PermissionNode permissionNode : manifestModel.permissionList) {
+            statementList.add("manifestInfo.permissionInfoList.add(newPermissionInfo(" +
+                literal(permissionNode.name) + ", " + intLiteral(permissionNode.maxSdkVersion) + ", " +
+                intLiteral(permissionNode.usesPermissionFlags) + "));");
+        }
+
+        for (String queriesPackage : manifestModel.queriesPackageList) {
+            statementList.add("manifestInfo.queriesPackageList.add(" + literal(queriesPackage) + ");");
+        }
+
+        if (manifestModel.application != null) {
+            StringBuilder method = new StringBuilder();
+            method.append("    private static ApplicationManifestInfo newApplicationInfo(Context context) {\n");
+            method.append("        ApplicationManifestInfo applicationInfo = new ApplicationManifestInfo();\n");
+            method.append("        applicationInfo.name = ").append(literal(manifestModel.application.name)).append(";\n");
+            method.append("        applicationInfo.requestLegacyExternalStorage = ")
+                .append(booleanLiteral(manifestModel.application.requestLegacyExternalStorage,
+                    manifestModel.application.requestLegacyExternalStorageResource)).append(";\n");
+            appendMetaDataList(method, "applicationInfo", manifestModel.application.metaDataList);
+            method.append("        return applicationInfo;\n");
+            method.append("    }\n");
+            methodList.add(method.toString());
+            statementList.add("manifestInfo.applicationInfo = newApplicationInfo(context);");
+        }
+
+        appendComponentList(statementList, methodList, manifestModel.activityList,
+            "ActivityManifestInfo", "Activity", "activityInfoList");
+        appendComponentList(statementList, methodList, manifestModel.serviceList,
+            "ServiceManifestInfo", "Service", "serviceInfoList");
+        appendComponentList(statementList, methodList, manifestModel.receiverList,
+            "BroadcastReceiverManifestInfo", "Receiver", "receiverInfoList");
+
+        StringBuilder source = new StringBuilder();
+        source.append("package ").append(GENERATED_PACKAGE_NAME).append(";\n\n");
+        source.append("import android.content.Context;\n");
+        source.append("import com.hjq.permissions.manifest.node.ActivityManifestInfo;\n");
+        source.append("import com.hjq.permissions.manifest.node.ApplicationManifestInfo;\n");
+        source.append("import com.hjq.permissions.manifest.node.BroadcastReceiverManifestInfo;\n");
+        source.append("import com.hjq.permissions.manifest.node.IntentFilterManifestInfo;\n");
+        source.append("import com.hjq.permissions.manifest.node.MetaDataManifestInfo;\n");
+        source.append("import com.hjq.permissions.manifest.node.PermissionManifestInfo;\n");
+        source.append("import com.hjq.permissions.manifest.node.ServiceManifestInfo;\n");
+        source.append("import com.hjq.permissions.manifest.node.UsesSdkManifestInfo;\n");
+        source.append("import java.util.ArrayList;\n\n");
+        source.append("/**\n");
+        source.append(" * 由 XXPermissions manifest-plugin 插件根据合并后的清单文件自动生成，请不要手动修改\n");
+        source.append(" */\n");
+        source.append("@SuppressWarnings(\"all\")\n");
+        source.append("public final class ").append(GENERATED_CLASS_NAME).append(" implements AndroidManifestInfoProvider {\n\n");
+
+        source.append("    @Override\n");
+        source.append("    public AndroidManifestInfo getAndroidManifestInfo(Context context) {\n");
+        source.append("        AndroidManifestInfo manifestInfo = new AndroidManifestInfo();\n");
+        source.append("        manifestInfo.packageName = ").append(literal(manifestModel.packageName)).append(";\n");
+        int fillMethodCount = (statementList.size() + MAX_STATEMENT_COUNT_PER_METHOD - 1) / MAX_STATEMENT_COUNT_PER_METHOD;
+        for (int i = 0; i < fillMethodCount; i++) {
+            source.append("        fill").append(i).append("(manifestInfo, context);\n");
+        }
+        source.append("        return manifestInfo;\n");
+        source.append("    }\n");
+
+        for (int i = 0; i < fillMethodCount; i++) {
+            source.append("\n    private static void fill").append(i)
+                .append("(AndroidManifestInfo manifestInfo, Context context) {\n");
+            int end = Math.min(statementList.size(), (i + 1) * MAX_STATEMENT_COUNT_PER_METHOD);
+            for (int j = i * MAX_STATEMENT_COUNT_PER_METHOD; j < end; j++) {
+                source.append("        ").append(statementList.get(j)).append("\n");
+            }
+            source.append("    }\n");
+        }
+
+        for (String method : methodList) {
+            source.append("\n").append(method);
+        }
+
+        source.append("\n    private static UsesSdkManifestInfo newUsesSdkInfo(int minSdkVersion) {\n");
+        source.append("        UsesSdkManifestInfo usesSdkInfo = new UsesSdkManifestInfo();\n");
+        source.append("        usesSdkInfo.minSdkVersion = minSdkVersion;\n");
+        source.append("        return usesSdkInfo;\n");
+        source.append("    }\n");
+
+        source.append("\n    private static PermissionManifestInfo newPermissionInfo(String name, int maxSdkVersion, int usesPermissionFlags) {\n");
+        source.append("        PermissionManifestInfo permissionInfo = new PermissionManifestInfo();\n");
+        source.append("        permissionInfo.name = name;\n");
+        source.append("        permissionInfo.maxSdkVersion = maxSdkVersion;\n");
+        source.append("        permissionInfo.usesPermissionFlags = usesPermissionFlags;\n");
+        source.append("        return permissionInfo;\n");
+        source.append("    }\n");
+
+        source.append("\n    private static IntentFilterManifestInfo newIntentFilterInfo(String[] actions, String[] categories) {\n");
+        source.append("        IntentFilterManifestInfo intentFilterInfo = new IntentFilterManifestInfo();\n");
+        source.append("        for (String action : actions) {\n");
+        source.append("            intentFilterInfo.actionList.add(action);\n");
+        source.append("        }\n");
+        source.append("        for (String category : categories) {\n");
+        source.append("            intentFilterInfo.categoryList.add(category);\n");
+        source.append("        }\n");
+        source.append("        return intentFilterInfo;\n");
+        source.append("    }\n");
+
+        source.append("\n    private static MetaDataManifestInfo newMetaDataInfo(Context context, String name, String value,\n");
+        source.append("                                                        String resourceName, String resourceType, String resourcePackage) {\n");
+        source.append("        MetaDataManifestInfo metaDataInfo = new MetaDataManifestInfo();\n");
+        source.append("        metaDataInfo.name = name;\n");
+        source.append("        metaDataInfo.value = value;\n");
+        source.append("        if (resourceName != null) {\n");
+        source.append("            metaDataInfo.resource = context.getResources().getIdentifier(resourceName, resourceType,\n");
+        source.append("                resourcePackage != null ? resourcePackage : context.getPackageName());\n");
+        source.append("        }\n");
+        source.append("        return metaDataInfo;\n");
+        source.append("    }\n");
+
+        source.append("\n    private static boolean getBooleanResource(Context context, String resourceName, String resourcePackage) {\n");
+        source.append("        int resourceId = context.getResources().getIdentifier(resourceName, \"bool\",\n");
+        source.append("            resourcePackage != null ? resourcePackage : context.getPackageName());\n");
+        source.append("        if (resourceId == 0) {\n");
+        source.append("            return false;\n");
+        source.append("        }\n");
+        source.append("        return context.getResources().getBoolean(resourceId);\n");
+        source.append("    }\n");
+
+        source.append("}\n");
+        return source.toString();
+    }
+
+    private static void appendComponentList(List<String> statementList, List<String> methodList,
+                                            List<ManifestModel.ComponentNode> componentList,
+                                            String className, String methodSuffix, String listFieldName) {
+        boolean activity = "ActivityManifestInfo".equals(className);
+        for (int i = 0; i < componentList.size(); i++) {
+            ManifestModel.ComponentNode componentNode = componentList.get(i);
+            String methodName = "new" + methodSuffix + "Info" + i;
+            StringBuilder method = new StringBuilder();
+            method.append("    private static ").append(className).append(" ").append(methodName).append("(Context context) {\n");
+            method.append("        ").append(className).append(" componentInfo = new ").append(className).append("();\n");
+            method.append("        componentInfo.name = ").append(literal(componentNode.name)).append(";\n");
+            if (activity) {
+                if (componentNode.supportsPictureInPicture || componentNode.supportsPictureInPictureResource != null) {
+                    method.append("        componentInfo.supportsPictureInPicture = ")
+                        .append(booleanLiteral(componentNode.supportsPictureInPicture,
+                            componentNode.supportsPictureInPictureResource)).append(";\n");
+                }
+            } else if (componentNode.permission != null) {
+                method.append("        componentInfo.permission = ").append(literal(componentNode.permission)).append(";\n");
+            }
+            if (componentNode.intentFilterList != null) {
+                method.append("        componentInfo.intentFilterInfoList = new ArrayList<>();\n");
+                for (ManifestModel.IntentFilterNode intentFilterNode : componentNode.intentFilterList) {
+                    method.append("        componentInfo.intentFilterInfoList.add(newIntentFilterInfo(")
+                        .append(arrayLiteral(intentFilterNode.actionList)).append(", ")
+                        .append(arrayLiteral(intentFilterNode.categoryList)).append("));\n");
+                }
+            }
+            appendMetaDataList(method, "componentInfo", componentNode.metaDataList);
+            method.append("        return componentInfo;\n");
+            method.append("    }\n");
+            methodList.add(method.toString());
+            statementList.add("manifestInfo." + listFieldName + ".add(" + methodName + "(context));");
+        }
+    }
+
+    private static void appendMetaDataList(StringBuilder method, String variableName, List<ManifestModel.MetaDataNode> metaDataList) {
+        if (metaDataList == null) {
+            return;
+        }
+        method.append("        ").append(variableName).append(".metaDataInfoList = new ArrayList<>();\n");
+        for (ManifestModel.MetaDataNode metaDataNode : metaDataList) {
+            method.append("        ").append(variableName).append(".metaDataInfoList.add(newMetaDataInfo(context, ")
+                .append(literal(metaDataNode.name)).append(", ")
+                .append(literal(metaDataNode.value)).append(", ")
+                .append(literal(metaDataNode.resourceName)).append(", ")
+                .append(literal(metaDataNode.resourceType)).append(", ")
+                .append(literal(metaDataNode.resourcePackage)).append("));\n");
+        }
+    }
+
+    /**
+     * 生成布尔值的表达式，如果引用了资源（例如 @bool/xxx），则在运行时再从资源中获取
+     */
+    private static String booleanLiteral(boolean value, ManifestModel.ResourceNode resourceNode) {
+        if (resourceNode == null) {
+            return String.valueOf(value);
+        }
+        return "getBooleanResource(context, " + literal(resourceNode.name) + ", " + literal(resourceNode.packageName) + ")";
+    }
+
+    private static String intLiteral(int value) {
+        if (value == Integer.MAX_VALUE) {
+            return "Integer.MAX_VALUE";
+        }
+        return String.valueOf(value);
+    }
+
+    private static String arrayLiteral(List<String> values) {
+        StringBuilder builder = new StringBuilder("new String[] {");
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            builder.append(literal(values.get(i)));
+        }
+        return builder.append("}").toString();
+    }
+
+    private static String literal(String value) {
+        if (value == null) {
+            return "null";
+        }
+        StringBuilder builder = new StringBuilder(value.length() + 2);
+        builder.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    builder.append("\\\"");
+                    break;
+                case '\\':
+                    builder.append("\\\\");
+                    break;
+                case '\n':
+                    builder.append("\\n");
+                    break;
+                case '\r':
+                    builder.append("\\r");
+                    break;
+                case '\t':
+                    builder.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20 || c > 0x7e) {
+                        builder.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        builder.append(c);
+                    }
+                    break;
+            }
+        }
+        return builder.append('"').toString();
+    }
+}
\ No newline at end of file
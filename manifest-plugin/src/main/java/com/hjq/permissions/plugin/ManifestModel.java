@@ -0,0 +1,142 @@
+package com.hjq.permissions.plugin;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ *    author : Android 轮子哥
+ *    github : https://github.com/getActivity/XXPermissions
+ *    time   : 2026/10/18
+ *    desc   : 合并后的清单文件数据模型（字段含义和框架中的 AndroidManifestInfo 一一对应）
+ */
+final class ManifestModel {
+
+    /** 应用包名 */
+    String packageName = "";
+
+    /** 最低安装版本要求（为空则表示清单文件中没有 uses-sdk 节点） */
+    Integer minSdkVersion;
+
+    /** 权限节点集合 */
+    final List<PermissionNode> permissionList = new ArrayList<>();
+
+    /** 查询包名集合 */
+    final List<String> queriesPackageList = new ArrayList<>();
+
+    /** Application 节点（为空则表示清单文件中没有 application 节点） */
+    ApplicationNode application;
+
+    /** Activity 节点集合 */
+    final List<ComponentNode> activityList = new ArrayList<>();
+
+    /** Service 节点集合 */
+    final List<ComponentNode> serviceList = new ArrayList<>();
+
+    /** BroadcastReceiver 节点集合 */
+    final List<ComponentNode> receiverList = new ArrayList<>();
+
+    /**
+     * 权限节点
+     */
+    static final class PermissionNode {
+
+        /** 权限名称 */
+        String name;
+
+        /** 最高生效 sdk 版本 */
+        int maxSdkVersion = Integer.MAX_VALUE;
+
+        /** 权限使用标志 */
+        int usesPermissionFlags;
+    }
+
+    /**
+     * Application 节点
+     */
+    static final class ApplicationNode {
+
+        /** 应用的类名 */
+        String name = "";
+
+        /** 是否忽略分区存储特性 */
+        boolean requestLegacyExternalStorage;
+
+        /** 是否忽略分区存储特性所引用的资源（为空则表示没有引用资源，例如 @bool/xxx） */
+        ResourceNode requestLegacyExternalStorageResource;
+
+        /** MetaData 集合（为空则表示没有） */
+        List<MetaDataNode> metaDataList;
+    }
+
+    /**
+     * 四大组件节点（Activity、Service、BroadcastReceiver 共用）
+     */
+    static final class ComponentNode {
+
+        /** 组件的类名 */
+        String name = "";
+
+        /** 组件所使用的权限 */
+        String permission;
+
+        /** 是否支持画中画模式（只有 Activity 才有这个属性） */
+        boolean supportsPictureInPicture;
+
+        /** 是否支持画中画模式所引用的资源（为空则表示没有引用资源，例如 @bool/xxx） */
+        ResourceNode supportsPictureInPictureResource;
+
+        /** 意图过滤器集合（为空则表示没有） */
+        List<IntentFilterNode> intentFilterList;
+
+        /** MetaData 集合（为空则表示没有） */
+        List<MetaDataNode> metaDataList;
+    }
+
+    /**
+     * 意图过滤器节点
+     */
+    static final class IntentFilterNode {
+
+        /** 动作集合 */
+        final List<String> actionList = new ArrayList<>();
+
+        /** 分类集合 */
+        final List<String> categoryList = new ArrayList<>();
+    }
+
+    /**
+     * MetaData 节点
+     */
+    static final class MetaDataNode {
+
+        /** 数据名称 */
+        String name;
+
+        /** 数据值 */
+        String value;
+
+        /** 资源的类型（例如 xml，为空则表示没有引用资源） */
+        String resourceType;
+
+        /** 资源的名称 */
+        String resourceName;
+
+        /** 资源所在的包名（为空则表示当前应用的包名） */
+        String resourcePackage;
+    }
+
+    /**
+     * 资源引用节点（格式：@[package:]type/name）
+     */
+    static final class ResourceNode {
+
+        /** 资源的类型（例如 bool、xml） */
+        String type;
+
+        /** 资源的名称 */
+        String name;
+
+        /** 资源所在的包名（为空则表示当前应用的包名） */
+        String packageName;
+    }
+}
\ No newline at end of file
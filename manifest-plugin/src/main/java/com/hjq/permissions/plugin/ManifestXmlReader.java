@@ -0,0 +1,296 @@
+package com.hjq.permissions.plugin;
+
+import java.io.File;
+import java.util.ArrayList;
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+
+/**
+ *    author : Android 轮子哥
+ *    github : https://github.com/getActivity/XXPermissions
+ *    time   : 2026/10/18
+ *    desc   : 合并后的清单文件读取器（读取规则和框架中的 AndroidManifestParser 保持一致）
+ */
+final class ManifestXmlReader {
+
+    /** Android 命名空间 */
+    private static final String ANDROID_NAMESPACE_URI = "http://schemas.android.com/apk/res/android";
+
+    private static final String TAG_MANIFEST = "manifest";
+
+    private static final String TAG_USES_SDK = "uses-sdk";
+    private static final String TAG_USES_PERMISSION = "uses-permission";
+    private static final String TAG_USES_PERMISSION_SDK_23 = "uses-permission-sdk-23";
+    private static final String TAG_USES_PERMISSION_SDK_M = "uses-permission-sdk-m";
+
+    private static final String TAG_QUERIES = "queries";
+
+    private static final String TAG_APPLICATION = "application";
+    private static final String TAG_ACTIVITY = "activity";
+    private static final String TAG_ACTIVITY_ALIAS = "activity-alias";
+    private static final String TAG_SERVICE = "service";
+    private static final String TAG_RECEIVER = "receiver";
+
+    private static final String TAG_INTENT_FILTER = "intent-filter";
+    private static final String TAG_ACTION = "action";
+    private static final String TAG_CATEGORY = "category";
+
+    private static final String TAG_META_DATA = "meta-data";
+
+    private static final String ATTR_PACKAGE = "package";
+    private static final String ATTR_NAME = "name";
+    private static final String ATTR_VALUE = "value";
+    private static final String ATTR_RESOURCE = "resource";
+    private static final String ATTR_MAX_SDK_VERSION = "maxSdkVersion";
+    private static final String ATTR_MIN_SDK_VERSION = "minSdkVersion";
+    private static final String ATTR_USES_PERMISSION_FLAGS = "usesPermissionFlags";
+    private static final String ATTR_REQUEST_LEGACY_EXTERNAL_STORAGE = "requestLegacyExternalStorage";
+    private static final String ATTR_SUPPORTS_PICTURE_IN_PICTURE = "supportsPictureInPicture";
+    private static final String ATTR_PERMISSION = "permission";
+
+    /** usesPermissionFlags 属性中 neverForLocation 对应的值 */
+    private static final int USES_PERMISSION_FLAG_NEVER_FOR_LOCATION = 0x00010000;
+
+    /** 私有化构造函数 */
+    private ManifestXmlReader() {
+        // default implementation ignored
+    }
+
+    /**
+     * 读取合并后的清单文件
+     */
+    static ManifestModel read(File manifestFile) throws Exception {
+        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        factory.setNamespaceAware(true);
+        DocumentBuilder builder = factory.newDocumentBuilder();
+        Document document = builder.parse(manifestFile);
+
+        ManifestModel manifestModel = new ManifestModel();
+        readElement(document.getDocumentElement(), manifestModel);
+        return manifestModel;
+    }
+
+    private static void readElement(Element element, ManifestModel manifestModel) {
+        String tagName = element.getTagName();
+
+        switch (tagName) {
+            case TAG_MANIFEST:
+                manifestModel.packageName = readPackage(element);
+                break;
+            case TAG_USES_SDK:
+                manifestModel.minSdkVersion = readInt(element, ATTR_MIN_SDK_VERSION, 0);
+                break;
+            case TAG_USES_PERMISSION:
+            case TAG_USES_PERMISSION_SDK_23:
+            case TAG_USES_PERMISSION_SDK_M:
+                manifestModel.permissionList.add(readPermission(element));
+                break;
+            case TAG_QUERIES:
+                manifestModel.queriesPackageList.add(readPackage(element));
+                break;
+            case TAG_APPLICATION:
+                manifestModel.application = readApplication(element);
+                break;
+            case TAG_ACTIVITY:
+            case TAG_ACTIVITY_ALIAS:
+                manifestModel.activityList.add(readComponent(element));
+                // 组件里面的子节点已经读取过了，不需要再往下遍历
+                return;
+            case TAG_SERVICE:
+                manifestModel.serviceList.add(readComponent(element));
+                return;
+            case TAG_RECEIVER:
+                manifestModel.receiverList.add(readComponent(element));
+                return;
+            case TAG_META_DATA:
+                if (manifestModel.application != null) {
+                    if (manifestModel.application.metaDataList == null) {
+                        manifestModel.application.metaDataList = new ArrayList<>();
+                    }
+                    manifestModel.application.metaDataList.add(readMetaData(element));
+                }
+                break;
+            default:
+                break;
+        }
+
+        for (Node child = element.getFirstChild(); child != null; child = child.getNextSibling()) {
+            if (child instanceof Element) {
+                readElement((Element) child, manifestModel);
+            }
+        }
+    }
+
+    private static String readPackage(Element element) {
+        // 注意这里读取的是不带命名空间的 package 属性
+        return element.hasAttribute(ATTR_PACKAGE) ? element.getAttribute(ATTR_PACKAGE) : "";
+    }
+
+    private static ManifestModel.PermissionNode readPermission(Element element) {
+        ManifestModel.PermissionNode permissionNode = new ManifestModel.PermissionNode();
+        permissionNode.name = readString(element, ATTR_NAME);
+        permissionNode.maxSdkVersion = readInt(element, ATTR_MAX_SDK_VERSION, Integer.MAX_VALUE);
+        permissionNode.usesPermissionFlags = readUsesPermissionFlags(element);
+        return permissionNode;
+    }
+
+    private static ManifestModel.ApplicationNode readApplication(Element element) {
+        ManifestModel.ApplicationNode applicationNode = new ManifestModel.ApplicationNode();
+        String applicationClassName = readString(element, ATTR_NAME);
+        applicationNode.name = applicationClassName != null ? applicationClassName : "";
+        applicationNode.requestLegacyExternalStorage = readBoolean(element, ATTR_REQUEST_LEGACY_EXTERNAL_STORAGE);
+        applicationNode.requestLegacyExternalStorageResource = readBooleanResource(element, ATTR_REQUEST_LEGACY_EXTERNAL_STORAGE);
+        return applicationNode;
+    }
+
+    private static ManifestModel.ComponentNode readComponent(Element element) {
+        ManifestModel.ComponentNode componentNode = new ManifestModel.ComponentNode();
+        String componentClassName = readString(element, ATTR_NAME);
+        componentNode.name = componentClassName != null ? componentClassName : "";
+        componentNode.permission = readString(element, ATTR_PERMISSION);
+        componentNode.supportsPictureInPicture = readBoolean(element, ATTR_SUPPORTS_PICTURE_IN_PICTURE);
+        componentNode.supportsPictureInPictureResource = readBooleanResource(element, ATTR_SUPPORTS_PICTURE_IN_PICTURE);
+        readComponentChildren(element, componentNode);
+        return componentNode;
+    }
+
+    private static void readComponentChildren(Element element, ManifestModel.ComponentNode componentNode) {
+        for (Node child = element.getFirstChild(); child != null; child = child.getNextSibling()) {
+            if (!(child instanceof Element)) {
+                continue;
+            }
+            Element childElement = (Element) child;
+            String tagName = childElement.getTagName();
+            if (TAG_INTENT_FILTER.equals(tagName)) {
+                if (componentNode.intentFilterList == null) {
+                    componentNode.intentFilterList = new ArrayList<>();
+                }
+                componentNode.intentFilterList.add(readIntentFilter(childElement));
+            } else if (TAG_META_DATA.equals(tagName)) {
+                if (componentNode.metaDataList == null) {
+                    componentNode.metaDataList = new ArrayList<>();
+                }
+                componentNode.metaDataList.add(readMetaData(childElement));
+            } else {
+                readComponentChildren(childElement, componentNode);
+            }
+        }
+    }
+
+    private static ManifestModel.IntentFilterNode readIntentFilter(Element element) {
+        ManifestModel.IntentFilterNode intentFilterNode = new ManifestModel.IntentFilterNode();
+        readIntentFilterChildren(element, intentFilterNode);
+        return intentFilterNode;
+    }
+
+    private static void readIntentFilterChildren(Element element, ManifestModel.IntentFilterNode intentFilterNode) {
+        for (Node child = element.getFirstChild(); child != null; child = child.getNextSibling()) {
+            if (!(child instanceof Element)) {
+                continue;
+            }
+            Element childElement = (Element) child;
+            String tagName = childElement.getTagName();
+            if (TAG_ACTION.equals(tagName)) {
+                intentFilterNode.actionList.add(readString(childElement, ATTR_NAME));
+            } else if (TAG_CATEGORY.equals(tagName)) {
+                intentFilterNode.categoryList.add(readString(childElement, ATTR_NAME));
+            }
+            readIntentFilterChildren(childElement, intentFilterNode);
+        }
+    }
+
+    private static ManifestModel.MetaDataNode readMetaData(Element element) {
+        ManifestModel.MetaDataNode metaDataNode = new ManifestModel.MetaDataNode();
+        metaDataNode.name = readString(element, ATTR_NAME);
+        metaDataNode.value = readString(element, ATTR_VALUE);
+
+        ManifestModel.ResourceNode resourceNode = readResource(readString(element, ATTR_RESOURCE));
+        if (resourceNode != null) {
+            metaDataNode.resourcePackage = resourceNode.packageName;
+            metaDataNode.resourceType = resourceNode.type;
+            metaDataNode.resourceName = resourceNode.name;
+        }
+        return metaDataNode;
+    }
+
+    /**
+     * 解析资源引用，如果不是资源引用则返回空
+     */
+    private static ManifestModel.ResourceNode readResource(String value) {
+        // 资源引用的格式：@[package:]type/name
+        if (value == null || !value.startsWith("@") || value.indexOf('/') <= 0) {
+            return null;
+        }
+        ManifestModel.ResourceNode resourceNode = new ManifestModel.ResourceNode();
+        String reference = value.substring(1);
+        int packageIndex = reference.indexOf(':');
+        int typeIndex = reference.indexOf('/');
+        if (packageIndex > 0 && packageIndex < typeIndex) {
+            resourceNode.packageName = reference.substring(0, packageIndex);
+            resourceNode.type = reference.substring(packageIndex + 1, typeIndex);
+        } else {
+            resourceNode.type = reference.substring(0, typeIndex);
+        }
+        resourceNode.name = reference.substring(typeIndex + 1);
+        return resourceNode;
+    }
+
+    private static String readString(Element element, String attributeName) {
+        if (!element.hasAttributeNS(ANDROID_NAMESPACE_URI, attributeName)) {
+            return null;
+        }
+        return element.getAttributeNS(ANDROID_NAMESPACE_URI, attributeName);
+    }
+
+    private static boolean readBoolean(Element element, String attributeName) {
+        return "true".equals(readString(element, attributeName));
+    }
+
+    /**
+     * 读取布尔值所引用的资源（例如 @bool/xxx），这种值要等到运行时才能知道，所以这里只记录资源的引用，交给生成的代码去获取
+     */
+    private static ManifestModel.ResourceNode readBooleanResource(Element element, String attributeName) {
+        ManifestModel.ResourceNode resourceNode = readResource(readString(element, attributeName));
+        if (resourceNode == null || !"bool".equals(resourceNode.type)) {
+            return null;
+        }
+        return resourceNode;
+    }
+
+    private static int readInt(Element element, String attributeName, int defaultValue) {
+        String value = readString(element, attributeName);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.decode(value.trim());
+        } catch (NumberFormatException e) {
+            // 例如 minSdkVersion 为预览版的代号（字母），这里和系统的处理保持一致
+            return defaultValue;
+        }
+    }
+
+    private static int readUsesPermissionFlags(Element element) {
+        String value = readString(element, ATTR_USES_PERMISSION_FLAGS);
+        if (value == null) {
+            return 0;
+        }
+        int flags = 0;
+        for (String flag : value.split("\\|")) {
+            flag = flag.trim();
+            if ("neverForLocation".equals(flag)) {
+                flags |= USES_PERMISSION_FLAG_NEVER_FOR_LOCATION;
+                continue;
+            }
+            try {
+                flags |= Integer.decode(flag);
+            } catch (NumberFormatException ignored) {
+                // default implementation ignored
+            }
+        }
+        return flags;
+    }
+}
\ No newline at end of file
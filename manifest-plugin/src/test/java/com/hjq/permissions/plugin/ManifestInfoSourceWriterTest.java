@@ -0,0 +1,75 @@
+package com.hjq.permissions.plugin;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ *    author : Android 轮子哥
+ *    github : https://github.com/getActivity/XXPermissions
+ *    time   : 2026/10/18
+ *    desc   : 清单文件信息源码生成器测试
+ */
+public final class ManifestInfoSourceWriterTest {
+
+    @Test
+    public void writeMergedPermissions() throws Exception {
+        String source = ManifestInfoSourceWriter.write(
+            ManifestXmlReader.read(ManifestXmlReaderTest.getManifestFile("permissions.xml")));
+
+        assertTrue(source.startsWith("package " + ManifestInfoSourceWriter.GENERATED_PACKAGE_NAME + ";"));
+        assertTrue(source.contains("public final class " + ManifestInfoSourceWriter.GENERATED_CLASS_NAME));
+        assertTrue(source.contains("manifestInfo.packageName = \"com.hjq.permissions.demo\";"));
+        assertTrue(source.contains("manifestInfo.usesSdkInfo = newUsesSdkInfo(21);"));
+        assertTrue(source.contains("newPermissionInfo(\"android.permission.CAMERA\", Integer.MAX_VALUE, 0)"));
+        assertTrue(source.contains("newPermissionInfo(\"android.permission.READ_EXTERNAL_STORAGE\", 32, 0)"));
+        assertTrue(source.contains("newPermissionInfo(\"android.permission.BLUETOOTH_SCAN\", Integer.MAX_VALUE, 65536)"));
+        assertTrue(source.contains("newPermissionInfo(\"android.permission.ACCESS_COARSE_LOCATION\", Integer.MAX_VALUE, 0)"));
+        // 和框架中的 AndroidManifestParser 保持一致，读取的是 queries 节点自身的 package 属性
+        assertTrue(source.contains("manifestInfo.queriesPackageList.add(\"\");"));
+        // 没有 application 节点就不应该生成对应的方法
+        assertFalse(source.contains("manifestInfo.applicationInfo = "));
+    }
+
+    @Test
+    public void writeComponentsWithMetaData() throws Exception {
+        String source = ManifestInfoSourceWriter.write(
+            ManifestXmlReader.read(ManifestXmlReaderTest.getManifestFile("components.xml")));
+
+        assertTrue(source.contains("manifestInfo.applicationInfo = newApplicationInfo(context);"));
+        assertTrue(source.contains("applicationInfo.metaDataInfoList.add(newMetaDataInfo(context, \"ScopedStorage\", \"true\", null, null, null));"));
+        assertTrue(source.contains("manifestInfo.activityInfoList.add(newActivityInfo0(context));"));
+        assertTrue(source.contains("newIntentFilterInfo(new String[] {\"android.intent.action.MAIN\"}, " +
+            "new String[] {\"android.intent.category.LAUNCHER\"})"));
+        assertTrue(source.contains("componentInfo.permission = \"android.permission.BIND_ACCESSIBILITY_SERVICE\";"));
+        assertTrue(source.contains("newMetaDataInfo(context, \"android.accessibilityservice\", null, " +
+            "\"accessibility_service_config\", \"xml\", null)"));
+        assertTrue(source.contains("newMetaDataInfo(context, \"android.app.device_admin\", null, " +
+            "\"device_admin\", \"xml\", \"com.hjq.permissions.demo.lib\")"));
+    }
+
+    @Test
+    public void writeBooleanResource() throws Exception {
+        String source = ManifestInfoSourceWriter.write(
+            ManifestXmlReader.read(ManifestXmlReaderTest.getManifestFile("components.xml")));
+
+        // 引用资源的布尔值需要在运行时从资源中获取
+        assertTrue(source.contains("applicationInfo.requestLegacyExternalStorage = " +
+            "getBooleanResource(context, \"request_legacy_external_storage\", null);"));
+        assertTrue(source.contains("componentInfo.supportsPictureInPicture = true;"));
+        assertTrue(source.contains("componentInfo.supportsPictureInPicture = " +
+            "getBooleanResource(context, \"config_supportsPictureInPicture\", \"android\");"));
+        assertTrue(source.contains("private static boolean getBooleanResource(Context context, String resourceName, String resourcePackage)"));
+    }
+
+    @Test
+    public void writeEscapedLiteral() {
+        ManifestModel manifestModel = new ManifestModel();
+        manifestModel.packageName = "com.hjq.\"demo\"\\中";
+
+        String source = ManifestInfoSourceWriter.write(manifestModel);
+
+        assertTrue(source.contains("manifestInfo.packageName = \"com.hjq.\\\"demo\\\"\\\\\\u4e2d\";"));
+    }
+}
\ No newline at end of file
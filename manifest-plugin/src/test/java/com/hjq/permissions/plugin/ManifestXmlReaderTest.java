@@ -0,0 +1,112 @@
+package com.hjq.permissions.plugin;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.net.URL;
+import org.junit.Test;
+
+/**
+ *    author : Android 轮子哥
+ *    github : https://github.com/getActivity/XXPermissions
+ *    time   : 2026/10/18
+ *    desc   : 合并后的清单文件读取器测试
+ */
+public final class ManifestXmlReaderTest {
+
+    @Test
+    public void readMergedPermissions() throws Exception {
+        ManifestModel manifestModel = ManifestXmlReader.read(getManifestFile("permissions.xml"));
+
+        assertEquals("com.hjq.permissions.demo", manifestModel.packageName);
+        assertEquals(Integer.valueOf(21), manifestModel.minSdkVersion);
+        // uses-permission、uses-permission-sdk-23、uses-permission-sdk-m 都需要读取出来
+        assertEquals(5, manifestModel.permissionList.size());
+        assertEquals("android.permission.CAMERA", manifestModel.permissionList.get(0).name);
+        assertEquals("android.permission.ACCESS_FINE_LOCATION", manifestModel.permissionList.get(3).name);
+        assertEquals("android.permission.ACCESS_COARSE_LOCATION", manifestModel.permissionList.get(4).name);
+        assertEquals(1, manifestModel.queriesPackageList.size());
+        assertEquals("", manifestModel.queriesPackageList.get(0));
+        assertNull(manifestModel.application);
+    }
+
+    @Test
+    public void readMaxSdkVersionAndFlags() throws Exception {
+        ManifestModel manifestModel = ManifestXmlReader.read(getManifestFile("permissions.xml"));
+
+        // 没有声明 maxSdkVersion 的权限默认是不限制版本
+        assertEquals(Integer.MAX_VALUE, manifestModel.permissionList.get(0).maxSdkVersion);
+        assertEquals(32, manifestModel.permissionList.get(1).maxSdkVersion);
+        assertEquals(0, manifestModel.permissionList.get(0).usesPermissionFlags);
+        assertEquals(0x00010000, manifestModel.permissionList.get(2).usesPermissionFlags);
+    }
+
+    @Test
+    public void readComponentsWithMetaData() throws Exception {
+        ManifestModel manifestModel = ManifestXmlReader.read(getManifestFile("components.xml"));
+
+        assertNotNull(manifestModel.application);
+        assertEquals("com.hjq.permissions.demo.AppApplication", manifestModel.application.name);
+        assertNotNull(manifestModel.application.metaDataList);
+        assertEquals(1, manifestModel.application.metaDataList.size());
+        assertEquals("ScopedStorage", manifestModel.application.metaDataList.get(0).name);
+        assertEquals("true", manifestModel.application.metaDataList.get(0).value);
+
+        assertEquals(2, manifestModel.activityList.size());
+        ManifestModel.ComponentNode mainActivity = manifestModel.activityList.get(0);
+        assertTrue(mainActivity.supportsPictureInPicture);
+        assertNotNull(mainActivity.intentFilterList);
+        assertEquals("android.intent.action.MAIN", mainActivity.intentFilterList.get(0).actionList.get(0));
+        assertEquals("android.intent.category.LAUNCHER", mainActivity.intentFilterList.get(0).categoryList.get(0));
+        assertNull(mainActivity.metaDataList);
+
+        assertEquals(1, manifestModel.serviceList.size());
+        ManifestModel.ComponentNode service = manifestModel.serviceList.get(0);
+        assertEquals("android.permission.BIND_ACCESSIBILITY_SERVICE", service.permission);
+        assertNotNull(service.metaDataList);
+        ManifestModel.MetaDataNode serviceMetaData = service.metaDataList.get(0);
+        assertEquals("android.accessibilityservice", serviceMetaData.name);
+        assertNull(serviceMetaData.value);
+        assertEquals("xml", serviceMetaData.resourceType);
+        assertEquals("accessibility_service_config", serviceMetaData.resourceName);
+        assertNull(serviceMetaData.resourcePackage);
+
+        assertEquals(1, manifestModel.receiverList.size());
+        ManifestModel.MetaDataNode receiverMetaData = manifestModel.receiverList.get(0).metaDataList.get(0);
+        assertEquals("xml", receiverMetaData.resourceType);
+        assertEquals("device_admin", receiverMetaData.resourceName);
+        assertEquals("com.hjq.permissions.demo.lib", receiverMetaData.resourcePackage);
+    }
+
+    @Test
+    public void readBooleanResource() throws Exception {
+        ManifestModel manifestModel = ManifestXmlReader.read(getManifestFile("components.xml"));
+
+        // 引用资源的布尔值在编译期是无法确定的，所以只记录资源的引用
+        assertFalse(manifestModel.application.requestLegacyExternalStorage);
+        ManifestModel.ResourceNode legacyResource = manifestModel.application.requestLegacyExternalStorageResource;
+        assertNotNull(legacyResource);
+        assertEquals("bool", legacyResource.type);
+        assertEquals("request_legacy_external_storage", legacyResource.name);
+        assertNull(legacyResource.packageName);
+
+        ManifestModel.ComponentNode mainActivity = manifestModel.activityList.get(0);
+        assertNull(mainActivity.supportsPictureInPictureResource);
+
+        ManifestModel.ComponentNode videoActivity = manifestModel.activityList.get(1);
+        assertFalse(videoActivity.supportsPictureInPicture);
+        assertNotNull(videoActivity.supportsPictureInPictureResource);
+        assertEquals("config_supportsPictureInPicture", videoActivity.supportsPictureInPictureResource.name);
+        assertEquals("android", videoActivity.supportsPictureInPictureResource.packageName);
+    }
+
+    static File getManifestFile(String fileName) throws Exception {
+        URL url = ManifestXmlReaderTest.class.getResource("/manifest/" + fileName);
+        assertNotNull(url);
+        return new File(url.toURI());
+    }
+}
\ No newline at end of file